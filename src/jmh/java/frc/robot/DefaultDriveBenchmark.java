@@ -0,0 +1,66 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.XboxControllerSim;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+import frc.robot.Constants.OperatorConstants;
+
+/**
+ * Cost of one iteration of the teleop default drive command set up by
+ * {@link BaseRobotContainer}: joystick reads, input shaping and the drive request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultDriveBenchmark {
+    private RobotContainer container;
+    private Command defaultDrive;
+
+    @Setup
+    public void setup() {
+        HAL.initialize(500, 0);
+        DriverStationSim.setEnabled(true);
+        DriverStationSim.setAutonomous(false);
+
+        var controller = new XboxControllerSim(OperatorConstants.DRIVER_CONTROLLER_PORT);
+        controller.setLeftY(-0.6);
+        controller.setLeftX(0.3);
+        controller.setRightX(-0.4);
+        DriverStationSim.notifyNewData();
+
+        container = new RobotContainer();
+        defaultDrive = container.getDrivetrain().getDefaultCommand();
+        defaultDrive.initialize();
+    }
+
+    @TearDown
+    public void teardown() {
+        container.getDrivetrain().close();
+        CommandScheduler.getInstance().cancelAll();
+    }
+
+    @Benchmark
+    public void execute() {
+        defaultDrive.execute();
+    }
+}
@@ -0,0 +1,78 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+
+import frc.robot.Constants.VisionConstants;
+import frc.robot.commands.DriveToTag;
+import frc.robot.generated.TunerConstants;
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.subsystems.VisionSubsystem;
+import frc.robot.vision.VisionCameraConfig;
+import frc.robot.vision.VisionFrameSource;
+
+/**
+ * Cost of {@link DriveToTag#execute()} against a simulated drivetrain, both while holding
+ * a goal and when a new sighting moves the goal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DriveToTagBenchmark {
+    private CommandSwerveDrivetrain drivetrain;
+    private VisionSubsystem vision;
+    private DriveToTag command;
+
+    @Setup
+    public void setup() {
+        HAL.initialize(500, 0);
+        DriverStationSim.setEnabled(true);
+        DriverStationSim.setAutonomous(false);
+        DriverStationSim.notifyNewData();
+
+        drivetrain = TunerConstants.createDrivetrain();
+        vision = VisionSubsystem.forReplay(
+            new VisionCameraConfig[] { new VisionCameraConfig("benchmark", VisionConstants.ROBOT_TO_CAMERA) },
+            new VisionFrameSource[] { new SyntheticFrames.RepeatingSource(7) }
+        );
+        command = new DriveToTag(vision, drivetrain, 7);
+        vision.periodic();
+        command.initialize();
+        command.execute();
+    }
+
+    @TearDown
+    public void teardown() {
+        command.end(true);
+        vision.close();
+        drivetrain.close();
+    }
+
+    @Benchmark
+    public void executeHoldingGoal() {
+        command.execute();
+    }
+
+    @Benchmark
+    public void executeWithNewSighting() {
+        vision.periodic();
+        command.execute();
+    }
+}
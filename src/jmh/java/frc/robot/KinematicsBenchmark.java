@@ -0,0 +1,60 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+import frc.robot.generated.TunerConstants;
+
+/**
+ * Cost of the swerve kinematics used by {@link frc.robot.subsystems.CommandSwerveDrivetrain},
+ * built from the same module locations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KinematicsBenchmark {
+    private SwerveDriveKinematics kinematics;
+    private ChassisSpeeds speeds;
+    private SwerveModuleState[] states;
+
+    @Setup
+    public void setup() {
+        kinematics = new SwerveDriveKinematics(
+            new Translation2d(TunerConstants.FrontLeft.LocationX, TunerConstants.FrontLeft.LocationY),
+            new Translation2d(TunerConstants.FrontRight.LocationX, TunerConstants.FrontRight.LocationY),
+            new Translation2d(TunerConstants.BackLeft.LocationX, TunerConstants.BackLeft.LocationY),
+            new Translation2d(TunerConstants.BackRight.LocationX, TunerConstants.BackRight.LocationY));
+        speeds = new ChassisSpeeds(2.0, 1.0, 1.5);
+        states = kinematics.toSwerveModuleStates(speeds);
+    }
+
+    @Benchmark
+    public SwerveModuleState[] inverseKinematics() {
+        SwerveModuleState[] moduleStates = kinematics.toSwerveModuleStates(speeds);
+        SwerveDriveKinematics.desaturateWheelSpeeds(moduleStates, 4.5);
+        return moduleStates;
+    }
+
+    @Benchmark
+    public ChassisSpeeds forwardKinematics() {
+        return kinematics.toChassisSpeeds(states);
+    }
+}
@@ -0,0 +1,106 @@
+package frc.robot;
+
+import java.util.List;
+
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+import org.photonvision.targeting.TargetCorner;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.wpilibj.Timer;
+
+import frc.robot.vision.VisionFrameSource;
+
+/**
+ * Synthetic drive states and camera frames for benchmarks.
+ */
+final class SyntheticFrames {
+    private SyntheticFrames() {}
+
+    /**
+     * Creates a drive state for a robot moving diagonally with all four modules populated.
+     * @param timestamp State timestamp in seconds
+     * @return A new drive state
+     */
+    static SwerveDriveState driveState(double timestamp) {
+        SwerveDriveState state = new SwerveDriveState();
+        state.Pose = new Pose2d(3.0, 4.0, Rotation2d.fromDegrees(30.0));
+        state.Speeds = new ChassisSpeeds(1.5, 0.5, 0.8);
+        state.ModuleStates = new SwerveModuleState[4];
+        state.ModuleTargets = new SwerveModuleState[4];
+        state.ModulePositions = new SwerveModulePosition[4];
+        for (int i = 0; i < 4; i++) {
+            state.ModuleStates[i] = new SwerveModuleState(1.6, Rotation2d.fromDegrees(20.0 + i));
+            state.ModuleTargets[i] = new SwerveModuleState(1.6, Rotation2d.fromDegrees(20.0 + i));
+            state.ModulePositions[i] = new SwerveModulePosition(10.0 + i, Rotation2d.fromDegrees(20.0 + i));
+        }
+        state.RawHeading = Rotation2d.fromDegrees(30.0);
+        state.Timestamp = timestamp;
+        state.OdometryPeriod = 0.004;
+        return state;
+    }
+
+    /**
+     * Creates a frame with a single AprilTag 2 m in front of the camera.
+     * @param tagId Fiducial ID of the tag
+     * @return A new frame
+     */
+    static PhotonPipelineResult tagFrame(int tagId) {
+        var cameraToTarget = new Transform3d(new Translation3d(2.0, 0.1, 0.3), new Rotation3d(0.0, 0.0, Math.PI));
+        var corners = List.of(
+            new TargetCorner(100, 100), new TargetCorner(200, 100),
+            new TargetCorner(200, 200), new TargetCorner(100, 200)
+        );
+        var target = new PhotonTrackedTarget(
+            3.0, -2.0, 1.5, 0.0, tagId, -1, -1.0f,
+            cameraToTarget, cameraToTarget, 0.05, corners, corners
+        );
+        long nowMicros = (long) (Timer.getFPGATimestamp() * 1e6);
+        var result = new PhotonPipelineResult(0, nowMicros - 20000, nowMicros - 5000, 0, List.of(target));
+        result.setReceiveTimestampMicros(nowMicros);
+        return result;
+    }
+
+    /**
+     * Frame source that delivers the same tag frame on every read, stamped as just received.
+     * The frame object is reused so the source adds no allocation of its own.
+     */
+    static final class RepeatingSource implements VisionFrameSource {
+        private final PhotonPipelineResult frame;
+        private final List<PhotonPipelineResult> frames;
+        private boolean enabled = true;
+
+        RepeatingSource(int tagId) {
+            frame = tagFrame(tagId);
+            frames = List.of(frame);
+        }
+
+        /** Stops or resumes delivering frames. */
+        void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        @Override
+        public String getName() {
+            return "benchmark";
+        }
+
+        @Override
+        public List<PhotonPipelineResult> getAllUnreadResults() {
+            if (!enabled) {
+                return List.of();
+            }
+            frame.setReceiveTimestampMicros((long) (Timer.getFPGATimestamp() * 1e6));
+            return frames;
+        }
+    }
+}
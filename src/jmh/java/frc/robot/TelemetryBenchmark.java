@@ -0,0 +1,60 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+import edu.wpi.first.hal.HAL;
+
+/**
+ * Cost of handing a drive state to {@link Telemetry} on the odometry thread, and of
+ * publishing it from the telemetry thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TelemetryBenchmark {
+    private Telemetry telemetry;
+    private SwerveDriveState state;
+
+    @Setup
+    public void setup() {
+        HAL.initialize(500, 0);
+        telemetry = new Telemetry(4.5);
+        state = SyntheticFrames.driveState(1.0);
+    }
+
+    @TearDown
+    public void teardown() {
+        telemetry.close();
+    }
+
+    @Benchmark
+    public void telemeterize() {
+        state.Timestamp += 0.004;
+        telemetry.telemeterize(state);
+    }
+
+    @Benchmark
+    public void telemeterizeAndPublish() {
+        // Advance past every channel's rate limit so each call publishes everything
+        state.Timestamp += 1.0;
+        telemetry.telemeterize(state);
+        telemetry.publishPending();
+    }
+}
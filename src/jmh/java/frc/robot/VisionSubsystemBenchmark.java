@@ -0,0 +1,66 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.wpi.first.hal.HAL;
+
+import frc.robot.Constants.VisionConstants;
+import frc.robot.subsystems.VisionSubsystem;
+import frc.robot.vision.VisionCameraConfig;
+import frc.robot.vision.VisionFrameSource;
+
+/**
+ * Cost of the {@link VisionSubsystem} target accessors commands call every loop, and of
+ * a periodic that ingests one new frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisionSubsystemBenchmark {
+    private VisionSubsystem vision;
+
+    @Setup
+    public void setup() {
+        HAL.initialize(500, 0);
+        vision = VisionSubsystem.forReplay(
+            new VisionCameraConfig[] { new VisionCameraConfig("benchmark", VisionConstants.ROBOT_TO_CAMERA) },
+            new VisionFrameSource[] { new SyntheticFrames.RepeatingSource(7) }
+        );
+        vision.periodic();
+    }
+
+    @TearDown
+    public void teardown() {
+        vision.close();
+    }
+
+    @Benchmark
+    public void targetAccessors(Blackhole blackhole) {
+        blackhole.consume(vision.hasTargets());
+        blackhole.consume(vision.getTargetID());
+        blackhole.consume(vision.getTargetYaw());
+        blackhole.consume(vision.getTargetPitch());
+        blackhole.consume(vision.getTargetArea());
+    }
+
+    @Benchmark
+    public void periodicWithNewFrame() {
+        vision.periodic();
+    }
+}
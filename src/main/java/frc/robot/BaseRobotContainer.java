@@ -6,11 +6,11 @@ package frc.robot;
 
 import static edu.wpi.first.units.Units.*;
 
-import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
 import com.ctre.phoenix6.swerve.SwerveRequest;
 
-import edu.wpi.first.math.filter.SlewRateLimiter;
 import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 import edu.wpi.first.wpilibj2.command.button.RobotModeTriggers;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine.Direction;
@@ -19,6 +19,9 @@ import frc.robot.generated.TunerConstants;
 import frc.robot.subsystems.CommandSwerveDrivetrain;
 import frc.robot.subsystems.VisionSubsystem;
 import frc.robot.commands.DriveToTag;
+import frc.robot.swerve.LimitedFieldCentricRequest;
+import frc.robot.telemetry.LogLifecycleManager;
+import frc.robot.vision.VisionCameraConfig;
 import frc.robot.Constants.DriveConstants;
 import frc.robot.Constants.OperatorConstants;
 import frc.robot.Constants.VisionConstants;
@@ -37,10 +40,10 @@ public abstract class BaseRobotContainer {
     protected final double maxAngularRate = RotationsPerSecond.of(DriveConstants.MAX_ANGULAR_RATE).in(RadiansPerSecond);
 
     /* Setting up bindings for necessary control of the swerve drive platform */
-    protected final SwerveRequest.FieldCentric drive = new SwerveRequest.FieldCentric()
+    protected final LimitedFieldCentricRequest drive = new LimitedFieldCentricRequest(
+                maxSpeed, LimitedFieldCentricRequest.computeTractionLimit(TunerConstants.FrontLeft, 4))
             .withDeadband(maxSpeed * DriveConstants.DEADBAND_PERCENT)
-            .withRotationalDeadband(maxAngularRate * DriveConstants.DEADBAND_PERCENT)
-            .withDriveRequestType(DriveRequestType.OpenLoopVoltage);
+            .withRotationalDeadband(maxAngularRate * DriveConstants.DEADBAND_PERCENT);
     protected final SwerveRequest.SwerveDriveBrake brake = new SwerveRequest.SwerveDriveBrake();
     protected final SwerveRequest.PointWheelsAt point = new SwerveRequest.PointWheelsAt();
 
@@ -49,11 +52,13 @@ public abstract class BaseRobotContainer {
     protected final CommandXboxController joystick = new CommandXboxController(OperatorConstants.DRIVER_CONTROLLER_PORT);
 
     protected final CommandSwerveDrivetrain drivetrain = TunerConstants.createDrivetrain();
-    protected final VisionSubsystem vision = new VisionSubsystem(VisionConstants.CAMERA_NAME);
 
-    protected final SlewRateLimiter xSpeedLimiter = new SlewRateLimiter(DriveConstants.SLEW_RATE_LIMIT);
-    protected final SlewRateLimiter ySpeedLimiter = new SlewRateLimiter(DriveConstants.SLEW_RATE_LIMIT);
-    protected final SlewRateLimiter rotLimiter = new SlewRateLimiter(DriveConstants.SLEW_RATE_LIMIT);
+    /*
+     * All cameras on the robot. Each camera gets its own worker thread,
+     * so adding one here does not slow down the main loop.
+     */
+    protected final VisionSubsystem vision = new VisionSubsystem(
+            new VisionCameraConfig(VisionConstants.CAMERA_NAME, VisionConstants.ROBOT_TO_CAMERA));
 
     /**
      * Initializes subsystems and configures button bindings.
@@ -68,7 +73,7 @@ public abstract class BaseRobotContainer {
      * Configures shared drivetrain button bindings.
      * Called by constructor before robot-specific bindings.
      *
-     * Default command: Field-centric swerve drive with slew rate limiting
+     * Default command: Field-centric swerve drive, limited to what the wheels can follow
      * - Left stick: Translation (X/Y)
      * - Right stick X: Rotation
      *
@@ -86,15 +91,9 @@ public abstract class BaseRobotContainer {
         drivetrain.setDefaultCommand(
             // Drivetrain will execute this command periodically
             drivetrain.applyRequest(() ->
-                drive.withVelocityX(
-                    maxSpeed * xSpeedLimiter.calculate(-joystick.getLeftY())
-                    ) // Drive forward with negative Y (forward)
-                    .withVelocityY(
-                        maxSpeed * ySpeedLimiter.calculate(-joystick.getLeftX())
-                    ) // Drive left with negative X (left)
-                    .withRotationalRate(
-                        maxAngularRate * rotLimiter.calculate(-joystick.getRightX())
-                    ) // Drive counterclockwise with negative X (left)
+                drive.withVelocityX(maxSpeed * -joystick.getLeftY()) // Drive forward with negative Y (forward)
+                    .withVelocityY(maxSpeed * -joystick.getLeftX()) // Drive left with negative X (left)
+                    .withRotationalRate(maxAngularRate * -joystick.getRightX()) // Drive counterclockwise with negative X (left)
             )
         );
 
@@ -127,6 +126,21 @@ public abstract class BaseRobotContainer {
         joystick.leftBumper().onTrue(drivetrain.runOnce(() -> drivetrain.seedFieldCentric()));
 
         drivetrain.registerTelemetry(logger::telemeterize);
+        startLogManager();
+
+        // Fuse AprilTag pose estimates into the drivetrain odometry
+        vision.setMeasurementConsumer(drivetrain::addVisionMeasurements);
+    }
+
+    /**
+     * Starts per-match log sessions on the real robot.
+     * The manager runs as a subsystem so its periodic sees every enable and disable.
+     */
+    private void startLogManager() {
+        if (!RobotBase.isReal()) {
+            return;
+        }
+        CommandScheduler.getInstance().registerSubsystem(new LogLifecycleManager(logger));
     }
 
     /**
@@ -1,5 +1,12 @@
 package frc.robot;
 
+import edu.wpi.first.apriltag.AprilTagFields;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.wpilibj.RobotBase;
+
 /**
  * Application-wide constants.
  * Hardware-specific swerve constants are in TunerConstants (generated by Tuner X).
@@ -22,6 +29,41 @@ public class Constants {
         public static final String DEFAULT_ROBOT = "RobotA";
     }
 
+    /**
+     * AdvantageKit logging and replay configuration.
+     */
+    public static final class LoggingConstants {
+        /** How the robot program gets its inputs */
+        public enum Mode {
+            /** Running on a real robot; inputs come from hardware and are logged */
+            REAL,
+            /** Running in simulation; inputs come from simulated hardware and are logged */
+            SIM,
+            /** Replaying a log; inputs come from the log, hardware is not touched */
+            REPLAY
+        }
+
+        /** Environment variable holding the log to replay (read by AdvantageKit's LogFileUtil) */
+        public static final String REPLAY_LOG_ENV = "AKIT_LOG_PATH";
+
+        /** Current mode: replay when a desktop run is given a log to replay */
+        public static final Mode MODE = RobotBase.isReal()
+            ? Mode.REAL
+            : System.getenv(REPLAY_LOG_ENV) != null ? Mode.REPLAY : Mode.SIM;
+
+        /** Directory on the roboRIO for AdvantageKit logs and per-match log sessions */
+        public static final String LOG_DIRECTORY = "/home/lvuser/logs";
+
+        /** Time disabled before the current log session is closed, in seconds (spans the auto-teleop gap) */
+        public static final double SESSION_IDLE_TIMEOUT = 15.0;
+
+        /** Maximum space for everything in the log directory before the oldest logs are deleted */
+        public static final long LOG_QUOTA_BYTES = 512L * 1024 * 1024;
+
+        /** Logs modified more recently than this are never deleted, in seconds (they may still be open) */
+        public static final double ACTIVE_FILE_GRACE_PERIOD = 60.0;
+    }
+
     /**
      * Operator interface configuration.
      */
@@ -37,11 +79,204 @@ public class Constants {
         /** Maximum angular rate in rotations per second */
         public static final double MAX_ANGULAR_RATE = 0.75;
 
-        /** Slew rate limit for acceleration (units per second) */
-        public static final double SLEW_RATE_LIMIT = 3.0;
+        /**
+         * Largest change in a wheel's velocity per second the driver is given (m/s^2).
+         * A drivability choice, about 1 g. The drive request also caps it at the traction
+         * limit computed from the modules' slip current; see LimitedFieldCentricRequest.
+         */
+        public static final double MAX_MODULE_ACCELERATION = 9.0;
+
+        /** Robot mass with bumpers and battery, for the traction limit (kg). Weigh the robot */
+        public static final double ROBOT_MASS = 60.0;
+
+        /** Drive motor torque per stator amp, for the traction limit (N*m/A) */
+        public static final double DRIVE_MOTOR_TORQUE_CONSTANT = DCMotor.getKrakenX60(1).KtNMPerAmp;
+
+        /** Fastest a module can turn, in rotations per second */
+        public static final double MAX_STEER_VELOCITY = 6.0;
+
+        /** Time without a drive setpoint after which the generator restarts from the measured module states (seconds) */
+        public static final double SETPOINT_RESET_TIMEOUT = 0.1;
 
         /** Deadband percentage for joystick inputs */
         public static final double DEADBAND_PERCENT = 0.1;
+
+        /** Fused pose, raw gyro heading and speed samples kept for latency compensation (~2 s at 250 Hz) */
+        public static final int POSE_HISTORY_SIZE = 512;
+
+        /** Odometry standard deviations when none are passed to the drivetrain, in meters and radians (Phoenix default) */
+        public static final double ODOMETRY_STD_DEV = 0.1;
+
+        /** Module velocity off the rigid-body fit that counts as slip (m/s) */
+        public static final double SLIP_VELOCITY_THRESHOLD = 0.5;
+
+        /** Fraction of the slip current at which a drive motor is treated as at the traction limit */
+        public static final double SLIP_CURRENT_FRACTION = 0.9;
+
+        /**
+         * Fraction of the velocity and acceleration slip thresholds that counts as slip while a
+         * drive motor is at the traction limit. Current alone is never slip: the slip current is
+         * also the drive stator current limit, so every hard launch or push sits there.
+         */
+        public static final double SLIP_CONFIRM_FRACTION = 0.5;
+
+        /** Difference between wheel and gyro acceleration that counts as slip or collision (m/s^2) */
+        public static final double ACCEL_MISMATCH_THRESHOLD = 4.0;
+
+        /** Low-pass time constant for wheel and gyro acceleration (seconds) */
+        public static final double ACCEL_FILTER_TIME_CONSTANT = 0.02;
+
+        /** How long a slip or collision keeps odometry de-weighted after it was last seen (seconds) */
+        public static final double TRACTION_EVENT_HOLD_TIME = 0.5;
+
+        /** Odometry standard deviation multiplier while wheels slip */
+        public static final double SLIP_STD_DEV_SCALE = 10.0;
+
+        /** Odometry standard deviation multiplier after a collision */
+        public static final double COLLISION_STD_DEV_SCALE = 100.0;
+
+        /**
+         * Update rate for drive stator current and gyro acceleration, used for traction monitoring (Hz).
+         * Kept at half the CAN 2.0 odometry rate: these five extra frames share the rio bus with odometry.
+         */
+        public static final double TRACTION_SIGNAL_FREQUENCY = 50.0;
+    }
+
+    /**
+     * Drivetrain telemetry constants.
+     */
+    public static final class TelemetryConstants {
+        /** Drive state samples buffered between the odometry and publisher threads (power of two) */
+        public static final int BUFFER_CAPACITY = 128;
+
+        /** How often the publisher thread drains the buffer (seconds) */
+        public static final double PUBLISH_PERIOD = 0.02;
+
+        /** Minimum time between drive state publishes to NetworkTables (seconds) */
+        public static final double DRIVE_STATE_PERIOD = 0.02;
+
+        /** Minimum time between Field2d pose publishes (seconds) */
+        public static final double FIELD_PERIOD = 0.05;
+
+        /** Minimum time between module Mechanism2d updates (seconds) */
+        public static final double MECHANISM_PERIOD = 0.1;
+
+        /** How often per-channel statistics and odometry frequency are published (seconds) */
+        public static final double STATS_PERIOD = 1.0;
+
+        /** Smallest pose change worth publishing (meters and radians) */
+        public static final double POSE_DEADBAND = 0.002;
+
+        /** Smallest chassis speed change worth publishing (m/s and rad/s) */
+        public static final double SPEED_DEADBAND = 0.01;
+
+        /** Smallest module angle or speed change worth publishing (radians, m/s or meters) */
+        public static final double MODULE_DEADBAND = 0.01;
+
+        /** Smallest odometry frequency change worth publishing (Hz) */
+        public static final double FREQUENCY_DEADBAND = 1.0;
+
+        /** Record full-rate drive state to a memory-mapped log on the real robot */
+        public static final boolean DRIVE_LOG_ENABLED = true;
+
+        /**
+         * Space preallocated, pre-touched and mapped for each drive state log.
+         * A sample is about 340 bytes, so this holds about 5 minutes at 250 Hz: a 2:30 match
+         * with margin for the auto-teleop gap. Samples past it are dropped.
+         */
+        public static final int DRIVE_LOG_CAPACITY_BYTES = 24 * 1024 * 1024;
+
+        /**
+         * Time to wait after detaching a drive state log before closing it (seconds).
+         * A few odometry periods, so an append that read the old writer finishes first.
+         */
+        public static final double DRIVE_LOG_DETACH_DELAY = 0.02;
+    }
+
+    /**
+     * Main loop profiler constants.
+     */
+    public static final class ProfilerConstants {
+        /** Maximum number of timed items (subsystems, commands, triggers) */
+        public static final int MAX_ITEMS = 64;
+
+        /** Width of each timing histogram bin (milliseconds) */
+        public static final double HISTOGRAM_BIN_WIDTH = 0.05;
+
+        /** Number of timing histogram bins (covers 0-25 ms; slower samples go in an overflow bin) */
+        public static final int HISTOGRAM_BINS = 500;
+
+        /** Loop time above which the worst offender is reported (seconds) */
+        public static final double LOOP_BUDGET = 0.02;
+
+        /** How often timing percentiles are published (seconds) */
+        public static final double PUBLISH_PERIOD = 1.0;
+    }
+
+    /**
+     * JVM allocation and garbage collection monitor constants.
+     */
+    public static final class JvmConstants {
+        /** Maximum number of threads whose allocation is tracked */
+        public static final int MAX_THREADS = 8;
+
+        /** Bytes the main loop may allocate per iteration before an alert is raised */
+        public static final long ALLOCATION_BUDGET_BYTES = 64 * 1024;
+
+        /** GC time within one loop that raises an alert (milliseconds) */
+        public static final long GC_PAUSE_ALERT_MILLIS = 5;
+
+        /** How long an alert stays up after the last violation (seconds) */
+        public static final double ALERT_HOLD_TIME = 5.0;
+
+        /** How often JVM statistics are published (seconds) */
+        public static final double PUBLISH_PERIOD = 1.0;
+    }
+
+    /**
+     * Thread priority and core placement constants (roboRIO has cores 0 and 1).
+     */
+    public static final class ThreadConstants {
+        /** Apply thread placement on the real robot */
+        public static final boolean ENABLED = true;
+
+        /** Core for the main loop and the odometry thread */
+        public static final int CONTROL_CORE = 1;
+
+        /** Core for vision, telemetry and logging threads */
+        public static final int BACKGROUND_CORE = 0;
+
+        /** Real-time priority for the main robot loop */
+        public static final int MAIN_PRIORITY = 10;
+
+        /** Real-time priority for the odometry thread, above the main loop it feeds */
+        public static final int ODOMETRY_PRIORITY = 11;
+
+        /** Nice level for telemetry and logging threads (19 is lowest priority) */
+        public static final int BACKGROUND_NICE = 10;
+    }
+
+    /**
+     * Odometry thread timing monitor constants.
+     */
+    public static final class OdometryTimingConstants {
+        /** Width of each period, jitter and freshness histogram bin (milliseconds) */
+        public static final double HISTOGRAM_BIN_WIDTH = 0.05;
+
+        /** Number of histogram bins (covers 0-50 ms; slower samples go in an overflow bin) */
+        public static final int HISTOGRAM_BINS = 1000;
+
+        /** Fraction past the requested period after which an update counts as late */
+        public static final double LATE_TOLERANCE = 0.2;
+
+        /** Period, in requested periods, at which the skipped updates count as missed */
+        public static final double MISSED_THRESHOLD = 1.5;
+
+        /** Fraction of the requested rate below which an alert is raised */
+        public static final double RATE_ALERT_FRACTION = 0.9;
+
+        /** How often odometry timing is published (seconds) */
+        public static final double PUBLISH_PERIOD = 1.0;
     }
 
     /**
@@ -51,26 +286,32 @@ public class Constants {
         /** PhotonVision camera name (must match name in PhotonVision UI) */
         public static final String CAMERA_NAME = "photonvision";
 
-        /** P-controller gain for rotation alignment */
-        public static final double ROTATION_P = 0.05;
+        /**
+         * P-controller gain for rotation alignment (rad/s per degree).
+         * Runs on the gyro between frames, so it can be stiffer than a camera-rate loop.
+         */
+        public static final double ROTATION_P = 0.08;
 
-        /** P-controller gain for forward drive control */
-        public static final double DRIVE_P = 0.1;
+        /** P-controller gain for forward drive control (m/s per meter of distance error) */
+        public static final double DRIVE_P = 1.5;
 
         /** Angle tolerance for alignment completion (degrees) */
         public static final double ANGLE_TOLERANCE = 2.0;
 
-        /** Target area percentage for desired distance (~1.5-2m away) */
-        public static final double AREA_TARGET = 8.0;
+        /** Distance to stop in front of the target tag (meters) */
+        public static final double TAG_STANDOFF_DISTANCE = 1.5;
+
+        /** Position tolerance for distance completion (meters) */
+        public static final double POSITION_TOLERANCE = 0.05;
 
-        /** Area tolerance for distance completion */
-        public static final double AREA_TOLERANCE = 1.0;
+        /** Maximum deceleration when approaching the goal (m/s²) */
+        public static final double MAX_DRIVE_ACCELERATION = 3.0;
 
         /** Minimum rotation speed (rad/s) */
         public static final double MIN_ROTATION_SPEED = 0.1;
 
         /** Maximum rotation speed (rad/s) */
-        public static final double MAX_ROTATION_SPEED = 2.0;
+        public static final double MAX_ROTATION_SPEED = 3.0;
 
         /** Minimum drive speed (m/s) */
         public static final double MIN_DRIVE_SPEED = 0.2;
@@ -80,5 +321,97 @@ public class Constants {
 
         /** Maximum yaw error before stopping forward drive (degrees) */
         public static final double MAX_YAW_ERROR_FOR_DRIVE = 15.0;
+
+        /** Number of frames retained by the vision frame buffer (must be a power of two) */
+        public static final int FRAME_BUFFER_CAPACITY = 32;
+
+        /** Maximum time the ingest thread sleeps without a new-frame notification (seconds) */
+        public static final double INGEST_WAKEUP_TIMEOUT = 0.02;
+
+        /** AprilTag field layout used for pose estimation */
+        public static final AprilTagFields FIELD_LAYOUT = AprilTagFields.kDefaultField;
+
+        /**
+         * Camera position relative to robot center (meters, radians).
+         * Measure on the real robot: X forward, Y left, Z up; pitch is positive looking down.
+         */
+        public static final Transform3d ROBOT_TO_CAMERA = new Transform3d(
+            new Translation3d(0.3, 0.0, 0.25),
+            new Rotation3d(0.0, Math.toRadians(-15.0), 0.0)
+        );
+
+        /** Time without a new frame before a camera is reported disconnected (seconds) */
+        public static final double CAMERA_DISCONNECT_TIMEOUT = 1.0;
+
+        /** Window over which camera frame rate and latency percentiles are computed (seconds) */
+        public static final double HEALTH_REPORT_PERIOD = 1.0;
+
+        /** Width of each camera latency histogram bin (milliseconds) */
+        public static final double LATENCY_HISTOGRAM_BIN_WIDTH = 1.0;
+
+        /** Number of camera latency histogram bins; slower frames go in an overflow bin */
+        public static final int LATENCY_HISTOGRAM_BINS = 250;
+
+        /** Record every camera frame to disk on the real robot for later replay */
+        public static final boolean RECORD_FRAMES = false;
+
+        /** How often the recorder thread writes buffered frames to disk (seconds) */
+        public static final double RECORDER_WRITE_PERIOD = 0.1;
+
+        /** Initial packet size used to serialize a recorded frame (bytes, grows as needed) */
+        public static final int RECORDER_PACKET_SIZE = 1024;
+
+        /** Maximum number of pose observations fused per loop */
+        public static final int OBSERVATION_BATCH_SIZE = 16;
+
+        /* Per-tag tracking - see TagTrackTable */
+
+        /** Highest AprilTag ID tracked (2025 field uses 1-22) */
+        public static final int MAX_FIDUCIAL_ID = 32;
+
+        /** How long a tag stays tracked after its last sighting (seconds) */
+        public static final double TRACK_TIMEOUT = 0.25;
+
+        /** Low-pass filter weight for new yaw/pitch/area samples (0-1, higher = less smoothing) */
+        public static final double TRACK_FILTER_ALPHA = 0.5;
+
+        /** Fraction of the remaining confidence gained per sighting (0-1) */
+        public static final double TRACK_CONFIDENCE_GAIN = 0.3;
+
+        /** Time constant for confidence decay while a tag is out of view (seconds) */
+        public static final double TRACK_CONFIDENCE_DECAY = 0.5;
+
+        /* Measurement gating - see VisionMeasurementGate */
+
+        /** Maximum pose ambiguity accepted for single-tag estimates (0-1) */
+        public static final double GATE_MAX_AMBIGUITY = 0.2;
+
+        /** Maximum average camera-to-tag distance (meters) */
+        public static final double GATE_MAX_TAG_DISTANCE = 5.0;
+
+        /** How far outside the field boundary an estimate may land (meters) */
+        public static final double GATE_FIELD_MARGIN = 0.5;
+
+        /** Maximum robot rotation rate for a usable frame (rad/s) */
+        public static final double GATE_MAX_ANGULAR_SPEED = 4.0;
+
+        /** Maximum single-tag disagreement with the current pose estimate (meters) */
+        public static final double GATE_MAX_SINGLE_TAG_INNOVATION = 1.0;
+
+        /** XY standard deviation per meter squared of tag distance (meters) */
+        public static final double GATE_XY_STD_DEV_BASE = 0.02;
+
+        /** Heading standard deviation per meter squared of tag distance (radians) */
+        public static final double GATE_THETA_STD_DEV_BASE = 0.06;
+
+        /** Heading standard deviation for single-tag estimates - effectively ignored (radians) */
+        public static final double GATE_SINGLE_TAG_THETA_STD_DEV = 1e6;
+
+        /** Fractional std dev increase per m/s of robot speed */
+        public static final double GATE_SPEED_STD_DEV_SCALE = 0.5;
+
+        /** Lower and upper bounds on the XY standard deviation (meters) */
+        public static final double GATE_MIN_XY_STD_DEV = 0.02;
+        public static final double GATE_MAX_XY_STD_DEV = 5.0;
     }
 }
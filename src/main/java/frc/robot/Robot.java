@@ -4,18 +4,61 @@
 
 package frc.robot;
 
-import edu.wpi.first.wpilibj.TimedRobot;
+import org.littletonrobotics.junction.LogFileUtil;
+import org.littletonrobotics.junction.LoggedRobot;
+import org.littletonrobotics.junction.Logger;
+import org.littletonrobotics.junction.networktables.NT4Publisher;
+import org.littletonrobotics.junction.wpilog.WPILOGReader;
+import org.littletonrobotics.junction.wpilog.WPILOGWriter;
+
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.Constants.LoggingConstants;
+import frc.robot.util.JvmMonitor;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.PublisherRegistry;
+import frc.robot.util.ThreadPlacement;
 
 /**
- * Main robot class using TimedRobot framework.
+ * Main robot class using AdvantageKit's LoggedRobot (a TimedRobot that logs every cycle).
  * Runs at 50Hz (20ms period) by default.
  *
  * Automatically detects robot variant (RobotA/RobotB) based on MAC address
  * and loads the appropriate configuration.
+ *
+ * Subsystem inputs are logged every cycle. In replay mode (a desktop run with
+ * AKIT_LOG_PATH set) the inputs are read back from that log instead, and the robot
+ * code runs headless as fast as possible, writing its outputs to a "_sim" log.
  */
-public class Robot extends TimedRobot {
+public class Robot extends LoggedRobot {
   private BaseRobotContainer m_robotContainer;
+  private final LoopProfiler m_profiler = LoopProfiler.getInstance();
+  private final JvmMonitor m_jvmMonitor = JvmMonitor.getInstance();
+
+  /**
+   * Starts AdvantageKit logging (or replay) before any subsystem reads its inputs.
+   */
+  public Robot() {
+    Logger.recordMetadata("Mode", LoggingConstants.MODE.name());
+
+    switch (LoggingConstants.MODE) {
+      case REAL:
+        Logger.addDataReceiver(new WPILOGWriter(LoggingConstants.LOG_DIRECTORY));
+        Logger.addDataReceiver(new NT4Publisher());
+        break;
+      case SIM:
+        Logger.addDataReceiver(new NT4Publisher());
+        break;
+      case REPLAY:
+        setUseTiming(false); // Run as fast as possible
+        String logPath = LogFileUtil.findReplayLog();
+        Logger.setReplaySource(new WPILOGReader(logPath));
+        Logger.addDataReceiver(new WPILOGWriter(LogFileUtil.addPathSuffix(logPath, "_sim")));
+        break;
+    }
+
+    Logger.start();
+  }
 
   /**
    * Initializes robot hardware and subsystems.
@@ -26,6 +69,9 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void robotInit() {
+    m_profiler.install(CommandScheduler.getInstance());
+    m_jvmMonitor.registerMainThread();
+    ThreadPlacement.getInstance().placeMainThread();
     m_robotContainer = RobotIdentifier.detectRobot();
     System.out.println("==============================================");
     System.out.println("  Robot Initialized: " + m_robotContainer.getRobotName());
@@ -35,9 +81,16 @@ public class Robot extends TimedRobot {
   /**
    * Runs the command scheduler.
    * Called every 20ms regardless of robot mode.
+   * Dashboard values set during the run are published in one batch.
+   * The scheduler run is timed by the loop profiler, and JVM allocation
+   * and GC are sampled once per loop.
    */
   @Override
   public void robotPeriodic() {
+    m_profiler.startLoop();
     CommandScheduler.getInstance().run();
+    PublisherRegistry.flushAll();
+    m_profiler.endLoop();
+    m_jvmMonitor.update(Timer.getFPGATimestamp());
   }
 }
@@ -1,14 +1,19 @@
 package frc.robot;
 
+import java.util.concurrent.locks.LockSupport;
+
 import com.ctre.phoenix6.SignalLogger;
+import com.ctre.phoenix6.Utils;
 import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
 
 import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.networktables.DoubleArrayPublisher;
 import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.networktables.StringPublisher;
@@ -20,26 +25,104 @@ import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj.util.Color;
 import edu.wpi.first.wpilibj.util.Color8Bit;
 
+import frc.robot.Constants.TelemetryConstants;
+import frc.robot.Constants.ThreadConstants;
+import frc.robot.telemetry.DriveStateBuffer;
+import frc.robot.telemetry.DriveStateLogWriter;
+import frc.robot.telemetry.DriveStateSample;
+import frc.robot.telemetry.TelemetryChannel;
+import frc.robot.util.ThreadPlacement;
+
 /**
  * Publishes swerve drivetrain telemetry to NetworkTables and SignalLogger.
  * Displays module states via Mechanism2d and logs data for analysis.
+ *
+ * {@link #telemeterize} runs on the drivetrain's odometry thread, so it only copies the
+ * state into a ring buffer. A low-priority publisher thread drains the buffer and does the
+ * serialization, so publishing cost never adds jitter to odometry. Every sample is written
+ * to SignalLogger. Starting and stopping the log itself is left to
+ * {@link frc.robot.telemetry.LogLifecycleManager}.
+ *
+ * NetworkTables values go through {@link TelemetryChannel}s. Each channel publishes the
+ * latest sample at its own rate, and only when a value moved by more than its deadband.
+ * This keeps drive telemetry from competing with camera streams for driver station
+ * bandwidth. Per-channel publish, skip and byte counts are published under "Telemetry".
  */
-public class Telemetry {
+public class Telemetry implements AutoCloseable {
     private final double MaxSpeed;
 
+    /* Hands drive state from the odometry thread to the publisher thread */
+    private final DriveStateBuffer m_buffer = new DriveStateBuffer(TelemetryConstants.BUFFER_CAPACITY, 4);
+    private final DriveStateBuffer.Reader m_reader = m_buffer.newReader();
+    private final Thread m_publisherThread;
+    private volatile boolean m_running = true;
+
+    /* Optional full-rate log sink; replaces the SignalLogger drive state writes when set */
+    private volatile DriveStateLogWriter m_logWriter = null;
+
+    /* Rate and change filters, one per published value */
+    private final TelemetryChannel m_poseChannel = new TelemetryChannel(
+        "DriveState/Pose", TelemetryConstants.DRIVE_STATE_PERIOD, TelemetryConstants.POSE_DEADBAND, 3, Pose2d.struct.getSize());
+    private final TelemetryChannel m_speedsChannel = new TelemetryChannel(
+        "DriveState/Speeds", TelemetryConstants.DRIVE_STATE_PERIOD, TelemetryConstants.SPEED_DEADBAND, 3, ChassisSpeeds.struct.getSize());
+    private final TelemetryChannel m_moduleStatesChannel = new TelemetryChannel(
+        "DriveState/ModuleStates", TelemetryConstants.DRIVE_STATE_PERIOD, TelemetryConstants.MODULE_DEADBAND, 8, 4 * SwerveModuleState.struct.getSize());
+    private final TelemetryChannel m_moduleTargetsChannel = new TelemetryChannel(
+        "DriveState/ModuleTargets", TelemetryConstants.DRIVE_STATE_PERIOD, TelemetryConstants.MODULE_DEADBAND, 8, 4 * SwerveModuleState.struct.getSize());
+    private final TelemetryChannel m_modulePositionsChannel = new TelemetryChannel(
+        "DriveState/ModulePositions", TelemetryConstants.DRIVE_STATE_PERIOD, TelemetryConstants.MODULE_DEADBAND, 8, 4 * SwerveModulePosition.struct.getSize());
+    private final TelemetryChannel m_timestampChannel = new TelemetryChannel(
+        "DriveState/Timestamp", TelemetryConstants.DRIVE_STATE_PERIOD, 0.0, 1, Double.BYTES);
+    private final TelemetryChannel m_frequencyChannel = new TelemetryChannel(
+        "DriveState/OdometryFrequency", TelemetryConstants.STATS_PERIOD, TelemetryConstants.FREQUENCY_DEADBAND, 1, Double.BYTES);
+    private final TelemetryChannel m_fieldChannel = new TelemetryChannel(
+        "Pose/robotPose", TelemetryConstants.FIELD_PERIOD, TelemetryConstants.POSE_DEADBAND, 3, 3 * Double.BYTES);
+    private final TelemetryChannel m_mechanismChannel = new TelemetryChannel(
+        "Module Mechanisms", TelemetryConstants.MECHANISM_PERIOD, TelemetryConstants.MODULE_DEADBAND, 8, 8 * Double.BYTES);
+    private final TelemetryChannel[] m_channels = new TelemetryChannel[] {
+        m_poseChannel, m_speedsChannel, m_moduleStatesChannel, m_moduleTargetsChannel, m_modulePositionsChannel,
+        m_timestampChannel, m_frequencyChannel, m_fieldChannel, m_mechanismChannel,
+    };
+    private final double[] m_channelValues = new double[8];
+    private double m_nextStatsPublish = Double.NEGATIVE_INFINITY;
+
     /**
-     * Constructs telemetry publisher and starts SignalLogger.
+     * Constructs telemetry publisher and starts the publisher thread.
      *
      * @param maxSpeed Maximum robot speed in meters per second (for visualization scaling)
      */
     public Telemetry(double maxSpeed) {
         MaxSpeed = maxSpeed;
-        SignalLogger.start();
 
         /* Set up the module state Mechanism2d telemetry */
         for (int i = 0; i < 4; ++i) {
             SmartDashboard.putData("Module " + i, m_moduleMechanisms[i]);
         }
+        for (int i = 0; i < 4; ++i) {
+            m_moduleStates[i] = new SwerveModuleState();
+            m_moduleTargets[i] = new SwerveModuleState();
+            m_modulePositions[i] = new SwerveModulePosition();
+        }
+
+        /* Channel statistics, bound once */
+        var statsTable = inst.getTable("Telemetry");
+        m_publishCountPubs = new IntegerPublisher[m_channels.length];
+        m_byteCountPubs = new IntegerPublisher[m_channels.length];
+        m_skippedCountPubs = new IntegerPublisher[m_channels.length];
+        for (int i = 0; i < m_channels.length; ++i) {
+            String name = m_channels[i].getName();
+            m_publishCountPubs[i] = statsTable.getIntegerTopic(name + "/Publishes").publish();
+            m_byteCountPubs[i] = statsTable.getIntegerTopic(name + "/Bytes").publish();
+            m_skippedCountPubs[i] = statsTable.getIntegerTopic(name + "/Skipped").publish();
+        }
+
+        /* Never changes, so publish it once */
+        fieldTypePub.set("Field2d");
+
+        m_publisherThread = new Thread(this::run, "TelemetryPublisher");
+        m_publisherThread.setDaemon(true);
+        m_publisherThread.setPriority(Thread.MIN_PRIORITY);
+        m_publisherThread.start();
     }
 
     /* What to publish over networktables for telemetry */
@@ -60,6 +143,11 @@ public class Telemetry {
     private final DoubleArrayPublisher fieldPub = table.getDoubleArrayTopic("robotPose").publish();
     private final StringPublisher fieldTypePub = table.getStringTopic(".type").publish();
 
+    /* Per-channel statistics */
+    private final IntegerPublisher[] m_publishCountPubs;
+    private final IntegerPublisher[] m_byteCountPubs;
+    private final IntegerPublisher[] m_skippedCountPubs;
+
     /* Mechanisms to represent the swerve module states */
     private final Mechanism2d[] m_moduleMechanisms = new Mechanism2d[] {
         new Mechanism2d(1, 1),
@@ -90,46 +178,226 @@ public class Telemetry {
     private final double[] m_moduleStatesArray = new double[8];
     private final double[] m_moduleTargetsArray = new double[8];
 
+    /* Reused struct values for NetworkTables (built on the publisher thread) */
+    private final SwerveModuleState[] m_moduleStates = new SwerveModuleState[4];
+    private final SwerveModuleState[] m_moduleTargets = new SwerveModuleState[4];
+    private final SwerveModulePosition[] m_modulePositions = new SwerveModulePosition[4];
+
     /**
-     * Publishes swerve drive state to NetworkTables and SignalLogger.
+     * Queues swerve drive state for publishing. Called on the odometry thread;
+     * only copies the state into a preallocated buffer slot.
      *
      * @param state Current drivetrain state (pose, speeds, module states)
      */
     public void telemeterize(SwerveDriveState state) {
-        /* Telemeterize the swerve drive state */
-        drivePose.set(state.Pose);
-        driveSpeeds.set(state.Speeds);
-        driveModuleStates.set(state.ModuleStates);
-        driveModuleTargets.set(state.ModuleTargets);
-        driveModulePositions.set(state.ModulePositions);
-        driveTimestamp.set(state.Timestamp);
-        driveOdometryFrequency.set(1.0 / state.OdometryPeriod);
-
-        /* Also write to log file */
-        m_poseArray[0] = state.Pose.getX();
-        m_poseArray[1] = state.Pose.getY();
-        m_poseArray[2] = state.Pose.getRotation().getDegrees();
+        m_buffer.publish(state);
+
+        DriveStateLogWriter logWriter = m_logWriter;
+        if (logWriter != null) {
+            logWriter.append(state);
+        }
+    }
+
+    /**
+     * Records every drive state to a memory-mapped log instead of SignalLogger.
+     * Telemetry takes ownership of the writer and closes it on {@link #close()}.
+     * The previous writer is detached but not closed; the caller now owns it.
+     *
+     * @param logWriter Log sink, or null to go back to SignalLogger
+     * @return The writer that was replaced, or null
+     */
+    public DriveStateLogWriter setLogWriter(DriveStateLogWriter logWriter) {
+        DriveStateLogWriter previous = m_logWriter;
+        m_logWriter = logWriter;
+        return previous;
+    }
+
+    private void run() {
+        ThreadPlacement.getInstance().placeBackgroundThread("Telemetry", ThreadConstants.BACKGROUND_NICE);
+        long periodNanos = (long) (TelemetryConstants.PUBLISH_PERIOD * 1e9);
+        while (m_running) {
+            LockSupport.parkNanos(periodNanos);
+            publishPending();
+        }
+    }
+
+    /**
+     * Publishes every queued sample. Called by the publisher thread,
+     * or directly in tests.
+     */
+    public synchronized void publishPending() {
+        boolean hasSample = false;
+        boolean useSignalLogger = m_logWriter == null;
+        while (m_reader.next()) {
+            if (useSignalLogger) {
+                logSample(m_reader.sample());
+            }
+            hasSample = true;
+        }
+        if (!hasSample) {
+            return;
+        }
+
+        /* NetworkTables only needs the latest sample; each channel decides if it is worth sending */
+        DriveStateSample sample = m_reader.sample();
+        publishDriveState(sample);
+        publishMechanisms(sample);
+
+        double timestamp = sample.getTimestamp();
+        if (timestamp >= m_nextStatsPublish) {
+            m_nextStatsPublish = timestamp + TelemetryConstants.STATS_PERIOD;
+            publishStatistics();
+        }
+    }
+
+    /* Writes one sample to SignalLogger, stamped with its original time */
+    private void logSample(DriveStateSample sample) {
+        m_poseArray[0] = sample.getPoseX();
+        m_poseArray[1] = sample.getPoseY();
+        m_poseArray[2] = Math.toDegrees(sample.getPoseRotation());
         for (int i = 0; i < 4; ++i) {
-            m_moduleStatesArray[i*2 + 0] = state.ModuleStates[i].angle.getRadians();
-            m_moduleStatesArray[i*2 + 1] = state.ModuleStates[i].speedMetersPerSecond;
-            m_moduleTargetsArray[i*2 + 0] = state.ModuleTargets[i].angle.getRadians();
-            m_moduleTargetsArray[i*2 + 1] = state.ModuleTargets[i].speedMetersPerSecond;
+            m_moduleStatesArray[i*2 + 0] = sample.getModuleAngle(i);
+            m_moduleStatesArray[i*2 + 1] = sample.getModuleSpeed(i);
+            m_moduleTargetsArray[i*2 + 0] = sample.getTargetAngle(i);
+            m_moduleTargetsArray[i*2 + 1] = sample.getTargetSpeed(i);
         }
 
-        SignalLogger.writeDoubleArray("DriveState/Pose", m_poseArray);
-        SignalLogger.writeDoubleArray("DriveState/ModuleStates", m_moduleStatesArray);
-        SignalLogger.writeDoubleArray("DriveState/ModuleTargets", m_moduleTargetsArray);
-        SignalLogger.writeDouble("DriveState/OdometryPeriod", state.OdometryPeriod, "seconds");
+        double latency = Math.max(0.0, Utils.getCurrentTimeSeconds() - sample.getTimestamp());
+        SignalLogger.writeDoubleArray("DriveState/Pose", m_poseArray, "", latency);
+        SignalLogger.writeDoubleArray("DriveState/ModuleStates", m_moduleStatesArray, "", latency);
+        SignalLogger.writeDoubleArray("DriveState/ModuleTargets", m_moduleTargetsArray, "", latency);
+        SignalLogger.writeDouble("DriveState/OdometryPeriod", sample.getOdometryPeriod(), "seconds", latency);
+    }
+
+    private void publishDriveState(DriveStateSample sample) {
+        double timestamp = sample.getTimestamp();
+        double[] values = m_channelValues;
 
-        /* Telemeterize the pose to a Field2d */
-        fieldTypePub.set("Field2d");
-        fieldPub.set(m_poseArray);
+        values[0] = sample.getPoseX();
+        values[1] = sample.getPoseY();
+        values[2] = sample.getPoseRotation();
+        if (m_poseChannel.shouldPublish(timestamp, values)) {
+            drivePose.set(new Pose2d(values[0], values[1], Rotation2d.fromRadians(values[2])));
+        }
+        if (m_fieldChannel.shouldPublish(timestamp, values)) {
+            m_poseArray[0] = values[0];
+            m_poseArray[1] = values[1];
+            m_poseArray[2] = Math.toDegrees(values[2]);
+            fieldPub.set(m_poseArray);
+        }
+
+        values[0] = sample.getVx();
+        values[1] = sample.getVy();
+        values[2] = sample.getOmega();
+        if (m_speedsChannel.shouldPublish(timestamp, values)) {
+            driveSpeeds.set(new ChassisSpeeds(values[0], values[1], values[2]));
+        }
+
+        for (int i = 0; i < 4; ++i) {
+            values[i*2 + 0] = sample.getModuleAngle(i);
+            values[i*2 + 1] = sample.getModuleSpeed(i);
+        }
+        if (m_moduleStatesChannel.shouldPublish(timestamp, values)) {
+            for (int i = 0; i < 4; ++i) {
+                m_moduleStates[i].angle = Rotation2d.fromRadians(values[i*2 + 0]);
+                m_moduleStates[i].speedMetersPerSecond = values[i*2 + 1];
+            }
+            driveModuleStates.set(m_moduleStates);
+        }
 
-        /* Telemeterize each module state to a Mechanism2d */
         for (int i = 0; i < 4; ++i) {
-            m_moduleSpeeds[i].setAngle(state.ModuleStates[i].angle);
-            m_moduleDirections[i].setAngle(state.ModuleStates[i].angle);
-            m_moduleSpeeds[i].setLength(state.ModuleStates[i].speedMetersPerSecond / (2 * MaxSpeed));
+            values[i*2 + 0] = sample.getTargetAngle(i);
+            values[i*2 + 1] = sample.getTargetSpeed(i);
+        }
+        if (m_moduleTargetsChannel.shouldPublish(timestamp, values)) {
+            for (int i = 0; i < 4; ++i) {
+                m_moduleTargets[i].angle = Rotation2d.fromRadians(values[i*2 + 0]);
+                m_moduleTargets[i].speedMetersPerSecond = values[i*2 + 1];
+            }
+            driveModuleTargets.set(m_moduleTargets);
+        }
+
+        for (int i = 0; i < 4; ++i) {
+            values[i*2 + 0] = sample.getPositionAngle(i);
+            values[i*2 + 1] = sample.getPositionDistance(i);
+        }
+        if (m_modulePositionsChannel.shouldPublish(timestamp, values)) {
+            for (int i = 0; i < 4; ++i) {
+                m_modulePositions[i].angle = Rotation2d.fromRadians(values[i*2 + 0]);
+                m_modulePositions[i].distanceMeters = values[i*2 + 1];
+            }
+            driveModulePositions.set(m_modulePositions);
+        }
+
+        values[0] = timestamp;
+        if (m_timestampChannel.shouldPublish(timestamp, values)) {
+            driveTimestamp.set(timestamp);
+        }
+
+        values[0] = 1.0 / sample.getOdometryPeriod();
+        if (m_frequencyChannel.shouldPublish(timestamp, values)) {
+            driveOdometryFrequency.set(values[0]);
+        }
+    }
+
+    /* Telemeterize each module state to a Mechanism2d */
+    private void publishMechanisms(DriveStateSample sample) {
+        double[] values = m_channelValues;
+        for (int i = 0; i < 4; ++i) {
+            values[i*2 + 0] = sample.getModuleAngle(i);
+            values[i*2 + 1] = sample.getModuleSpeed(i);
+        }
+        if (!m_mechanismChannel.shouldPublish(sample.getTimestamp(), values)) {
+            return;
+        }
+
+        for (int i = 0; i < 4; ++i) {
+            Rotation2d angle = Rotation2d.fromRadians(values[i*2 + 0]);
+            m_moduleSpeeds[i].setAngle(angle);
+            m_moduleDirections[i].setAngle(angle);
+            m_moduleSpeeds[i].setLength(values[i*2 + 1] / (2 * MaxSpeed));
+        }
+    }
+
+    private void publishStatistics() {
+        for (int i = 0; i < m_channels.length; ++i) {
+            m_publishCountPubs[i].set(m_channels[i].getPublishCount());
+            m_byteCountPubs[i].set(m_channels[i].getByteCount());
+            m_skippedCountPubs[i].set(m_channels[i].getSkippedCount());
+        }
+    }
+
+    /**
+     * Gets the telemetry channels, for reading their publish and byte counters.
+     *
+     * @return Every channel this class publishes through
+     */
+    public TelemetryChannel[] getChannels() {
+        return m_channels;
+    }
+
+    /**
+     * Gets the number of samples the publisher thread fell too far behind to publish.
+     *
+     * @return Total dropped sample count
+     */
+    public long getDroppedSamples() {
+        return m_reader.getDroppedSamples();
+    }
+
+    /**
+     * Stops the publisher thread and closes the drive state log, if any.
+     */
+    @Override
+    public void close() {
+        m_running = false;
+        LockSupport.unpark(m_publisherThread);
+
+        DriveStateLogWriter logWriter = m_logWriter;
+        m_logWriter = null;
+        if (logWriter != null) {
+            LockSupport.parkNanos((long) (TelemetryConstants.DRIVE_LOG_DETACH_DELAY * 1e9));
+            logWriter.close();
         }
     }
 }
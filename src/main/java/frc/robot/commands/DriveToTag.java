@@ -1,48 +1,98 @@
 package frc.robot.commands;
 
+import org.littletonrobotics.junction.Logger;
+
 import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
 import com.ctre.phoenix6.swerve.SwerveRequest;
 
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.Constants.VisionConstants;
 import frc.robot.subsystems.CommandSwerveDrivetrain;
 import frc.robot.subsystems.VisionSubsystem;
+import frc.robot.swerve.DriveToPoseRequest;
+import frc.robot.swerve.PoseHistory;
+import frc.robot.vision.TagTrackTable;
+import frc.robot.vision.VisionSnapshot;
 
 /**
  * Command to drive toward and align with the nearest AprilTag.
- * Uses simple P-controllers for both rotation (yaw) and forward drive (area/distance).
+ *
+ * Locks onto a single tag ID (the best target when first seen, or a requested ID)
+ * and follows that tag's track until the command ends, so it does not jump between
+ * tags when several are visible.
+ *
+ * Each new sighting of the tag is turned into a field-relative goal: a point
+ * {@link VisionConstants#TAG_STANDOFF_DISTANCE} in front of the tag, and a heading
+ * that faces it. The heading is latched against the gyro heading at the moment the
+ * frame was captured, so camera latency does not cause overshoot. The
+ * {@link DriveToPoseRequest} then closes the loop on the drivetrain pose and gyro at
+ * the odometry rate, so the robot keeps turning and moving smoothly between frames.
+ *
+ * "DriveToTag/State" is logged as Aligning, Aligned or Interrupted, so time-to-align
+ * can be measured from match logs.
  */
 public class DriveToTag extends Command {
     private final VisionSubsystem vision;
     private final CommandSwerveDrivetrain drivetrain;
+    private final int requestedTagId;
+    private int lockedTagId = -1;
+    private double goalCaptureTimestamp = Double.NEGATIVE_INFINITY;
+    private final PoseHistory.Sample poseAtCapture = new PoseHistory.Sample();
 
-    private final SwerveRequest.FieldCentric driveRequest = new SwerveRequest.FieldCentric()
+    private final DriveToPoseRequest alignRequest = new DriveToPoseRequest();
+    private final SwerveRequest.FieldCentric stopRequest = new SwerveRequest.FieldCentric()
         .withDriveRequestType(DriveRequestType.OpenLoopVoltage);
 
-    // Cached command to avoid lambda creation every execute cycle
-    private Command cachedDriveCommand;
-
     /**
-     * Creates a new DriveToTag command.
+     * Creates a new DriveToTag command that locks onto the best visible tag.
      * @param vision VisionSubsystem for target detection
      * @param drivetrain CommandSwerveDrivetrain for robot movement
      */
     public DriveToTag(VisionSubsystem vision, CommandSwerveDrivetrain drivetrain) {
+        this(vision, drivetrain, -1);
+    }
+
+    /**
+     * Creates a new DriveToTag command that drives to a specific tag.
+     * @param vision VisionSubsystem for target detection
+     * @param drivetrain CommandSwerveDrivetrain for robot movement
+     * @param tagId AprilTag ID to drive to, or -1 to lock onto the best visible tag
+     */
+    public DriveToTag(VisionSubsystem vision, CommandSwerveDrivetrain drivetrain, int tagId) {
         this.vision = vision;
         this.drivetrain = drivetrain;
+        this.requestedTagId = tagId;
         addRequirements(vision, drivetrain);
     }
 
     @Override
     public void initialize() {
-        cachedDriveCommand = null; // Reset cached command on initialization
+        lockedTagId = requestedTagId;
+        goalCaptureTimestamp = Double.NEGATIVE_INFINITY;
+        alignRequest.clearGoal();
+        Logger.recordOutput("DriveToTag/State", "Aligning");
     }
 
     @Override
     public void execute() {
-        if (!vision.hasTargets()) {
-            // No target visible - stop moving
-            drivetrain.setControl(driveRequest
+        // Lock onto the best target the first time one is seen
+        if (lockedTagId < 0) {
+            VisionSnapshot target = vision.getSnapshot();
+            if (target.isTargetValid()) {
+                lockedTagId = target.getTargetId();
+            }
+        }
+
+        if (lockedTagId < 0) {
+            // Nothing to drive to yet - stop moving
+            drivetrain.setControl(stopRequest
                 .withVelocityX(0)
                 .withVelocityY(0)
                 .withRotationalRate(0)
@@ -50,75 +100,82 @@ public class DriveToTag extends Command {
             return;
         }
 
-        // Get target information
-        double yawError = vision.getTargetYaw();
-        double currentArea = vision.getTargetArea();
-        double areaError = VisionConstants.AREA_TARGET - currentArea;
+        // Refresh the goal whenever the locked tag is seen in a new frame
+        TagTrackTable tracks = vision.getTrackTable();
+        if (tracks.isTracked(lockedTagId, Timer.getFPGATimestamp())
+            && tracks.getLastSeen(lockedTagId) != goalCaptureTimestamp
+            && updateGoal(tracks)) {
+            goalCaptureTimestamp = tracks.getLastSeen(lockedTagId);
 
-        // Calculate rotation speed (align with target)
-        double calculatedRotation = -yawError * VisionConstants.ROTATION_P;
-        if (Math.abs(yawError) > VisionConstants.ANGLE_TOLERANCE) {
-            if (Math.abs(calculatedRotation) < VisionConstants.MIN_ROTATION_SPEED) {
-                calculatedRotation = Math.copySign(VisionConstants.MIN_ROTATION_SPEED, calculatedRotation);
-            }
+            // Record how old the frame was when it was acted on
+            vision.recordControlApplied(tracks.getCameraIndex(lockedTagId), goalCaptureTimestamp);
         }
-        final double rotationSpeed = Math.max(-VisionConstants.MAX_ROTATION_SPEED,
-            Math.min(VisionConstants.MAX_ROTATION_SPEED, calculatedRotation));
-
-        // Calculate forward drive speed (approach target)
-        // Positive area error means we're too far, need to drive forward
-        double calculatedDrive = areaError * VisionConstants.DRIVE_P;
-
-        // Only drive forward if we're reasonably aligned
-        if (Math.abs(yawError) > VisionConstants.MAX_YAW_ERROR_FOR_DRIVE) {
-            calculatedDrive = 0; // Rotate first, then drive
-        } else if (Math.abs(areaError) > VisionConstants.AREA_TOLERANCE) {
-            if (Math.abs(calculatedDrive) < VisionConstants.MIN_DRIVE_SPEED) {
-                calculatedDrive = Math.copySign(VisionConstants.MIN_DRIVE_SPEED, calculatedDrive);
-            }
+
+        // The request holds still until it has a goal, then keeps driving to it between frames
+        drivetrain.setControl(alignRequest);
+    }
+
+    /**
+     * Converts the latest sighting of the locked tag into a field-relative goal.
+     * Uses the drivetrain pose and gyro heading from when the frame was captured, so
+     * robot motion since then does not skew the goal. Allocates; runs once per new frame.
+     * @return true if the goal was updated
+     */
+    private boolean updateGoal(TagTrackTable tracks) {
+        double captureTimestamp = tracks.getLastSeen(lockedTagId);
+        if (!drivetrain.lookupPose("DriveToTag/PoseAtCapture", captureTimestamp, poseAtCapture)) {
+            return false;
         }
-        final double driveSpeed = Math.max(-VisionConstants.MAX_DRIVE_SPEED,
-            Math.min(VisionConstants.MAX_DRIVE_SPEED, calculatedDrive));
-
-        // Apply movement (forward X, no strafe Y, rotation)
-        // Cache command to avoid creating new lambda every cycle
-        if (cachedDriveCommand == null) {
-            cachedDriveCommand = drivetrain.applyRequest(() -> driveRequest
-                .withVelocityX(driveSpeed)
-                .withVelocityY(0)
-                .withRotationalRate(rotationSpeed)
-            );
+
+        // Tag position relative to the robot center when the frame was captured
+        Transform3d robotToCamera = vision.getCameraConfig(tracks.getCameraIndex(lockedTagId)).getRobotToCamera();
+        Translation3d robotToTag = robotToCamera.plus(tracks.getCameraToTarget(lockedTagId)).getTranslation();
+        double bearing = Math.atan2(robotToTag.getY(), robotToTag.getX());
+        double range = Math.hypot(robotToTag.getX(), robotToTag.getY());
+        if (range < 1e-6) {
+            return false;
         }
 
-        // Update the request with new values and execute
-        drivetrain.setControl(driveRequest
-            .withVelocityX(driveSpeed)
-            .withVelocityY(0)
-            .withRotationalRate(rotationSpeed)
-        );
+        // Latch the heading to the tag against the gyro: the gyro heading that faces the tag,
+        // moved into the pose frame using the latest consistent gyro/pose pair
+        var inputs = drivetrain.getInputs();
+        double headingTarget = inputs.pose.getRotation().getRadians()
+            + MathUtil.angleModulus(poseAtCapture.getRawHeading() + bearing - inputs.rawHeading.getRadians());
+
+        // Stop short of the tag along the line the robot was approaching from
+        double fieldBearing = poseAtCapture.getHeading() + bearing;
+        double approach = range - VisionConstants.TAG_STANDOFF_DISTANCE;
+        Translation2d goalPosition = new Translation2d(poseAtCapture.getX(), poseAtCapture.getY())
+            .plus(new Translation2d(approach, new Rotation2d(fieldBearing)));
+
+        alignRequest.withPose(new Pose2d(goalPosition, new Rotation2d(headingTarget)));
+        return true;
     }
 
     @Override
     public void end(boolean interrupted) {
+        Logger.recordOutput("DriveToTag/State", interrupted ? "Interrupted" : "Aligned");
+
         // Stop moving when command ends
-        drivetrain.setControl(driveRequest
+        alignRequest.clearGoal();
+        drivetrain.setControl(stopRequest
             .withVelocityX(0)
             .withVelocityY(0)
             .withRotationalRate(0)
         );
-        cachedDriveCommand = null; // Clear cache
     }
 
     @Override
     public boolean isFinished() {
-        // Finish when both aligned and at target distance
-        if (!vision.hasTargets()) {
-            return false; // Keep running until we see and reach target, or get interrupted
-        }
-
-        double yawError = Math.abs(vision.getTargetYaw());
-        double areaError = Math.abs(VisionConstants.AREA_TARGET - vision.getTargetArea());
+        // Finish when both aligned and at target distance, judged from the logged drive state
+        return lockedTagId >= 0 && alignRequest.isAtGoal(drivetrain.getInputs().pose);
+    }
 
-        return yawError < VisionConstants.ANGLE_TOLERANCE && areaError < VisionConstants.AREA_TOLERANCE;
+    /**
+     * Gets the AprilTag ID this command is following.
+     * @return Locked tag ID, or -1 if no tag has been locked yet
+     */
+    public int getLockedTagId() {
+        return lockedTagId;
     }
 }
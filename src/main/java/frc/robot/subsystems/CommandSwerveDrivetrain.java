@@ -2,15 +2,24 @@ package frc.robot.subsystems;
 
 import static edu.wpi.first.units.Units.*;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import org.littletonrobotics.junction.Logger;
+
+import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.SignalLogger;
 import com.ctre.phoenix6.Utils;
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
 import com.ctre.phoenix6.swerve.SwerveDrivetrainConstants;
 import com.ctre.phoenix6.swerve.SwerveModuleConstants;
 import com.ctre.phoenix6.swerve.SwerveRequest;
 
 import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.VecBuilder;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
@@ -21,11 +30,23 @@ import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.DriverStation.Alliance;
 import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
+import frc.robot.Constants.DriveConstants;
+import frc.robot.Constants.LoggingConstants;
+import frc.robot.Constants.ThreadConstants;
 import frc.robot.generated.TunerConstants;
 import frc.robot.generated.TunerConstants.TunerSwerveDrivetrain;
+import frc.robot.swerve.OdometryTimingMonitor;
+import frc.robot.swerve.PoseHistory;
+import frc.robot.swerve.TractionMonitor;
+import frc.robot.util.JvmMonitor;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.ThreadPlacement;
+import frc.robot.vision.PoseObservation;
+import frc.robot.vision.VisionMeasurementGate;
 
 /**
  * Class that extends the Phoenix 6 SwerveDrivetrain class and implements
@@ -112,6 +133,47 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
 
     private final SwerveDriveKinematics m_kinematics;
 
+    /* Fused poses, raw gyro headings and speeds from the odometry thread, for latency compensation */
+    private final PoseHistory m_poseHistory = new PoseHistory(DriveConstants.POSE_HISTORY_SIZE);
+
+    /* Period, jitter and freshness of odometry updates against the requested rate */
+    private final OdometryTimingMonitor m_odometryTiming;
+
+    /* Listeners run on the odometry thread after every odometry update */
+    private final List<Consumer<SwerveDriveState>> m_odometryListeners = new CopyOnWriteArrayList<>();
+    private volatile Consumer<SwerveDriveState> m_telemetryFunction = null;
+
+    /* Drive state seen by the main loop; logged each cycle and read back from the log in replay */
+    private final DriveIO m_io = LoggingConstants.MODE == LoggingConstants.Mode.REPLAY
+        ? new DriveIO() {}
+        : new DriveIOPhoenix(this);
+    private final DriveIOInputsAutoLogged m_inputs = new DriveIOInputsAutoLogged();
+    private final PoseLookupInputsAutoLogged m_poseLookup = new PoseLookupInputsAutoLogged();
+
+    /* Main loop timing */
+    private final LoopProfiler m_profiler = LoopProfiler.getInstance();
+    private final int m_profilerId = m_profiler.register(getName() + ".periodic()");
+
+    /* Set once the odometry and sim threads are registered for allocation tracking */
+    private boolean m_odometryThreadRegistered = false;
+    private boolean m_simThreadRegistered = false;
+
+    /* Slip and collision detection; odometry is de-weighted while either is active */
+    private final TractionMonitor m_tractionMonitor = new TractionMonitor(
+        getModuleLocations(), TunerConstants.FrontLeft.SlipCurrent);
+    private final BaseStatusSignal[] m_tractionSignals = createTractionSignals();
+    private final double[] m_statorCurrents = new double[getModules().length];
+    /* Odometry std devs the drivetrain was built with; slip and collisions scale x and y only */
+    private final Matrix<N3, N1> m_configuredOdometryStdDevs;
+    private final Matrix<N3, N1> m_odometryStdDevs = VecBuilder.fill(0.0, 0.0, 0.0);
+    private double m_appliedStdDevScale = 1.0;
+    private long m_loggedSlipCount = 0;
+    private long m_loggedCollisionCount = 0;
+
+    /* Rejects vision outliers and computes per-measurement standard deviations */
+    private final VisionMeasurementGate m_visionGate = new VisionMeasurementGate();
+    private final Matrix<N3, N1> m_visionStdDevs = VecBuilder.fill(0.0, 0.0, 0.0);
+
     /**
      * Constructs a CTRE SwerveDrivetrain using the specified constants.
      * <p>
@@ -127,6 +189,9 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
         SwerveModuleConstants<?, ?, ?>... modules
     ) {
         super(drivetrainConstants, modules);
+        m_odometryTiming = new OdometryTimingMonitor(resolveOdometryFrequency(0.0));
+        m_configuredOdometryStdDevs = VecBuilder.fill(
+            DriveConstants.ODOMETRY_STD_DEV, DriveConstants.ODOMETRY_STD_DEV, DriveConstants.ODOMETRY_STD_DEV);
 
         m_kinematics = new SwerveDriveKinematics(
             new Translation2d(TunerConstants.FrontLeft.LocationX, TunerConstants.FrontLeft.LocationY),
@@ -134,8 +199,13 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
             new Translation2d(TunerConstants.BackLeft.LocationX, TunerConstants.BackLeft.LocationY),
             new Translation2d(TunerConstants.BackRight.LocationX, TunerConstants.BackRight.LocationY));
 
+        super.registerTelemetry(this::onOdometryUpdate);
+
         if (Utils.isSimulation()) {
             startSimThread();
+        } else {
+            /* Simulation models neither wheel slip nor the accelerometer */
+            addOdometryListener(this::updateTraction);
         }
     }
 
@@ -158,6 +228,9 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
         SwerveModuleConstants<?, ?, ?>... modules
     ) {
         super(drivetrainConstants, odometryUpdateFrequency, modules);
+        m_odometryTiming = new OdometryTimingMonitor(resolveOdometryFrequency(odometryUpdateFrequency));
+        m_configuredOdometryStdDevs = VecBuilder.fill(
+            DriveConstants.ODOMETRY_STD_DEV, DriveConstants.ODOMETRY_STD_DEV, DriveConstants.ODOMETRY_STD_DEV);
 
         m_kinematics = new SwerveDriveKinematics(
             new Translation2d(TunerConstants.FrontLeft.LocationX, TunerConstants.FrontLeft.LocationY),
@@ -165,8 +238,13 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
             new Translation2d(TunerConstants.BackLeft.LocationX, TunerConstants.BackLeft.LocationY),
             new Translation2d(TunerConstants.BackRight.LocationX, TunerConstants.BackRight.LocationY));
 
+        super.registerTelemetry(this::onOdometryUpdate);
+
         if (Utils.isSimulation()) {
             startSimThread();
+        } else {
+            /* Simulation models neither wheel slip nor the accelerometer */
+            addOdometryListener(this::updateTraction);
         }
     }
 
@@ -197,6 +275,8 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
         SwerveModuleConstants<?, ?, ?>... modules
     ) {
         super(drivetrainConstants, odometryUpdateFrequency, odometryStandardDeviation, visionStandardDeviation, modules);
+        m_odometryTiming = new OdometryTimingMonitor(resolveOdometryFrequency(odometryUpdateFrequency));
+        m_configuredOdometryStdDevs = odometryStandardDeviation.copy();
 
         m_kinematics = new SwerveDriveKinematics(
             new Translation2d(TunerConstants.FrontLeft.LocationX, TunerConstants.FrontLeft.LocationY),
@@ -204,11 +284,197 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
             new Translation2d(TunerConstants.BackLeft.LocationX, TunerConstants.BackLeft.LocationY),
             new Translation2d(TunerConstants.BackRight.LocationX, TunerConstants.BackRight.LocationY));
 
+        super.registerTelemetry(this::onOdometryUpdate);
+
         if (Utils.isSimulation()) {
             startSimThread();
+        } else {
+            /* Simulation models neither wheel slip nor the accelerometer */
+            addOdometryListener(this::updateTraction);
         }
     }
 
+    /* Phoenix runs odometry at 250 Hz on CAN FD and 100 Hz on CAN 2.0 when no rate is given */
+    private static double resolveOdometryFrequency(double requested) {
+        if (requested > 0.0) {
+            return requested;
+        }
+        return TunerConstants.kCANBus.isNetworkFD() ? 250.0 : 100.0;
+    }
+
+    /**
+     * Register the specified lambda to be executed every time our odometry thread
+     * updates, after the drivetrain's own odometry listeners.
+     * <p>
+     * Only one telemetry function can be registered; use
+     * {@link #addOdometryListener(Consumer)} for anything else that needs every update.
+     *
+     * @param telemetryFunction Function to call for telemetry or logging
+     */
+    @Override
+    public void registerTelemetry(Consumer<SwerveDriveState> telemetryFunction) {
+        m_telemetryFunction = telemetryFunction;
+    }
+
+    /**
+     * Adds a function to run on the odometry thread after every odometry update.
+     * Listeners must be fast and must not block; they run at the full odometry rate.
+     *
+     * @param listener Function to call with the latest drivetrain state
+     */
+    public void addOdometryListener(Consumer<SwerveDriveState> listener) {
+        m_odometryListeners.add(listener);
+    }
+
+    /* Runs on the odometry thread after every odometry update */
+    private void onOdometryUpdate(SwerveDriveState state) {
+        if (!m_odometryThreadRegistered) {
+            JvmMonitor.getInstance().registerCurrentThread("Odometry");
+            ThreadPlacement.getInstance().placeControlThread("Odometry", ThreadConstants.ODOMETRY_PRIORITY);
+            m_odometryThreadRegistered = true;
+        }
+
+        m_odometryTiming.record(state.OdometryPeriod, state.Timestamp, Utils.getCurrentTimeSeconds());
+        m_poseHistory.record(Utils.currentTimeToFPGATime(state.Timestamp),
+            state.Pose.getX(), state.Pose.getY(), state.Pose.getRotation().getRadians(), state.RawHeading.getRadians(),
+            state.Speeds.vxMetersPerSecond, state.Speeds.vyMetersPerSecond, state.Speeds.omegaRadiansPerSecond);
+
+        for (Consumer<SwerveDriveState> listener : m_odometryListeners) {
+            listener.accept(state);
+        }
+
+        Consumer<SwerveDriveState> telemetryFunction = m_telemetryFunction;
+        if (telemetryFunction != null) {
+            telemetryFunction.accept(state);
+        }
+    }
+
+    /* Drive stator currents, then Pigeon 2 forward and left acceleration */
+    private BaseStatusSignal[] createTractionSignals() {
+        var modules = getModules();
+        var signals = new BaseStatusSignal[modules.length + 2];
+        for (int i = 0; i < modules.length; i++) {
+            signals[i] = modules[i].getDriveMotor().getStatorCurrent();
+        }
+        signals[modules.length] = getPigeon2().getAccelerationX();
+        signals[modules.length + 1] = getPigeon2().getAccelerationY();
+        BaseStatusSignal.setUpdateFrequencyForAll(DriveConstants.TRACTION_SIGNAL_FREQUENCY, signals);
+        return signals;
+    }
+
+    /* Runs on the odometry thread; only reads the cached signal values */
+    private void updateTraction(SwerveDriveState state) {
+        BaseStatusSignal.refreshAll(m_tractionSignals);
+        for (int i = 0; i < m_statorCurrents.length; i++) {
+            m_statorCurrents[i] = m_tractionSignals[i].getValueAsDouble();
+        }
+        // Pigeon 2 reports acceleration in g
+        double accelX = m_tractionSignals[m_statorCurrents.length].getValueAsDouble() * 9.80665;
+        double accelY = m_tractionSignals[m_statorCurrents.length + 1].getValueAsDouble() * 9.80665;
+        m_tractionMonitor.update(state, m_statorCurrents, accelX, accelY);
+    }
+
+    /*
+     * Applies the odometry trust chosen by the traction monitor and logs new events.
+     * Runs on the main loop, so the pose estimator is never reconfigured from the odometry thread.
+     */
+    private void applyTraction() {
+        double now = Utils.getCurrentTimeSeconds();
+        double scale = m_tractionMonitor.getOdometryStdDevScale(now);
+        if (scale != m_appliedStdDevScale) {
+            // Slip corrupts wheel translation, not the gyro heading, so theta keeps its configured trust
+            m_odometryStdDevs.set(0, 0, m_configuredOdometryStdDevs.get(0, 0) * scale);
+            m_odometryStdDevs.set(1, 0, m_configuredOdometryStdDevs.get(1, 0) * scale);
+            m_odometryStdDevs.set(2, 0, m_configuredOdometryStdDevs.get(2, 0));
+            setStateStdDevs(m_odometryStdDevs);
+            m_appliedStdDevScale = scale;
+        }
+
+        long slips = m_tractionMonitor.getSlipCount();
+        long collisions = m_tractionMonitor.getCollisionCount();
+        if (slips != m_loggedSlipCount) {
+            Logger.recordOutput("Drive/Traction/LastEvent", "Slip");
+            m_loggedSlipCount = slips;
+        }
+        if (collisions != m_loggedCollisionCount) {
+            Logger.recordOutput("Drive/Traction/LastEvent", "Collision");
+            DriverStation.reportWarning("Collision detected; odometry de-weighted", false);
+            m_loggedCollisionCount = collisions;
+        }
+        Logger.recordOutput("Drive/Traction/Slipping", m_tractionMonitor.isSlipping(now));
+        Logger.recordOutput("Drive/Traction/Colliding", m_tractionMonitor.isColliding(now));
+        Logger.recordOutput("Drive/Traction/SlipEvents", slips);
+        Logger.recordOutput("Drive/Traction/CollisionEvents", collisions);
+        Logger.recordOutput("Drive/Traction/OdometryStdDevScale", scale);
+    }
+
+    /**
+     * Gets the odometry thread timing monitor.
+     * @return The odometry timing monitor
+     */
+    public OdometryTimingMonitor getOdometryTiming() {
+        return m_odometryTiming;
+    }
+
+    /**
+     * Gets the slip and collision detector fed by the odometry thread.
+     * @return The traction monitor
+     */
+    public TractionMonitor getTractionMonitor() {
+        return m_tractionMonitor;
+    }
+
+    /**
+     * Gets the drive state logged at the start of this loop.
+     * In log replay this is the state recorded on the robot, not the simulated drivetrain.
+     * Main-loop code must read pose, speeds and raw heading from here, not {@link #getState()}.
+     * @return The drive inputs, updated in place each loop
+     */
+    public DriveIO.DriveIOInputs getInputs() {
+        return m_inputs;
+    }
+
+    /**
+     * Gets the fused pose, raw gyro heading and speed history recorded on the odometry thread.
+     * Main-loop code should use {@link #lookupPose(String, double, PoseHistory.Sample)} instead,
+     * which logs the result for replay.
+     * @return The pose history
+     */
+    public PoseHistory getPoseHistory() {
+        return m_poseHistory;
+    }
+
+    /**
+     * Looks up the pose history at a past time from the main loop.
+     * <p>
+     * The history is filled on the odometry thread, so the result is logged as an input
+     * under the given key. In log replay the history is not read; the result recorded on
+     * the robot is returned instead. Each caller should use its own key, at most once per loop.
+     *
+     * @param logKey Log key for this lookup, e.g. "DriveToTag/PoseAtCapture"
+     * @param timestampSeconds Time to look up (FPGA time base)
+     * @param out Sample to write the result into
+     * @return true if out was written, false if the history does not cover the time
+     */
+    public boolean lookupPose(String logKey, double timestampSeconds, PoseHistory.Sample out) {
+        if (LoggingConstants.MODE != LoggingConstants.Mode.REPLAY) {
+            m_poseLookup.found = m_poseHistory.getPoseAt(timestampSeconds, out);
+            m_poseLookup.timestamp = out.getTimestamp();
+            m_poseLookup.x = out.getX();
+            m_poseLookup.y = out.getY();
+            m_poseLookup.heading = out.getHeading();
+            m_poseLookup.rawHeading = out.getRawHeading();
+            m_poseLookup.vx = out.getVx();
+            m_poseLookup.vy = out.getVy();
+            m_poseLookup.omega = out.getOmega();
+        }
+        Logger.processInputs(logKey, m_poseLookup);
+
+        out.set(m_poseLookup.timestamp, m_poseLookup.x, m_poseLookup.y, m_poseLookup.heading,
+            m_poseLookup.rawHeading, m_poseLookup.vx, m_poseLookup.vy, m_poseLookup.omega);
+        return m_poseLookup.found;
+    }
+
     /**
      * Returns a command that applies the specified control request to this swerve drivetrain.
      *
@@ -243,6 +509,13 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
 
     @Override
     public void periodic() {
+        long startNanos = System.nanoTime();
+
+        m_io.updateInputs(m_inputs);
+        Logger.processInputs("Drive", m_inputs);
+        applyTraction();
+        m_odometryTiming.update(Timer.getFPGATimestamp());
+
         /*
          * Periodically try to apply the operator perspective.
          * If we haven't applied the operator perspective before, then we should apply it regardless of DS state.
@@ -260,6 +533,8 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
                 m_hasAppliedOperatorPerspective = true;
             });
         }
+
+        m_profiler.record(m_profilerId, System.nanoTime() - startNanos);
     }
 
     private void startSimThread() {
@@ -267,6 +542,10 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
 
         /* Run simulation at a faster rate so PID gains behave more reasonably */
         m_simNotifier = new Notifier(() -> {
+            if (!m_simThreadRegistered) {
+                JvmMonitor.getInstance().registerCurrentThread("Simulation");
+                m_simThreadRegistered = true;
+            }
             final double currentTime = Utils.getCurrentTimeSeconds();
             double deltaTime = currentTime - m_lastSimTime;
             m_lastSimTime = currentTime;
@@ -310,4 +589,50 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
     ) {
         super.addVisionMeasurement(visionRobotPoseMeters, Utils.fpgaToCurrentTime(timestampSeconds), visionMeasurementStdDevs);
     }
+
+    /**
+     * Return the pose at a given timestamp, if the buffer is not empty.
+     *
+     * @param timestampSeconds The timestamp of the pose in seconds.
+     * @return The pose at the given timestamp (or Optional.empty() if the buffer is empty).
+     */
+    @Override
+    public Optional<Pose2d> samplePoseAt(double timestampSeconds) {
+        return super.samplePoseAt(Utils.fpgaToCurrentTime(timestampSeconds));
+    }
+
+    /**
+     * Adds a batch of vision pose observations to the Kalman Filter.
+     * <p>
+     * Observations must be sorted oldest first so the filter replays odometry
+     * history forward from each measurement. Each observation passes through the
+     * {@link VisionMeasurementGate}, which drops outliers and picks standard
+     * deviations for the rest based on tag count, distance, ambiguity,
+     * disagreement with the current estimate and robot speed.
+     *
+     * @param observations Vision pose observations, sorted by timestamp
+     * @param count Number of valid observations in the array
+     */
+    public void addVisionMeasurements(PoseObservation[] observations, int count) {
+        if (count == 0) {
+            return;
+        }
+
+        // Gate against the logged drive state, so replay gates the same way the robot did
+        double now = Timer.getFPGATimestamp();
+        for (int i = 0; i < count; i++) {
+            if (m_visionGate.evaluate(observations[i], m_inputs.pose, m_inputs.speeds, now, m_visionStdDevs)) {
+                addVisionMeasurement(observations[i].toPose2d(), observations[i].getTimestampSeconds(), m_visionStdDevs);
+            }
+        }
+        m_visionGate.publishStatistics();
+    }
+
+    /**
+     * Gets the vision measurement gate, for reading its statistics.
+     * @return The vision measurement gate
+     */
+    public VisionMeasurementGate getVisionGate() {
+        return m_visionGate;
+    }
 }
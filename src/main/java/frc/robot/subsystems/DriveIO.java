@@ -0,0 +1,73 @@
+package frc.robot.subsystems;
+
+import org.littletonrobotics.junction.AutoLog;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/**
+ * Hardware boundary for the drivetrain: the drive state the main loop reads each cycle.
+ *
+ * Inputs are logged every loop. In log replay the IO does nothing and the inputs are
+ * filled from the log instead. Main-loop code reads the drive state only through these
+ * inputs, never from the live Phoenix state, so replay sees what the robot saw.
+ */
+public interface DriveIO {
+    /**
+     * Drivetrain state as of the latest odometry update.
+     */
+    @AutoLog
+    class DriveIOInputs {
+        /** Estimated field pose */
+        public Pose2d pose = Pose2d.kZero;
+        /** Robot-relative chassis speeds */
+        public ChassisSpeeds speeds = new ChassisSpeeds();
+        /** Measured module states */
+        public SwerveModuleState[] moduleStates = new SwerveModuleState[0];
+        /** Requested module states */
+        public SwerveModuleState[] moduleTargets = new SwerveModuleState[0];
+        /** Module positions */
+        public SwerveModulePosition[] modulePositions = new SwerveModulePosition[0];
+        /** Raw gyro heading, not affected by pose resets */
+        public Rotation2d rawHeading = Rotation2d.kZero;
+        /** Time of the odometry update (FPGA time base, seconds) */
+        public double timestamp = 0.0;
+        /** Measured odometry thread period (seconds) */
+        public double odometryPeriod = 0.0;
+    }
+
+    /**
+     * Result of one pose history lookup made by main-loop code.
+     * The history is filled on the odometry thread, so each lookup is logged as an input.
+     */
+    @AutoLog
+    class PoseLookupInputs {
+        /** Whether the history covered the requested time */
+        public boolean found = false;
+        /** Time of the returned sample (FPGA time base, seconds) */
+        public double timestamp = 0.0;
+        /** Field X position (meters) */
+        public double x = 0.0;
+        /** Field Y position (meters) */
+        public double y = 0.0;
+        /** Field heading (radians) */
+        public double heading = 0.0;
+        /** Raw gyro heading, not affected by pose resets (radians) */
+        public double rawHeading = 0.0;
+        /** Forward speed, robot-relative (m/s) */
+        public double vx = 0.0;
+        /** Left speed, robot-relative (m/s) */
+        public double vy = 0.0;
+        /** Counterclockwise rotation rate (rad/s) */
+        public double omega = 0.0;
+    }
+
+    /**
+     * Updates the inputs with the latest drivetrain state.
+     * @param inputs Inputs to overwrite
+     */
+    default void updateInputs(DriveIOInputs inputs) {}
+}
@@ -0,0 +1,33 @@
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.Utils;
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+/**
+ * {@link DriveIO} backed by the Phoenix 6 swerve drivetrain's odometry thread.
+ */
+public class DriveIOPhoenix implements DriveIO {
+    private final CommandSwerveDrivetrain drivetrain;
+
+    /**
+     * Creates an IO layer reading the given drivetrain.
+     * @param drivetrain Drivetrain whose odometry state is read
+     */
+    public DriveIOPhoenix(CommandSwerveDrivetrain drivetrain) {
+        this.drivetrain = drivetrain;
+    }
+
+    @Override
+    public void updateInputs(DriveIOInputs inputs) {
+        // Copy, since the odometry thread keeps updating the live state
+        SwerveDriveState state = drivetrain.getStateCopy();
+        inputs.pose = state.Pose;
+        inputs.speeds = state.Speeds;
+        inputs.moduleStates = state.ModuleStates;
+        inputs.moduleTargets = state.ModuleTargets;
+        inputs.modulePositions = state.ModulePositions;
+        inputs.rawHeading = state.RawHeading;
+        inputs.timestamp = Utils.currentTimeToFPGATime(state.Timestamp);
+        inputs.odometryPeriod = state.OdometryPeriod;
+    }
+}
@@ -2,91 +2,331 @@ package frc.robot.subsystems;
 
 import java.util.Optional;
 
-import org.photonvision.PhotonCamera;
+import org.littletonrobotics.junction.Logger;
 import org.photonvision.targeting.PhotonPipelineResult;
 import org.photonvision.targeting.PhotonTrackedTarget;
 
-import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 
+import frc.robot.Constants.LoggingConstants;
+import frc.robot.Constants.VisionConstants;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.PublisherRegistry;
+import frc.robot.vision.CameraHealthMonitor;
+import frc.robot.vision.MultiCameraFrameReader;
+import frc.robot.vision.PoseObservationBatch;
+import frc.robot.vision.PoseObservationQueue;
+import frc.robot.vision.TagTrackTable;
+import frc.robot.vision.VisionCamera;
+import frc.robot.vision.VisionCameraConfig;
+import frc.robot.vision.VisionFrameBuffer;
+import frc.robot.vision.VisionFrameSource;
+import frc.robot.vision.VisionIO;
+import frc.robot.vision.VisionIOCamera;
+import frc.robot.vision.VisionMeasurementConsumer;
+import frc.robot.vision.VisionSnapshot;
+
 /**
  * Vision subsystem for AprilTag detection using PhotonVision.
  * Provides target detection and tracking for autonomous alignment.
+ *
+ * Manages any number of cameras. Each camera's frames are received and processed on
+ * that camera's own worker thread and stored in a ring buffer, so adding cameras does
+ * not add work to the main loop. Consumers that need every frame (not just the latest)
+ * can get their own merged, time-ordered reader with {@link #newFrameReader()}.
+ *
+ * Each worker also estimates a field pose from every frame. Poses from all cameras are
+ * handed to the {@link VisionMeasurementConsumer} once per loop, in timestamp order.
+ *
+ * The main loop only sees cameras through {@link VisionIO}. The frames each camera
+ * delivered, and the batch of pose observations fused in that loop, are logged with
+ * AdvantageKit every loop. In log replay there are no cameras or worker threads; the
+ * logged frames drive the same pipeline and the logged observations are fused, since a
+ * worker can deliver a frame's observation a loop after the frame itself.
+ *
+ * Best-target data is copied into a {@link VisionSnapshot} once per new frame, so the
+ * getters below are plain field reads. Every tag in every frame also updates the
+ * {@link TagTrackTable}, so commands can follow one specific tag by ID.
+ *
+ * Each camera has a {@link CameraHealthMonitor} that tracks frame rate and latency and
+ * reports the camera disconnected after a fixed time without frames.
+ *
+ * Recorded frame logs can be played back through the same pipeline with
+ * {@link #forReplay(VisionCameraConfig[], VisionFrameSource[])}.
  */
 public class VisionSubsystem extends SubsystemBase {
-    private final PhotonCamera camera;
+    private final VisionCameraConfig[] cameraConfigs;
+    private final VisionCamera[] cameras;
+    private final VisionIO[] ios;
+    private final VisionIO.VisionIOInputs[] inputs;
+    private final String[] inputKeys;
+    private final int[] frameCursors;
+    private long frameSequence = -1;
+    private final PoseObservationQueue observationQueue = new PoseObservationQueue(VisionConstants.OBSERVATION_BATCH_SIZE);
+    private final PoseObservationBatch observationBatch = new PoseObservationBatch(VisionConstants.OBSERVATION_BATCH_SIZE);
+    private VisionMeasurementConsumer measurementConsumer = null;
+    private final VisionSnapshot snapshot = new VisionSnapshot();
+    private final TagTrackTable trackTable = new TagTrackTable();
     private PhotonPipelineResult latestResult;
+    private PhotonPipelineResult targetResult;
+    private final PhotonPipelineResult[] latestResults;
+    private final CameraHealthMonitor[] healthMonitors;
+    private final boolean[] camerasConnected;
     private boolean cameraConnected = true;
-    private int disconnectCount = 0;
-    private static final int DISCONNECT_THRESHOLD = 50; // ~1 second at 50Hz
+    private final LoopProfiler profiler = LoopProfiler.getInstance();
+
+    /* Dashboard values, bound once */
+    private final PublisherRegistry dashboard = new PublisherRegistry("Vision");
+    private final PublisherRegistry.BooleanEntry connectedEntry = dashboard.addBoolean("Connected");
+    private final PublisherRegistry.BooleanEntry hasTargetsEntry = dashboard.addBoolean("HasTargets");
+    private final PublisherRegistry.IntegerEntry targetIdEntry = dashboard.addInteger("TargetID");
+    private final PublisherRegistry.DoubleEntry targetYawEntry = dashboard.addDouble("TargetYaw");
+    private final PublisherRegistry.DoubleEntry targetAreaEntry = dashboard.addDouble("TargetArea");
+    private final int profilerId = profiler.register(getName() + ".periodic()");
 
     /**
-     * Creates a new VisionSubsystem.
+     * Creates a new VisionSubsystem with a single camera at the default mounting position.
      * @param cameraName Name of the PhotonVision camera (configured in PhotonVision UI)
      */
     public VisionSubsystem(String cameraName) {
-        this.camera = new PhotonCamera(cameraName);
+        this(new VisionCameraConfig(cameraName, VisionConstants.ROBOT_TO_CAMERA));
+    }
+
+    /**
+     * Creates a new VisionSubsystem.
+     * @param cameraConfigs Name and mounting position of each camera
+     */
+    public VisionSubsystem(VisionCameraConfig... cameraConfigs) {
+        this(cameraConfigs, null);
+    }
+
+    /**
+     * Creates a VisionSubsystem that plays back recorded frames instead of live cameras.
+     * Replay frames are pulled at the start of each {@link #periodic()}, so results only
+     * depend on the log and the robot clock.
+     * @param cameraConfigs Name and mounting position of each recorded camera
+     * @param sources Frame source for each camera, in the same order
+     * @return A vision subsystem driven by the given sources
+     */
+    public static VisionSubsystem forReplay(VisionCameraConfig[] cameraConfigs, VisionFrameSource[] sources) {
+        if (sources.length != cameraConfigs.length) {
+            throw new IllegalArgumentException("Expected one replay source per camera");
+        }
+        return new VisionSubsystem(cameraConfigs, sources);
+    }
+
+    private VisionSubsystem(VisionCameraConfig[] cameraConfigs, VisionFrameSource[] replaySources) {
+        this.cameraConfigs = cameraConfigs;
         this.latestResult = new PhotonPipelineResult();
+        this.targetResult = latestResult;
+
+        // In log replay, frames come from the log; no cameras or worker threads are created
+        boolean logReplay = replaySources == null && LoggingConstants.MODE == LoggingConstants.Mode.REPLAY;
+
+        var fieldLayout = AprilTagFieldLayout.loadField(VisionConstants.FIELD_LAYOUT);
+        cameras = new VisionCamera[logReplay ? 0 : cameraConfigs.length];
+        ios = new VisionIO[cameraConfigs.length];
+        inputs = new VisionIO.VisionIOInputs[cameraConfigs.length];
+        inputKeys = new String[cameraConfigs.length];
+        frameCursors = new int[cameraConfigs.length];
+        latestResults = new PhotonPipelineResult[cameraConfigs.length];
+        healthMonitors = new CameraHealthMonitor[cameraConfigs.length];
+        camerasConnected = new boolean[cameraConfigs.length];
+        double now = Timer.getFPGATimestamp();
+        for (int i = 0; i < cameraConfigs.length; i++) {
+            if (logReplay) {
+                ios[i] = new VisionIO() {};
+            } else {
+                cameras[i] = replaySources == null
+                    ? new VisionCamera(i, cameraConfigs[i], fieldLayout, observationQueue)
+                    : new VisionCamera(i, cameraConfigs[i], replaySources[i], fieldLayout, observationQueue);
+                ios[i] = new VisionIOCamera(cameras[i]);
+            }
+            inputs[i] = new VisionIO.VisionIOInputs();
+            inputKeys[i] = "Vision/Camera/" + cameraConfigs[i].getName();
+            latestResults[i] = latestResult;
+            healthMonitors[i] = new CameraHealthMonitor(cameraConfigs[i].getName(), now);
+            camerasConnected[i] = true;
+        }
     }
 
     @Override
     public void periodic() {
-        try {
-            // Update latest camera result every loop
-            var results = camera.getAllUnreadResults();
-            if (!results.isEmpty()) {
-                // Get the most recent result
-                latestResult = results.get(results.size() - 1);
-                cameraConnected = true;
-                disconnectCount = 0;
-            } else {
-                // No new results, increment disconnect counter
-                disconnectCount++;
-                if (disconnectCount > DISCONNECT_THRESHOLD) {
-                    cameraConnected = false;
-                }
+        long startNanos = System.nanoTime();
+
+        // Read (or, in log replay, load) the frames each camera delivered since the last loop
+        for (int i = 0; i < ios.length; i++) {
+            ios[i].updateInputs(inputs[i]);
+            Logger.processInputs(inputKeys[i], inputs[i]);
+            frameCursors[i] = 0;
+        }
+
+        // Process new frames from all cameras in capture-time order
+        boolean receivedFrame = false;
+        int camera;
+        while ((camera = nextFrameCamera()) >= 0) {
+            int frame = frameCursors[camera]++;
+            double timestamp = inputs[camera].getTimestampSeconds(frame);
+            latestResult = inputs[camera].getFrame(frame);
+            latestResults[camera] = latestResult;
+            trackTable.update(latestResult, timestamp, camera);
+            healthMonitors[camera].recordFrame(timestamp, inputs[camera].getReceiveTimestampSeconds(frame));
+            frameSequence++;
+            receivedFrame = true;
+        }
+
+        // A camera is disconnected once it has gone too long without a frame
+        double now = Timer.getFPGATimestamp();
+        boolean wasConnected = cameraConnected;
+        boolean connectionChanged = false;
+        cameraConnected = false;
+        for (int i = 0; i < ios.length; i++) {
+            boolean cameraWasConnected = camerasConnected[i];
+            if (inputs[i].hasError()) {
+                // Camera operation failed on the worker thread
+                healthMonitors[i].recordError();
+            }
+            healthMonitors[i].update(now);
+            camerasConnected[i] = healthMonitors[i].isConnected();
+            connectionChanged |= cameraWasConnected != camerasConnected[i];
+            cameraConnected |= camerasConnected[i];
+        }
+        connectionChanged |= wasConnected != cameraConnected;
+
+        // Refresh the best-target snapshot only when something changed
+        if (receivedFrame || connectionChanged) {
+            targetResult = selectTargetResult();
+            snapshot.update(targetResult, frameSequence, cameraConnected);
+        }
+
+        // Hand pose estimates from all cameras to the drivetrain, oldest first.
+        // The batch is an input: in log replay the queue stays empty and the logged batch is used.
+        observationBatch.drainFrom(observationQueue);
+        Logger.processInputs("Vision/Observations", observationBatch);
+        int observationCount = observationBatch.getCount();
+        if (observationCount > 0 && measurementConsumer != null) {
+            measurementConsumer.accept(observationBatch.getObservations(), observationCount);
+        }
+
+        // Dashboard values are published in one batch at the end of the loop
+        connectedEntry.set(cameraConnected);
+        hasTargetsEntry.set(hasTargets());
+        targetIdEntry.set(getTargetID());
+        targetYawEntry.set(getTargetYaw());
+        targetAreaEntry.set(getTargetArea());
+
+        profiler.record(profilerId, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Finds the camera whose next unprocessed frame is oldest.
+     * @return Camera index, or -1 once every new frame has been processed
+     */
+    private int nextFrameCamera() {
+        int oldest = -1;
+        for (int i = 0; i < inputs.length; i++) {
+            if (frameCursors[i] < inputs[i].getFrameCount()
+                && (oldest < 0 || inputs[i].getTimestampSeconds(frameCursors[i])
+                    < inputs[oldest].getTimestampSeconds(frameCursors[oldest]))) {
+                oldest = i;
             }
-        } catch (Exception e) {
-            // Camera operation failed
-            DriverStation.reportError("Vision camera error: " + e.getMessage(), false);
-            cameraConnected = false;
-            disconnectCount = DISCONNECT_THRESHOLD;
         }
+        return oldest;
+    }
 
-        // Publish telemetry
-        SmartDashboard.putBoolean("Vision/Connected", cameraConnected);
-        SmartDashboard.putBoolean("Vision/HasTargets", hasTargets());
-        SmartDashboard.putNumber("Vision/TargetID", getTargetID());
-        SmartDashboard.putNumber("Vision/TargetYaw", getTargetYaw());
-        SmartDashboard.putNumber("Vision/TargetArea", getTargetArea());
+    /**
+     * Picks the frame to take the best target from.
+     * Uses the connected camera whose latest frame has the largest best target,
+     * or the newest frame overall when no connected camera sees a target.
+     */
+    private PhotonPipelineResult selectTargetResult() {
+        PhotonPipelineResult selected = latestResult;
+        double largestArea = -1.0;
+        for (int i = 0; i < latestResults.length; i++) {
+            PhotonPipelineResult result = latestResults[i];
+            if (camerasConnected[i] && result.hasTargets() && result.getBestTarget().getArea() > largestArea) {
+                largestArea = result.getBestTarget().getArea();
+                selected = result;
+            }
+        }
+        return selected;
     }
 
     /**
-     * Checks if the camera is connected and responding.
-     * @return true if camera is connected
+     * Checks if any camera is connected and responding.
+     * @return true if at least one camera is connected
      */
     public boolean isCameraConnected() {
         return cameraConnected;
     }
 
+    /**
+     * Checks if a specific camera is connected and responding.
+     * @param cameraIndex Index of the camera in the configuration list
+     * @return true if that camera is connected
+     */
+    public boolean isCameraConnected(int cameraIndex) {
+        return camerasConnected[cameraIndex];
+    }
+
+    /**
+     * Gets the name and mounting position of a camera.
+     * @param cameraIndex Index of the camera in the configuration list
+     * @return The camera's configuration
+     */
+    public VisionCameraConfig getCameraConfig(int cameraIndex) {
+        return cameraConfigs[cameraIndex];
+    }
+
+    /**
+     * Gets the health and latency statistics for a camera.
+     * @param cameraIndex Index of the camera in the configuration list
+     * @return The camera's health monitor
+     */
+    public CameraHealthMonitor getHealthMonitor(int cameraIndex) {
+        return healthMonitors[cameraIndex];
+    }
+
+    /**
+     * Records that a drive command was just sent based on a vision frame,
+     * for capture-to-control latency statistics.
+     * @param cameraIndex Index of the camera that produced the frame (ignored if out of range)
+     * @param captureTimestampSeconds Capture time of the frame (FPGA time base)
+     */
+    public void recordControlApplied(int cameraIndex, double captureTimestampSeconds) {
+        if (cameraIndex >= 0 && cameraIndex < healthMonitors.length) {
+            healthMonitors[cameraIndex].recordControl(captureTimestampSeconds, Timer.getFPGATimestamp());
+        }
+    }
+
+    /**
+     * Gets the number of cameras managed by this subsystem.
+     * @return Camera count
+     */
+    public int getCameraCount() {
+        return cameraConfigs.length;
+    }
+
     /**
      * Checks if any AprilTag targets are currently visible.
      * @return true if at least one target is detected
      */
     public boolean hasTargets() {
-        return latestResult.hasTargets();
+        return snapshot.hasTargets();
     }
 
     /**
      * Gets the best (closest/largest) detected AprilTag target.
+     * Allocates; per-loop code should read {@link #getSnapshot()} instead.
      * @return Optional containing the best target, or empty if no targets visible
      */
     public Optional<PhotonTrackedTarget> getBestTarget() {
         if (!hasTargets() || !cameraConnected) {
             return Optional.empty();
         }
-        return Optional.ofNullable(latestResult.getBestTarget());
+        return Optional.ofNullable(targetResult.getBestTarget());
     }
 
     /**
@@ -95,9 +335,7 @@ public class VisionSubsystem extends SubsystemBase {
      * @return Yaw angle in degrees, or 0.0 if no target
      */
     public double getTargetYaw() {
-        return getBestTarget()
-            .map(PhotonTrackedTarget::getYaw)
-            .orElse(0.0);
+        return snapshot.getYaw();
     }
 
     /**
@@ -106,9 +344,7 @@ public class VisionSubsystem extends SubsystemBase {
      * @return Pitch angle in degrees, or 0.0 if no target
      */
     public double getTargetPitch() {
-        return getBestTarget()
-            .map(PhotonTrackedTarget::getPitch)
-            .orElse(0.0);
+        return snapshot.getPitch();
     }
 
     /**
@@ -117,9 +353,7 @@ public class VisionSubsystem extends SubsystemBase {
      * @return Target area percentage, or 0.0 if no target
      */
     public double getTargetArea() {
-        return getBestTarget()
-            .map(PhotonTrackedTarget::getArea)
-            .orElse(0.0);
+        return snapshot.getArea();
     }
 
     /**
@@ -127,17 +361,70 @@ public class VisionSubsystem extends SubsystemBase {
      * @return AprilTag ID, or -1 if no target
      */
     public int getTargetID() {
-        return getBestTarget()
-            .map(PhotonTrackedTarget::getFiducialId)
-            .orElse(-1);
+        return snapshot.getTargetId();
     }
 
     /**
-     * Gets the latest pipeline result.
+     * Gets the best-target snapshot for the latest frame.
+     * The returned object is updated in place each loop; read it, don't store it.
+     * @return The shared vision snapshot
+     */
+    public VisionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets the per-tag track table, updated with every tag in every frame.
+     * Read from the main robot thread only.
+     * @return The shared track table
+     */
+    public TagTrackTable getTrackTable() {
+        return trackTable;
+    }
+
+    /**
+     * Gets the latest pipeline result from any camera.
      * Useful for accessing full result data including pose estimates.
      * @return The most recent PhotonPipelineResult
      */
     public PhotonPipelineResult getLatestResult() {
         return latestResult;
     }
+
+    /**
+     * Creates an independent reader over every frame received from all cameras,
+     * merged in capture-time order.
+     * Each consumer must use its own reader, and only from a single thread.
+     * In log replay there are no camera buffers, so the reader never returns a frame.
+     * @return A reader that sees all frames received from now on
+     */
+    public MultiCameraFrameReader newFrameReader() {
+        var readers = new VisionFrameBuffer.Reader[cameras.length];
+        for (int i = 0; i < cameras.length; i++) {
+            readers[i] = cameras[i].newReader();
+        }
+        return new MultiCameraFrameReader(readers);
+    }
+
+    /**
+     * Sets where vision pose observations are sent each loop.
+     * Typically the drivetrain's pose estimator.
+     * @param consumer Consumer for batches of pose observations
+     */
+    public void setMeasurementConsumer(VisionMeasurementConsumer consumer) {
+        this.measurementConsumer = consumer;
+    }
+
+    /**
+     * Stops the camera worker threads and unpublishes dashboard values.
+     */
+    public void close() {
+        for (VisionCamera camera : cameras) {
+            camera.close();
+        }
+        for (CameraHealthMonitor monitor : healthMonitors) {
+            monitor.close();
+        }
+        dashboard.close();
+    }
 }
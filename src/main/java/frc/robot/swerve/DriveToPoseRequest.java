@@ -0,0 +1,238 @@
+package frc.robot.swerve;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveControlParameters;
+import com.ctre.phoenix6.swerve.SwerveModule;
+import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
+import com.ctre.phoenix6.swerve.SwerveRequest;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+
+import frc.robot.Constants.VisionConstants;
+
+/**
+ * Swerve request that drives to a field position and turns to a heading or aims at a point.
+ *
+ * The command only sets the goal. The control output is computed in {@link #apply} on the
+ * drivetrain's odometry thread from the latest fused pose, at the full odometry rate (up
+ * to 250 Hz) instead of the 50 Hz scheduler rate. While aiming, the heading target is
+ * recomputed every cycle as the robot moves.
+ *
+ * Goals may be changed from any thread. Each goal is swapped in as one immutable object,
+ * so the control loop never sees half of an update.
+ */
+public class DriveToPoseRequest implements SwerveRequest {
+    /* Immutable goal, replaced as a whole */
+    private static final class Goal {
+        final boolean hasPosition;
+        final double x;
+        final double y;
+        final boolean aiming;
+        final double heading;
+        final double aimX;
+        final double aimY;
+
+        Goal(boolean hasPosition, double x, double y, boolean aiming, double heading, double aimX, double aimY) {
+            this.hasPosition = hasPosition;
+            this.x = x;
+            this.y = y;
+            this.aiming = aiming;
+            this.heading = heading;
+            this.aimX = aimX;
+            this.aimY = aimY;
+        }
+    }
+
+    private volatile Goal goal = null;
+
+    /* Errors from the last control cycle, read by commands */
+    private volatile double distanceError = Double.NaN;
+    private volatile double headingErrorDegrees = Double.NaN;
+
+    /* Field-relative output of the last control cycle */
+    private volatile double velocityX = 0.0;
+    private volatile double velocityY = 0.0;
+    private volatile double rotationalRate = 0.0;
+
+    /* Field-relative output; the pose estimate is always in blue-alliance coordinates */
+    private final SwerveRequest.FieldCentric output = new SwerveRequest.FieldCentric()
+        .withDriveRequestType(DriveRequestType.OpenLoopVoltage)
+        .withForwardPerspective(SwerveRequest.ForwardPerspectiveValue.BlueAlliance);
+
+    /**
+     * Drives to a pose and holds its heading.
+     * @param pose Goal pose on the field
+     * @return this request
+     */
+    public DriveToPoseRequest withPose(Pose2d pose) {
+        goal = new Goal(true, pose.getX(), pose.getY(), false, pose.getRotation().getRadians(), 0.0, 0.0);
+        return this;
+    }
+
+    /**
+     * Drives to a position while facing a point on the field.
+     * @param position Goal position on the field, or null to turn in place
+     * @param aimPoint Point on the field to face
+     * @return this request
+     */
+    public DriveToPoseRequest withAim(Translation2d position, Translation2d aimPoint) {
+        goal = new Goal(
+            position != null,
+            position != null ? position.getX() : 0.0,
+            position != null ? position.getY() : 0.0,
+            true,
+            0.0,
+            aimPoint.getX(),
+            aimPoint.getY()
+        );
+        return this;
+    }
+
+    /**
+     * Removes the goal. The robot holds still until a new goal is set.
+     * @return this request
+     */
+    public DriveToPoseRequest clearGoal() {
+        goal = null;
+        distanceError = Double.NaN;
+        headingErrorDegrees = Double.NaN;
+        return this;
+    }
+
+    /**
+     * Checks whether a goal is set.
+     * @return true if the request is driving to a goal
+     */
+    public boolean hasGoal() {
+        return goal != null;
+    }
+
+    /**
+     * Checks whether the last control cycle was within tolerance of the goal.
+     * @return true if both position and heading are within tolerance
+     */
+    public boolean isAtGoal() {
+        double distance = distanceError;
+        double heading = headingErrorDegrees;
+        return goal != null
+            && distance <= VisionConstants.POSITION_TOLERANCE
+            && Math.abs(heading) < VisionConstants.ANGLE_TOLERANCE;
+    }
+
+    /**
+     * Checks whether a pose is within tolerance of the goal.
+     * Commands pass the logged drive inputs here instead of reading the last control
+     * cycle, so the check gives the same answer in log replay.
+     * @param pose Pose to check
+     * @return true if both position and heading are within tolerance
+     */
+    public boolean isAtGoal(Pose2d pose) {
+        Goal target = goal;
+        if (target == null) {
+            return false;
+        }
+        double headingError = Math.toDegrees(
+            MathUtil.angleModulus(targetHeading(target, pose) - pose.getRotation().getRadians()));
+        double distance = target.hasPosition ? Math.hypot(target.x - pose.getX(), target.y - pose.getY()) : 0.0;
+        return distance <= VisionConstants.POSITION_TOLERANCE
+            && Math.abs(headingError) < VisionConstants.ANGLE_TOLERANCE;
+    }
+
+    /** @return Distance to the goal position at the last control cycle (meters), or NaN without a goal */
+    public double getDistanceError() {
+        return distanceError;
+    }
+
+    /** @return Heading error at the last control cycle (degrees, CCW positive), or NaN without a goal */
+    public double getHeadingErrorDegrees() {
+        return headingErrorDegrees;
+    }
+
+    /** @return Field-relative X velocity commanded at the last control cycle (m/s) */
+    public double getVelocityX() {
+        return velocityX;
+    }
+
+    /** @return Field-relative Y velocity commanded at the last control cycle (m/s) */
+    public double getVelocityY() {
+        return velocityY;
+    }
+
+    /** @return Rotation rate commanded at the last control cycle (rad/s, CCW positive) */
+    public double getRotationalRate() {
+        return rotationalRate;
+    }
+
+    @Override
+    public StatusCode apply(SwerveControlParameters parameters, SwerveModule<?, ?, ?>... modulesToApply) {
+        Goal target = goal;
+        if (target == null) {
+            velocityX = 0.0;
+            velocityY = 0.0;
+            rotationalRate = 0.0;
+            return output.withVelocityX(0).withVelocityY(0).withRotationalRate(0).apply(parameters, modulesToApply);
+        }
+
+        Pose2d pose = parameters.currentPose;
+        double headingError = Math.toDegrees(
+            MathUtil.angleModulus(targetHeading(target, pose) - pose.getRotation().getRadians()));
+        double rotationSpeed = computeRotationSpeed(headingError);
+
+        double dx = target.hasPosition ? target.x - pose.getX() : 0.0;
+        double dy = target.hasPosition ? target.y - pose.getY() : 0.0;
+        double distance = Math.hypot(dx, dy);
+        double driveSpeed = computeDriveSpeed(distance, headingError);
+
+        distanceError = distance;
+        headingErrorDegrees = headingError;
+
+        double vx = distance > 0.0 ? dx / distance * driveSpeed : 0.0;
+        double vy = distance > 0.0 ? dy / distance * driveSpeed : 0.0;
+        velocityX = vx;
+        velocityY = vy;
+        rotationalRate = rotationSpeed;
+        return output.withVelocityX(vx).withVelocityY(vy).withRotationalRate(rotationSpeed).apply(parameters, modulesToApply);
+    }
+
+    /* Heading to hold, or the heading that faces the aim point from the given pose */
+    private static double targetHeading(Goal target, Pose2d pose) {
+        return target.aiming
+            ? Math.atan2(target.aimY - pose.getY(), target.aimX - pose.getX())
+            : target.heading;
+    }
+
+    /**
+     * Calculates the rotation speed toward the heading target.
+     * @param headingError Heading error in degrees, CCW positive
+     * @return Rotation speed in rad/s
+     */
+    private static double computeRotationSpeed(double headingError) {
+        double rotation = headingError * VisionConstants.ROTATION_P;
+        if (Math.abs(headingError) > VisionConstants.ANGLE_TOLERANCE
+            && Math.abs(rotation) < VisionConstants.MIN_ROTATION_SPEED) {
+            rotation = Math.copySign(VisionConstants.MIN_ROTATION_SPEED, rotation);
+        }
+        return MathUtil.clamp(rotation, -VisionConstants.MAX_ROTATION_SPEED, VisionConstants.MAX_ROTATION_SPEED);
+    }
+
+    /**
+     * Calculates the drive speed toward the goal position.
+     * Drives only once roughly facing the target, and slows so it can stop at the goal.
+     * @param distance Distance to the goal position in meters
+     * @param headingError Heading error in degrees
+     * @return Drive speed in m/s (always toward the goal)
+     */
+    private static double computeDriveSpeed(double distance, double headingError) {
+        if (Math.abs(headingError) > VisionConstants.MAX_YAW_ERROR_FOR_DRIVE
+            || distance <= VisionConstants.POSITION_TOLERANCE) {
+            return 0.0; // Rotate first, then drive
+        }
+        double speed = Math.min(
+            distance * VisionConstants.DRIVE_P,
+            Math.sqrt(2.0 * VisionConstants.MAX_DRIVE_ACCELERATION * distance)
+        );
+        return MathUtil.clamp(speed, VisionConstants.MIN_DRIVE_SPEED, VisionConstants.MAX_DRIVE_SPEED);
+    }
+}
@@ -0,0 +1,186 @@
+package frc.robot.swerve;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveControlParameters;
+import com.ctre.phoenix6.swerve.SwerveModule;
+import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
+import com.ctre.phoenix6.swerve.SwerveModule.SteerRequestType;
+import com.ctre.phoenix6.swerve.SwerveModuleConstants;
+import com.ctre.phoenix6.swerve.SwerveRequest;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+import frc.robot.Constants.DriveConstants;
+
+/**
+ * Field-centric drive request that only commands what the drivetrain can physically do.
+ *
+ * The command sets the requested field-centric speeds. In {@link #apply}, on the
+ * drivetrain's odometry thread, a {@link SwerveSetpointGenerator} moves the module
+ * setpoints toward the request every control cycle, limited by module speed, wheel
+ * acceleration and steer rate. The acceleration limit is the lower of the driver limit
+ * ({@link DriveConstants#MAX_MODULE_ACCELERATION}) and the traction limit, the acceleration
+ * at which the drive motors reach their slip current ({@link #computeTractionLimit}). The robot accelerates as hard as the wheels can grip in any
+ * direction, instead of each joystick axis being held to one fixed slew rate.
+ *
+ * When the request has not been applied for {@link DriveConstants#SETPOINT_RESET_TIMEOUT},
+ * e.g. after another request or while disabled, the generator restarts from the measured
+ * module states.
+ */
+public class LimitedFieldCentricRequest implements SwerveRequest {
+    private volatile double velocityX = 0.0;
+    private volatile double velocityY = 0.0;
+    private volatile double rotationalRate = 0.0;
+    private double deadband = 0.0;
+    private double rotationalDeadband = 0.0;
+    private final double maxModuleSpeed;
+    private final double maxModuleAcceleration;
+
+    /* Control-thread state */
+    private SwerveSetpointGenerator generator = null;
+    private SwerveModuleState[] moduleStates = null;
+    private double[] moduleAngles = null;
+    private double lastApplied = Double.NEGATIVE_INFINITY;
+    private final SwerveModule.ModuleRequest moduleRequest = new SwerveModule.ModuleRequest()
+        .withDriveRequest(DriveRequestType.OpenLoopVoltage)
+        .withSteerRequest(SteerRequestType.MotionMagicExpo);
+
+    /**
+     * Creates a request with no motion requested.
+     * @param maxModuleSpeed Fastest any wheel may be commanded (m/s)
+     * @param tractionLimit Wheel acceleration at which the drive motors reach their slip current (m/s^2)
+     */
+    public LimitedFieldCentricRequest(double maxModuleSpeed, double tractionLimit) {
+        this.maxModuleSpeed = maxModuleSpeed;
+        this.maxModuleAcceleration = Math.min(DriveConstants.MAX_MODULE_ACCELERATION, tractionLimit);
+    }
+
+    /**
+     * Computes how fast a wheel can accelerate its share of the robot before its drive motor
+     * reaches the slip current. The slip current times the motor torque constant and gear
+     * ratio, over the wheel radius, is the wheel's force on the ground; each wheel moves an
+     * equal share of {@link DriveConstants#ROBOT_MASS}.
+     * @param module Constants of one drive module (slip current, gear ratio, wheel radius)
+     * @param moduleCount Number of modules carrying the robot
+     * @return Traction-limited wheel acceleration (m/s^2)
+     */
+    public static double computeTractionLimit(SwerveModuleConstants<?, ?, ?> module, int moduleCount) {
+        double wheelForce = module.SlipCurrent * DriveConstants.DRIVE_MOTOR_TORQUE_CONSTANT
+            * module.DriveMotorGearRatio / module.WheelRadius;
+        return wheelForce * moduleCount / DriveConstants.ROBOT_MASS;
+    }
+
+    /** @return Wheel acceleration limit in use: the lower of the driver and traction limits (m/s^2) */
+    public double getMaxModuleAcceleration() {
+        return maxModuleAcceleration;
+    }
+
+    /**
+     * Sets the requested forward speed, relative to the operator's forward direction.
+     * @param velocityX Forward speed (m/s)
+     * @return this request
+     */
+    public LimitedFieldCentricRequest withVelocityX(double velocityX) {
+        this.velocityX = velocityX;
+        return this;
+    }
+
+    /**
+     * Sets the requested left speed, relative to the operator's forward direction.
+     * @param velocityY Left speed (m/s)
+     * @return this request
+     */
+    public LimitedFieldCentricRequest withVelocityY(double velocityY) {
+        this.velocityY = velocityY;
+        return this;
+    }
+
+    /**
+     * Sets the requested rotation rate.
+     * @param rotationalRate Counterclockwise rotation rate (rad/s)
+     * @return this request
+     */
+    public LimitedFieldCentricRequest withRotationalRate(double rotationalRate) {
+        this.rotationalRate = rotationalRate;
+        return this;
+    }
+
+    /**
+     * Sets the translation speed below which the request is treated as zero.
+     * @param deadband Deadband (m/s)
+     * @return this request
+     */
+    public LimitedFieldCentricRequest withDeadband(double deadband) {
+        this.deadband = deadband;
+        return this;
+    }
+
+    /**
+     * Sets the rotation rate below which the request is treated as zero.
+     * @param rotationalDeadband Deadband (rad/s)
+     * @return this request
+     */
+    public LimitedFieldCentricRequest withRotationalDeadband(double rotationalDeadband) {
+        this.rotationalDeadband = rotationalDeadband;
+        return this;
+    }
+
+    @Override
+    public StatusCode apply(SwerveControlParameters parameters, SwerveModule<?, ?, ?>... modulesToApply) {
+        if (generator == null) {
+            generator = new SwerveSetpointGenerator(
+                parameters.moduleLocations,
+                maxModuleSpeed,
+                maxModuleAcceleration,
+                DriveConstants.MAX_STEER_VELOCITY * 2 * Math.PI
+            );
+            moduleStates = new SwerveModuleState[modulesToApply.length];
+            moduleAngles = new double[modulesToApply.length];
+            for (int i = 0; i < moduleStates.length; i++) {
+                moduleStates[i] = new SwerveModuleState();
+            }
+        }
+        if (parameters.timestamp - lastApplied > DriveConstants.SETPOINT_RESET_TIMEOUT) {
+            for (int i = 0; i < modulesToApply.length; i++) {
+                SwerveModuleState current = modulesToApply[i].getCurrentState();
+                moduleStates[i].speedMetersPerSecond = current.speedMetersPerSecond;
+                moduleStates[i].angle = current.angle;
+                moduleAngles[i] = current.angle.getRadians();
+            }
+            generator.reset(moduleStates);
+        }
+        lastApplied = parameters.timestamp;
+
+        double vx = velocityX;
+        double vy = velocityY;
+        double omega = rotationalRate;
+        if (Math.hypot(vx, vy) < deadband) {
+            vx = 0.0;
+            vy = 0.0;
+        }
+        if (Math.abs(omega) < rotationalDeadband) {
+            omega = 0.0;
+        }
+
+        // Field-centric to robot-centric, relative to the operator's forward direction
+        double heading = parameters.currentPose.getRotation().getRadians()
+            - parameters.operatorForwardDirection.getRadians();
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        generator.generate(vx * cos + vy * sin, -vx * sin + vy * cos, omega, parameters.updatePeriod);
+
+        moduleRequest.withUpdatePeriod(parameters.updatePeriod);
+        for (int i = 0; i < modulesToApply.length; i++) {
+            moduleStates[i].speedMetersPerSecond = generator.getModuleSpeed(i);
+            // Rotation2d is immutable, so only replace it when the setpoint angle moves
+            double angle = generator.getModuleAngle(i);
+            if (angle != moduleAngles[i]) {
+                moduleAngles[i] = angle;
+                moduleStates[i].angle = new Rotation2d(angle);
+            }
+            modulesToApply[i].apply(moduleRequest.withState(moduleStates[i]));
+        }
+        return StatusCode.OK;
+    }
+}
@@ -0,0 +1,214 @@
+package frc.robot.swerve;
+
+import edu.wpi.first.wpilibj.Alert;
+import edu.wpi.first.wpilibj.Alert.AlertType;
+
+import frc.robot.Constants.OdometryTimingConstants;
+import frc.robot.util.Histogram;
+import frc.robot.util.PublisherRegistry;
+
+/**
+ * Measures whether the odometry thread keeps the rate it was asked for.
+ *
+ * Every odometry update records three things:
+ * - period: the time since the previous update
+ * - jitter: how far that period is from the requested one
+ * - freshness: how old the update's CAN timestamp already is when the update is handled
+ * A period longer than {@link OdometryTimingConstants#MISSED_THRESHOLD} requested periods
+ * counts the skipped updates as missed. A shorter period that is still past
+ * {@link OdometryTimingConstants#LATE_TOLERANCE} counts as late.
+ *
+ * Every {@link OdometryTimingConstants#PUBLISH_PERIOD}, p50/p99/max of each histogram,
+ * the achieved and requested rates, and the missed and late counts are published under
+ * "Odometry/" with the next {@link PublisherRegistry} flush. The histograms then restart.
+ * An alert is raised while the achieved rate is below
+ * {@link OdometryTimingConstants#RATE_ALERT_FRACTION} of the requested rate.
+ *
+ * {@link #record} runs on the odometry thread and {@link #update} on the main loop. They
+ * share a lock that is held only briefly, once per publish.
+ */
+public class OdometryTimingMonitor {
+    private final double requestedFrequency;
+    private final double requestedPeriod;
+
+    /* Current window, written by the odometry thread */
+    private final Histogram periodMs = new Histogram(
+        OdometryTimingConstants.HISTOGRAM_BIN_WIDTH, OdometryTimingConstants.HISTOGRAM_BINS);
+    private final Histogram jitterMs = new Histogram(
+        OdometryTimingConstants.HISTOGRAM_BIN_WIDTH, OdometryTimingConstants.HISTOGRAM_BINS);
+    private final Histogram freshnessMs = new Histogram(
+        OdometryTimingConstants.HISTOGRAM_BIN_WIDTH, OdometryTimingConstants.HISTOGRAM_BINS);
+    private double windowFirstTimestamp = Double.NaN;
+    private double windowLastTimestamp = Double.NaN;
+    private long windowUpdates = 0;
+    private long missedUpdates = 0;
+    private long lateUpdates = 0;
+
+    /* Results of the last published window, read by the main loop */
+    private double achievedFrequency = 0.0;
+    private double periodP50 = 0.0;
+    private double periodP99 = 0.0;
+    private double periodMax = 0.0;
+    private double jitterP99 = 0.0;
+    private double freshnessP99 = 0.0;
+    private double nextPublishTime = Double.NEGATIVE_INFINITY;
+
+    private final PublisherRegistry dashboard = PublisherRegistry.forTable("Odometry");
+    private final PublisherRegistry.DoubleEntry requestedHzEntry = dashboard.addDouble("RequestedHz");
+    private final PublisherRegistry.DoubleEntry achievedHzEntry = dashboard.addDouble("AchievedHz");
+    private final PublisherRegistry.DoubleEntry periodP50Entry = dashboard.addDouble("Period/P50Ms");
+    private final PublisherRegistry.DoubleEntry periodP99Entry = dashboard.addDouble("Period/P99Ms");
+    private final PublisherRegistry.DoubleEntry periodMaxEntry = dashboard.addDouble("Period/MaxMs");
+    private final PublisherRegistry.DoubleEntry jitterP50Entry = dashboard.addDouble("Jitter/P50Ms");
+    private final PublisherRegistry.DoubleEntry jitterP99Entry = dashboard.addDouble("Jitter/P99Ms");
+    private final PublisherRegistry.DoubleEntry jitterMaxEntry = dashboard.addDouble("Jitter/MaxMs");
+    private final PublisherRegistry.DoubleEntry freshnessP50Entry = dashboard.addDouble("Freshness/P50Ms");
+    private final PublisherRegistry.DoubleEntry freshnessP99Entry = dashboard.addDouble("Freshness/P99Ms");
+    private final PublisherRegistry.DoubleEntry freshnessMaxEntry = dashboard.addDouble("Freshness/MaxMs");
+    private final PublisherRegistry.IntegerEntry missedEntry = dashboard.addInteger("MissedUpdates");
+    private final PublisherRegistry.IntegerEntry lateEntry = dashboard.addInteger("LateUpdates");
+
+    private final Alert rateAlert = new Alert("Odometry below requested rate", AlertType.kWarning);
+
+    /**
+     * Creates a monitor for an odometry thread.
+     * @param requestedFrequency Odometry rate the drivetrain was asked to run at (Hz)
+     */
+    public OdometryTimingMonitor(double requestedFrequency) {
+        this.requestedFrequency = requestedFrequency;
+        this.requestedPeriod = 1.0 / requestedFrequency;
+        requestedHzEntry.set(requestedFrequency);
+    }
+
+    /**
+     * Records one odometry update. Called on the odometry thread; does not allocate.
+     * @param periodSeconds Time since the previous update, as measured by the drivetrain
+     * @param timestampSeconds Timestamp of the update's measurements
+     * @param nowSeconds Time the update is being handled, in the same time base
+     */
+    public synchronized void record(double periodSeconds, double timestampSeconds, double nowSeconds) {
+        if (Double.isNaN(windowFirstTimestamp)) {
+            windowFirstTimestamp = timestampSeconds;
+        }
+        windowLastTimestamp = timestampSeconds;
+        windowUpdates++;
+
+        freshnessMs.record((nowSeconds - timestampSeconds) * 1000);
+        if (periodSeconds <= 0.0) {
+            return;
+        }
+        periodMs.record(periodSeconds * 1000);
+        jitterMs.record(Math.abs(periodSeconds - requestedPeriod) * 1000);
+
+        double periods = periodSeconds / requestedPeriod;
+        if (periods >= OdometryTimingConstants.MISSED_THRESHOLD) {
+            missedUpdates += Math.round(periods) - 1;
+        } else if (periods > 1.0 + OdometryTimingConstants.LATE_TOLERANCE) {
+            lateUpdates++;
+        }
+    }
+
+    /**
+     * Publishes the window and starts a new one every publish period. Call from the main loop.
+     * @param nowSeconds Current time
+     */
+    public void update(double nowSeconds) {
+        if (nowSeconds < nextPublishTime) {
+            return;
+        }
+        nextPublishTime = nowSeconds + OdometryTimingConstants.PUBLISH_PERIOD;
+
+        long missed;
+        long late;
+        synchronized (this) {
+            achievedFrequency = windowUpdates > 1
+                ? (windowUpdates - 1) / (windowLastTimestamp - windowFirstTimestamp)
+                : 0.0;
+            periodP50 = periodMs.getPercentile(0.5);
+            periodP99 = periodMs.getPercentile(0.99);
+            periodMax = periodMs.getMax();
+            jitterP99 = jitterMs.getPercentile(0.99);
+            freshnessP99 = freshnessMs.getPercentile(0.99);
+
+            periodP50Entry.set(periodP50);
+            periodP99Entry.set(periodP99);
+            periodMaxEntry.set(periodMax);
+            jitterP50Entry.set(jitterMs.getPercentile(0.5));
+            jitterP99Entry.set(jitterP99);
+            jitterMaxEntry.set(jitterMs.getMax());
+            freshnessP50Entry.set(freshnessMs.getPercentile(0.5));
+            freshnessP99Entry.set(freshnessP99);
+            freshnessMaxEntry.set(freshnessMs.getMax());
+            missed = missedUpdates;
+            late = lateUpdates;
+
+            periodMs.reset();
+            jitterMs.reset();
+            freshnessMs.reset();
+            windowFirstTimestamp = windowLastTimestamp;
+            windowUpdates = windowUpdates > 0 ? 1 : 0;
+        }
+
+        achievedHzEntry.set(achievedFrequency);
+        missedEntry.set(missed);
+        lateEntry.set(late);
+
+        boolean belowRate = achievedFrequency > 0.0
+            && achievedFrequency < OdometryTimingConstants.RATE_ALERT_FRACTION * requestedFrequency;
+        if (belowRate) {
+            rateAlert.setText(String.format("Odometry at %.0f Hz, requested %.0f Hz", achievedFrequency, requestedFrequency));
+        }
+        rateAlert.set(belowRate);
+    }
+
+    /** @return Odometry rate the drivetrain was asked to run at (Hz) */
+    public double getRequestedFrequency() {
+        return requestedFrequency;
+    }
+
+    /** @return Odometry rate achieved over the last published window (Hz), or 0 before the first */
+    public double getAchievedFrequency() {
+        return achievedFrequency;
+    }
+
+    /** @return Median odometry period over the last published window (ms) */
+    public double getPeriodP50Millis() {
+        return periodP50;
+    }
+
+    /** @return 99th percentile odometry period over the last published window (ms) */
+    public double getPeriodP99Millis() {
+        return periodP99;
+    }
+
+    /** @return Longest odometry period over the last published window (ms) */
+    public double getPeriodMaxMillis() {
+        return periodMax;
+    }
+
+    /** @return 99th percentile distance from the requested period over the last published window (ms) */
+    public double getJitterP99Millis() {
+        return jitterP99;
+    }
+
+    /** @return 99th percentile age of the CAN timestamps over the last published window (ms) */
+    public double getFreshnessP99Millis() {
+        return freshnessP99;
+    }
+
+    /** @return Odometry updates missed since startup */
+    public synchronized long getMissedUpdates() {
+        return missedUpdates;
+    }
+
+    /** @return Odometry updates that arrived late since startup */
+    public synchronized long getLateUpdates() {
+        return lateUpdates;
+    }
+
+    /** @return Whether the achieved rate is below the alert threshold */
+    public boolean isRateAlertActive() {
+        return achievedFrequency > 0.0
+            && achievedFrequency < OdometryTimingConstants.RATE_ALERT_FRACTION * requestedFrequency;
+    }
+}
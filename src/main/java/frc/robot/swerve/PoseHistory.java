@@ -0,0 +1,234 @@
+package frc.robot.swerve;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+
+/**
+ * Recent history of the fused drivetrain pose, raw gyro heading and chassis speeds, for
+ * answering "where was the robot at time t" in latency compensation (vision, aiming, shooting).
+ *
+ * Filled from the drivetrain's odometry thread, so it has one sample per odometry update
+ * (4 ms at 250 Hz). Samples live in preallocated primitive arrays used as a ring. Lookups
+ * binary-search the ring in O(log n), interpolate between the two samples around the
+ * requested time, and write into a caller-owned {@link Sample}, so neither recording nor
+ * lookup allocates.
+ *
+ * A camera frame can be captured after the newest odometry update but before the next one;
+ * lookups past the newest sample return the newest sample instead of failing.
+ */
+public class PoseHistory {
+    /** One interpolated entry of the history, reused across lookups */
+    public static final class Sample {
+        private double timestamp;
+        private double x;
+        private double y;
+        private double heading;
+        private double rawHeading;
+        private double vx;
+        private double vy;
+        private double omega;
+
+        /** @return Time of the sample (FPGA time base, seconds) */
+        public double getTimestamp() {
+            return timestamp;
+        }
+
+        /** @return Field X position (meters) */
+        public double getX() {
+            return x;
+        }
+
+        /** @return Field Y position (meters) */
+        public double getY() {
+            return y;
+        }
+
+        /** @return Field heading (radians, -pi to pi) */
+        public double getHeading() {
+            return heading;
+        }
+
+        /** @return Raw gyro heading, not affected by pose resets (radians, not wrapped) */
+        public double getRawHeading() {
+            return rawHeading;
+        }
+
+        /** @return Forward speed, robot-relative (m/s) */
+        public double getVx() {
+            return vx;
+        }
+
+        /** @return Left speed, robot-relative (m/s) */
+        public double getVy() {
+            return vy;
+        }
+
+        /** @return Counterclockwise rotation rate (rad/s) */
+        public double getOmega() {
+            return omega;
+        }
+
+        /**
+         * Overwrites this sample.
+         * @param timestamp Time of the sample (FPGA time base, seconds)
+         * @param x Field X position (meters)
+         * @param y Field Y position (meters)
+         * @param heading Field heading (radians)
+         * @param rawHeading Raw gyro heading (radians, not wrapped)
+         * @param vx Forward speed, robot-relative (m/s)
+         * @param vy Left speed, robot-relative (m/s)
+         * @param omega Counterclockwise rotation rate (rad/s)
+         */
+        public void set(
+            double timestamp, double x, double y, double heading, double rawHeading,
+            double vx, double vy, double omega
+        ) {
+            this.timestamp = timestamp;
+            this.x = x;
+            this.y = y;
+            this.heading = heading;
+            this.rawHeading = rawHeading;
+            this.vx = vx;
+            this.vy = vy;
+            this.omega = omega;
+        }
+
+        /**
+         * Converts the sample's pose to a Pose2d. Allocates.
+         * @return The pose
+         */
+        public Pose2d toPose2d() {
+            return new Pose2d(x, y, new Rotation2d(heading));
+        }
+    }
+
+    private final double[] timestamps;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] headings;
+    private final double[] rawHeadings;
+    private final double[] vxs;
+    private final double[] vys;
+    private final double[] omegas;
+    private int next = 0;
+    private int size = 0;
+
+    /**
+     * Creates an empty pose history.
+     * @param capacity Number of samples to retain
+     */
+    public PoseHistory(int capacity) {
+        timestamps = new double[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        headings = new double[capacity];
+        rawHeadings = new double[capacity];
+        vxs = new double[capacity];
+        vys = new double[capacity];
+        omegas = new double[capacity];
+    }
+
+    /**
+     * Records a sample. Samples must be recorded in time order.
+     * @param timestampSeconds Time of the sample (FPGA time base)
+     * @param x Field X position (meters)
+     * @param y Field Y position (meters)
+     * @param heading Field heading (radians)
+     * @param rawHeading Raw gyro heading, not affected by pose resets (radians, not wrapped)
+     * @param vx Forward speed, robot-relative (m/s)
+     * @param vy Left speed, robot-relative (m/s)
+     * @param omega Counterclockwise rotation rate (rad/s)
+     */
+    public synchronized void record(
+        double timestampSeconds, double x, double y, double heading, double rawHeading,
+        double vx, double vy, double omega
+    ) {
+        timestamps[next] = timestampSeconds;
+        xs[next] = x;
+        ys[next] = y;
+        headings[next] = heading;
+        rawHeadings[next] = rawHeading;
+        vxs[next] = vx;
+        vys[next] = vy;
+        omegas[next] = omega;
+        next = (next + 1) % timestamps.length;
+        size = Math.min(size + 1, timestamps.length);
+    }
+
+    /* Ring index of the i-th oldest sample */
+    private int index(int i) {
+        return (next - size + i + timestamps.length) % timestamps.length;
+    }
+
+    /**
+     * Gets the pose and speeds at a past time, interpolating between the samples around it.
+     * Field heading is interpolated along the shorter way around. Times after the newest
+     * sample return the newest sample.
+     * @param timestampSeconds Time to look up (FPGA time base)
+     * @param out Sample to write the result into
+     * @return true if out was written, false if the history is empty or the time is older than it
+     */
+    public synchronized boolean getPoseAt(double timestampSeconds, Sample out) {
+        if (size == 0 || timestampSeconds < timestamps[index(0)]) {
+            return false;
+        }
+        int newest = index(size - 1);
+        if (timestampSeconds >= timestamps[newest]) {
+            copy(newest, out);
+            return true;
+        }
+
+        // Newest sample at or before the requested time
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (timestamps[index(mid)] <= timestampSeconds) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        int before = index(low);
+        if (timestamps[before] == timestampSeconds) {
+            copy(before, out);
+            return true;
+        }
+
+        int after = index(low + 1);
+        double t = (timestampSeconds - timestamps[before]) / (timestamps[after] - timestamps[before]);
+        out.timestamp = timestampSeconds;
+        out.x = xs[before] + t * (xs[after] - xs[before]);
+        out.y = ys[before] + t * (ys[after] - ys[before]);
+        out.heading = MathUtil.angleModulus(
+            headings[before] + t * MathUtil.angleModulus(headings[after] - headings[before]));
+        out.rawHeading = rawHeadings[before] + t * (rawHeadings[after] - rawHeadings[before]);
+        out.vx = vxs[before] + t * (vxs[after] - vxs[before]);
+        out.vy = vys[before] + t * (vys[after] - vys[before]);
+        out.omega = omegas[before] + t * (omegas[after] - omegas[before]);
+        return true;
+    }
+
+    private void copy(int index, Sample out) {
+        out.set(timestamps[index], xs[index], ys[index], headings[index], rawHeadings[index],
+            vxs[index], vys[index], omegas[index]);
+    }
+
+    /**
+     * Gets the time of the newest sample.
+     * @return Timestamp (FPGA time base), or NaN if empty
+     */
+    public synchronized double getLatestTimestamp() {
+        return size > 0 ? timestamps[index(size - 1)] : Double.NaN;
+    }
+
+    /**
+     * Gets the number of samples currently retained.
+     * @return Sample count
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,212 @@
+package frc.robot.swerve;
+
+import org.ejml.simple.SimpleMatrix;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/**
+ * Turns requested robot-relative chassis speeds into module setpoints the drivetrain can
+ * actually follow, one control cycle at a time.
+ *
+ * Each cycle the setpoint moves from the previous one toward the request, limited by:
+ * - module speed: the request is scaled down, keeping its direction, until no wheel
+ *   is commanded past the maximum module speed
+ * - traction: no wheel's velocity vector changes by more than the maximum module
+ *   acceleration, so the robot accelerates, brakes and changes direction as hard as
+ *   the wheels can grip, but no harder
+ * - steering: no module turns faster than the maximum steer velocity. A module that is
+ *   still turning only drives at the part of its speed along the direction it points
+ *
+ * The previous setpoint is rebuilt from the module outputs, so the next cycle starts from
+ * what the wheels were really told to do. Modules keep their angle when stopped and reverse
+ * instead of turning more than 90 degrees.
+ *
+ * Does not allocate after construction. Not thread-safe; run it on one control thread.
+ */
+public class SwerveSetpointGenerator {
+    /* Module speed below which a wheel is treated as stopped and keeps its angle */
+    private static final double kStoppedSpeed = 1e-4;
+
+    private final int moduleCount;
+    private final double[] moduleX;
+    private final double[] moduleY;
+    private final double maxModuleSpeed;
+    private final double maxModuleAcceleration;
+    private final double maxSteerVelocity;
+
+    /* Least-squares forward kinematics: module velocity components to chassis speeds */
+    private final double[][] forwardKinematics;
+
+    /* Current setpoint */
+    private final double[] moduleAngles;
+    private final double[] moduleSpeeds;
+    private double vx = 0.0;
+    private double vy = 0.0;
+    private double omega = 0.0;
+
+    /**
+     * Creates a generator starting from rest with every module pointing forward.
+     * @param moduleLocations Module positions relative to the robot center (meters)
+     * @param maxModuleSpeed Fastest any wheel may be commanded (m/s)
+     * @param maxModuleAcceleration Largest change in a wheel's velocity vector before it slips (m/s^2)
+     * @param maxSteerVelocity Fastest a module can turn (rad/s)
+     */
+    public SwerveSetpointGenerator(
+        Translation2d[] moduleLocations,
+        double maxModuleSpeed,
+        double maxModuleAcceleration,
+        double maxSteerVelocity
+    ) {
+        moduleCount = moduleLocations.length;
+        moduleX = new double[moduleCount];
+        moduleY = new double[moduleCount];
+        moduleAngles = new double[moduleCount];
+        moduleSpeeds = new double[moduleCount];
+        this.maxModuleSpeed = maxModuleSpeed;
+        this.maxModuleAcceleration = maxModuleAcceleration;
+        this.maxSteerVelocity = maxSteerVelocity;
+
+        // Module i moves at (vx - omega * y_i, vy + omega * x_i)
+        var inverse = new SimpleMatrix(2 * moduleCount, 3);
+        for (int i = 0; i < moduleCount; i++) {
+            moduleX[i] = moduleLocations[i].getX();
+            moduleY[i] = moduleLocations[i].getY();
+            inverse.setRow(2 * i, 0, 1, 0, -moduleY[i]);
+            inverse.setRow(2 * i + 1, 0, 0, 1, moduleX[i]);
+        }
+        SimpleMatrix forward = inverse.pseudoInverse();
+        forwardKinematics = new double[3][2 * moduleCount];
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 2 * moduleCount; column++) {
+                forwardKinematics[row][column] = forward.get(row, column);
+            }
+        }
+    }
+
+    /**
+     * Restarts from the modules' measured states, e.g. when this generator takes over
+     * from another request.
+     * @param moduleStates Current state of each module
+     */
+    public void reset(SwerveModuleState[] moduleStates) {
+        for (int i = 0; i < moduleCount; i++) {
+            moduleAngles[i] = moduleStates[i].angle.getRadians();
+            moduleSpeeds[i] = moduleStates[i].speedMetersPerSecond;
+        }
+        updateChassisSpeeds();
+    }
+
+    /**
+     * Advances the setpoint one control cycle toward the requested speeds.
+     * @param desiredVx Requested forward speed, robot-relative (m/s)
+     * @param desiredVy Requested left speed, robot-relative (m/s)
+     * @param desiredOmega Requested counterclockwise rotation rate (rad/s)
+     * @param dt Length of the control cycle (seconds)
+     */
+    public void generate(double desiredVx, double desiredVy, double desiredOmega, double dt) {
+        // Scale the whole request down so the fastest wheel is within the speed limit
+        double fastest = 0.0;
+        for (int i = 0; i < moduleCount; i++) {
+            fastest = Math.max(fastest, Math.hypot(
+                desiredVx - desiredOmega * moduleY[i], desiredVy + desiredOmega * moduleX[i]));
+        }
+        if (fastest > maxModuleSpeed) {
+            double scale = maxModuleSpeed / fastest;
+            desiredVx *= scale;
+            desiredVy *= scale;
+            desiredOmega *= scale;
+        }
+
+        // Move toward the request only as far as the wheel that has to change most can grip
+        double dvx = desiredVx - vx;
+        double dvy = desiredVy - vy;
+        double domega = desiredOmega - omega;
+        double maxDelta = maxModuleAcceleration * dt;
+        double fraction = 1.0;
+        for (int i = 0; i < moduleCount; i++) {
+            double change = Math.hypot(dvx - domega * moduleY[i], dvy + domega * moduleX[i]);
+            if (change * fraction > maxDelta) {
+                fraction = maxDelta / change;
+            }
+        }
+        double targetVx = vx + fraction * dvx;
+        double targetVy = vy + fraction * dvy;
+        double targetOmega = omega + fraction * domega;
+
+        // Turn each module toward its velocity as fast as it can steer, driving only along its heading
+        double maxTurn = maxSteerVelocity * dt;
+        for (int i = 0; i < moduleCount; i++) {
+            double moduleVx = targetVx - targetOmega * moduleY[i];
+            double moduleVy = targetVy + targetOmega * moduleX[i];
+            if (Math.hypot(moduleVx, moduleVy) < kStoppedSpeed) {
+                moduleSpeeds[i] = 0.0;
+                continue;
+            }
+
+            double turn = MathUtil.angleModulus(Math.atan2(moduleVy, moduleVx) - moduleAngles[i]);
+            if (Math.abs(turn) > Math.PI / 2) {
+                turn -= Math.copySign(Math.PI, turn); // Reverse the wheel instead
+            }
+            turn = MathUtil.clamp(turn, -maxTurn, maxTurn);
+            double angle = MathUtil.angleModulus(moduleAngles[i] + turn);
+
+            moduleAngles[i] = angle;
+            moduleSpeeds[i] = moduleVx * Math.cos(angle) + moduleVy * Math.sin(angle);
+        }
+        updateChassisSpeeds();
+    }
+
+    /* Chassis speeds that best match the module outputs */
+    private void updateChassisSpeeds() {
+        vx = 0.0;
+        vy = 0.0;
+        omega = 0.0;
+        for (int i = 0; i < moduleCount; i++) {
+            double moduleVx = moduleSpeeds[i] * Math.cos(moduleAngles[i]);
+            double moduleVy = moduleSpeeds[i] * Math.sin(moduleAngles[i]);
+            vx += forwardKinematics[0][2 * i] * moduleVx + forwardKinematics[0][2 * i + 1] * moduleVy;
+            vy += forwardKinematics[1][2 * i] * moduleVx + forwardKinematics[1][2 * i + 1] * moduleVy;
+            omega += forwardKinematics[2][2 * i] * moduleVx + forwardKinematics[2][2 * i + 1] * moduleVy;
+        }
+    }
+
+    /** @return Number of modules */
+    public int getModuleCount() {
+        return moduleCount;
+    }
+
+    /**
+     * Gets a module's commanded speed.
+     * @param module Module index
+     * @return Wheel speed (m/s), negative when the wheel is reversed
+     */
+    public double getModuleSpeed(int module) {
+        return moduleSpeeds[module];
+    }
+
+    /**
+     * Gets a module's commanded angle.
+     * @param module Module index
+     * @return Module angle (radians, -pi to pi)
+     */
+    public double getModuleAngle(int module) {
+        return moduleAngles[module];
+    }
+
+    /** @return Forward speed of the current setpoint, robot-relative (m/s) */
+    public double getVx() {
+        return vx;
+    }
+
+    /** @return Left speed of the current setpoint, robot-relative (m/s) */
+    public double getVy() {
+        return vy;
+    }
+
+    /** @return Rotation rate of the current setpoint (rad/s) */
+    public double getOmega() {
+        return omega;
+    }
+}
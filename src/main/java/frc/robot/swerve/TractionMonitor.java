@@ -0,0 +1,202 @@
+package frc.robot.swerve;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+import edu.wpi.first.math.geometry.Translation2d;
+
+import frc.robot.Constants.DriveConstants;
+
+/**
+ * Detects wheel slip and collisions from the odometry stream, so wheel odometry can be
+ * trusted less while it is wrong.
+ *
+ * Every odometry update is checked three ways:
+ * - rigid body: each module's measured velocity is compared with the velocity the fitted
+ *   chassis speeds give at that module. A wheel far off the fit is slipping or skidding.
+ * - traction limit: a drive motor at its slip current is at the edge of grip. The slip
+ *   current is also the stator current limit, so this never counts as slip by itself; it
+ *   only lowers the velocity and acceleration thresholds to
+ *   {@link DriveConstants#SLIP_CONFIRM_FRACTION} of their normal values.
+ * - gyro: acceleration from the wheels is compared with the Pigeon 2 accelerometer, both
+ *   low-pass filtered. Wheels accelerating faster than the robot means they are spinning
+ *   (slip); the robot accelerating without the wheels means it was hit (collision).
+ *   Chassis speeds are robot-relative, so the wheel acceleration includes the centripetal
+ *   term omega x v that the accelerometer feels whenever the robot turns while moving.
+ *
+ * Events are counted on their first update and stay active for
+ * {@link DriveConstants#TRACTION_EVENT_HOLD_TIME} after the last one. Call {@link #update}
+ * from the odometry thread only; the getters may be called from any thread.
+ */
+public class TractionMonitor {
+    /** Kind of traction problem found by an update */
+    public enum Event {
+        /** Odometry looks consistent */
+        NONE,
+        /** One or more wheels are slipping against the ground */
+        SLIP,
+        /** The robot was pushed or hit something */
+        COLLISION
+    }
+
+    private final int moduleCount;
+    private final double[] moduleX;
+    private final double[] moduleY;
+    private final double slipCurrent;
+
+    /* Odometry-thread filter state */
+    private double lastTimestamp = Double.NaN;
+    private double lastVx = 0.0;
+    private double lastVy = 0.0;
+    private double lastOmega = 0.0;
+    private double wheelAccelX = 0.0;
+    private double wheelAccelY = 0.0;
+    private double imuAccelX = 0.0;
+    private double imuAccelY = 0.0;
+    private Event lastEvent = Event.NONE;
+
+    /* Read from other threads */
+    private volatile double lastSlipTime = Double.NEGATIVE_INFINITY;
+    private volatile double lastCollisionTime = Double.NEGATIVE_INFINITY;
+    private volatile long slipCount = 0;
+    private volatile long collisionCount = 0;
+
+    /**
+     * Creates a monitor for a drivetrain.
+     * @param moduleLocations Module positions relative to the robot center (meters), in module order
+     * @param slipCurrent Drive motor stator current at which the wheels lose grip (amps)
+     */
+    public TractionMonitor(Translation2d[] moduleLocations, double slipCurrent) {
+        moduleCount = moduleLocations.length;
+        moduleX = new double[moduleCount];
+        moduleY = new double[moduleCount];
+        for (int i = 0; i < moduleCount; i++) {
+            moduleX[i] = moduleLocations[i].getX();
+            moduleY[i] = moduleLocations[i].getY();
+        }
+        this.slipCurrent = slipCurrent;
+    }
+
+    /**
+     * Checks one odometry update for slip and collisions. Does not allocate.
+     * @param state Drivetrain state from the odometry thread
+     * @param statorCurrents Drive motor stator current per module (amps)
+     * @param imuAccelX Pigeon 2 forward acceleration (m/s^2, robot frame)
+     * @param imuAccelY Pigeon 2 left acceleration (m/s^2, robot frame)
+     * @return The problem found in this update, or {@link Event#NONE}
+     */
+    public Event update(SwerveDriveState state, double[] statorCurrents, double imuAccelX, double imuAccelY) {
+        double timestamp = state.Timestamp;
+        double vx = state.Speeds.vxMetersPerSecond;
+        double vy = state.Speeds.vyMetersPerSecond;
+        double omega = state.Speeds.omegaRadiansPerSecond;
+
+        boolean slip = false;
+        boolean anyAtLimit = false;
+        for (int i = 0; i < moduleCount; i++) {
+            boolean atLimit = Math.abs(statorCurrents[i]) >= DriveConstants.SLIP_CURRENT_FRACTION * slipCurrent;
+            anyAtLimit |= atLimit;
+
+            // Velocity the fitted chassis speeds give at this module
+            double angle = state.ModuleStates[i].angle.getRadians();
+            double speed = state.ModuleStates[i].speedMetersPerSecond;
+            double errorX = speed * Math.cos(angle) - (vx - omega * moduleY[i]);
+            double errorY = speed * Math.sin(angle) - (vy + omega * moduleX[i]);
+            double threshold = atLimit
+                ? DriveConstants.SLIP_CONFIRM_FRACTION * DriveConstants.SLIP_VELOCITY_THRESHOLD
+                : DriveConstants.SLIP_VELOCITY_THRESHOLD;
+            if (Math.hypot(errorX, errorY) > threshold) {
+                slip = true;
+            }
+        }
+
+        boolean collision = false;
+        double dt = timestamp - lastTimestamp;
+        if (dt > 0.0) {
+            // Robot-frame acceleration is dv/dt + omega x v, using midpoint speeds over the step
+            double midVx = 0.5 * (vx + lastVx);
+            double midVy = 0.5 * (vy + lastVy);
+            double midOmega = 0.5 * (omega + lastOmega);
+            double accelX = (vx - lastVx) / dt - midOmega * midVy;
+            double accelY = (vy - lastVy) / dt + midOmega * midVx;
+
+            double alpha = dt / (DriveConstants.ACCEL_FILTER_TIME_CONSTANT + dt);
+            wheelAccelX += alpha * (accelX - wheelAccelX);
+            wheelAccelY += alpha * (accelY - wheelAccelY);
+            this.imuAccelX += alpha * (imuAccelX - this.imuAccelX);
+            this.imuAccelY += alpha * (imuAccelY - this.imuAccelY);
+
+            double wheelAccel = Math.hypot(wheelAccelX, wheelAccelY);
+            double imuAccel = Math.hypot(this.imuAccelX, this.imuAccelY);
+            double slipThreshold = anyAtLimit
+                ? DriveConstants.SLIP_CONFIRM_FRACTION * DriveConstants.ACCEL_MISMATCH_THRESHOLD
+                : DriveConstants.ACCEL_MISMATCH_THRESHOLD;
+            if (wheelAccel - imuAccel > slipThreshold) {
+                slip = true;
+            } else if (imuAccel - wheelAccel > DriveConstants.ACCEL_MISMATCH_THRESHOLD) {
+                collision = true;
+            }
+        }
+        lastTimestamp = timestamp;
+        lastVx = vx;
+        lastVy = vy;
+        lastOmega = omega;
+
+        Event event = collision ? Event.COLLISION : slip ? Event.SLIP : Event.NONE;
+        if (event == Event.COLLISION) {
+            if (lastEvent != Event.COLLISION) {
+                collisionCount++;
+            }
+            lastCollisionTime = timestamp;
+        } else if (event == Event.SLIP) {
+            if (lastEvent != Event.SLIP) {
+                slipCount++;
+            }
+            lastSlipTime = timestamp;
+        }
+        lastEvent = event;
+        return event;
+    }
+
+    /**
+     * Checks whether slip was detected recently.
+     * @param timestamp Current time, in the same time base as the drive state
+     * @return true within the hold time of the last slip
+     */
+    public boolean isSlipping(double timestamp) {
+        return timestamp - lastSlipTime <= DriveConstants.TRACTION_EVENT_HOLD_TIME;
+    }
+
+    /**
+     * Checks whether a collision was detected recently.
+     * @param timestamp Current time, in the same time base as the drive state
+     * @return true within the hold time of the last collision
+     */
+    public boolean isColliding(double timestamp) {
+        return timestamp - lastCollisionTime <= DriveConstants.TRACTION_EVENT_HOLD_TIME;
+    }
+
+    /**
+     * Gets how much to scale the odometry standard deviations by.
+     * @param timestamp Current time, in the same time base as the drive state
+     * @return 1 when odometry is trusted, larger while slip or a collision is active
+     */
+    public double getOdometryStdDevScale(double timestamp) {
+        if (isColliding(timestamp)) {
+            return DriveConstants.COLLISION_STD_DEV_SCALE;
+        }
+        if (isSlipping(timestamp)) {
+            return DriveConstants.SLIP_STD_DEV_SCALE;
+        }
+        return 1.0;
+    }
+
+    /** @return Number of slip events detected */
+    public long getSlipCount() {
+        return slipCount;
+    }
+
+    /** @return Number of collisions detected */
+    public long getCollisionCount() {
+        return collisionCount;
+    }
+}
@@ -0,0 +1,150 @@
+package frc.robot.telemetry;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+/**
+ * Fixed-capacity ring buffer of drivetrain state samples.
+ *
+ * The odometry thread publishes each state by copying it into a preallocated slot, and
+ * any number of readers (telemetry, logging) drain it on their own threads through their
+ * own {@link Reader}. Publishing never locks or allocates. A reader that falls more than
+ * one buffer behind skips to the oldest sample still available and counts what it missed.
+ */
+public class DriveStateBuffer {
+    private final int capacity;
+    private final int mask;
+    private final int moduleCount;
+    private final DriveStateSample[] slots;
+
+    /* Sequence number stored in each slot, or -1 while the slot is being rewritten */
+    private final AtomicLongArray slotSequences;
+    /* Total number of samples ever published */
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    /**
+     * Creates a new drive state buffer.
+     * @param capacity Number of samples to retain (must be a power of two)
+     * @param moduleCount Number of swerve modules
+     */
+    public DriveStateBuffer(int capacity, int moduleCount) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Drive state buffer capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.moduleCount = moduleCount;
+        this.slots = new DriveStateSample[capacity];
+        this.slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new DriveStateSample(moduleCount);
+            slotSequences.set(i, -1);
+        }
+    }
+
+    /**
+     * Copies a drivetrain state into the buffer.
+     * Must only be called from the single producer thread.
+     * @param state State from the drivetrain's odometry thread
+     */
+    public void publish(SwerveDriveState state) {
+        long sequence = writeSequence.get();
+        int slot = (int) (sequence & mask);
+
+        // Invalidate the slot first so readers can detect a torn read
+        slotSequences.set(slot, -1);
+        VarHandle.storeStoreFence();
+
+        slots[slot].copyFrom(state);
+
+        slotSequences.set(slot, sequence);
+        writeSequence.set(sequence + 1);
+    }
+
+    /**
+     * Gets the number of samples published since the buffer was created.
+     * @return Total published sample count
+     */
+    public long getWriteSequence() {
+        return writeSequence.get();
+    }
+
+    /**
+     * Creates a reader positioned after the most recently published sample.
+     * Each consumer should own its own reader; readers are not thread-safe.
+     * @return A new reader that only sees samples published from now on
+     */
+    public Reader newReader() {
+        return new Reader(writeSequence.get());
+    }
+
+    /**
+     * Independent cursor into the drive state buffer.
+     * Call {@link #next()} until it returns false to consume every new sample in order.
+     */
+    public final class Reader {
+        private long nextSequence;
+        private long droppedSamples = 0;
+        private final DriveStateSample sample = new DriveStateSample(moduleCount);
+
+        private Reader(long startSequence) {
+            this.nextSequence = startSequence;
+        }
+
+        /**
+         * Advances to the next unread sample and copies it into {@link #sample()}.
+         * @return true if a sample was read, false if the reader is caught up
+         */
+        public boolean next() {
+            while (true) {
+                long written = writeSequence.get();
+                if (nextSequence >= written) {
+                    return false;
+                }
+
+                // Fell behind by more than a full buffer - skip to the oldest retained sample
+                if (written - nextSequence > capacity) {
+                    droppedSamples += written - capacity - nextSequence;
+                    nextSequence = written - capacity;
+                }
+
+                int slot = (int) (nextSequence & mask);
+                if (slotSequences.get(slot) != nextSequence) {
+                    // Slot is being overwritten by the producer; re-check how far behind we are
+                    continue;
+                }
+
+                sample.copyFrom(slots[slot]);
+
+                // Make sure the slot was not rewritten while we copied it
+                VarHandle.acquireFence();
+                if (slotSequences.get(slot) != nextSequence) {
+                    continue;
+                }
+
+                nextSequence++;
+                return true;
+            }
+        }
+
+        /**
+         * Gets the sample read by the last successful call to {@link #next()}.
+         * The returned object is reused; copy it to keep it.
+         * @return Current sample
+         */
+        public DriveStateSample sample() {
+            return sample;
+        }
+
+        /**
+         * Gets the number of samples overwritten before this reader could consume them.
+         * @return Total dropped sample count
+         */
+        public long getDroppedSamples() {
+            return droppedSamples;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package frc.robot.telemetry;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.ctre.phoenix6.Utils;
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+/**
+ * Records every drivetrain state update to a memory-mapped WPILOG file.
+ *
+ * The file is preallocated and mapped up front, and every sample is written as the same
+ * set of fixed-size records, so appending is a handful of memory stores: no system calls,
+ * no locks held by other threads, and no allocation. Fast enough to call directly from the
+ * odometry thread at 250 Hz. The output opens in AdvantageScope and any other WPILOG reader.
+ *
+ * Entries (all in the FPGA time base):
+ * <pre>
+ *   DriveState/Pose            double[3]  x (m), y (m), heading (deg)
+ *   DriveState/Speeds          double[3]  vx (m/s), vy (m/s), omega (rad/s), robot-relative
+ *   DriveState/ModuleStates    double[2n] angle (rad), speed (m/s) per module
+ *   DriveState/ModuleTargets   double[2n] angle (rad), speed (m/s) per module
+ *   DriveState/ModulePositions double[2n] angle (rad), distance (m) per module
+ *   DriveState/OdometryPeriod  double     seconds
+ *   DriveState/RawHeading      double     raw gyro heading (rad)
+ * </pre>
+ * When the file is full, further samples are counted as dropped.
+ */
+public class DriveStateLogWriter implements AutoCloseable {
+    /* Record header: 1-byte entry ID, 2-byte payload size, 8-byte timestamp */
+    private static final byte kRecordHeader = (byte) ((0) | (1 << 2) | (7 << 4));
+    private static final int kRecordHeaderBytes = 1 + 1 + 2 + 8;
+    private static final int kPageBytes = 4096;
+
+    private static final int kPoseEntry = 1;
+    private static final int kSpeedsEntry = 2;
+    private static final int kModuleStatesEntry = 3;
+    private static final int kModuleTargetsEntry = 4;
+    private static final int kModulePositionsEntry = 5;
+    private static final int kOdometryPeriodEntry = 6;
+    private static final int kRawHeadingEntry = 7;
+
+    private final int moduleCount;
+    private final int sampleBytes;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private long writtenSamples = 0;
+    private long droppedSamples = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates the log file, maps it and writes the WPILOG header.
+     * @param file File to write (overwritten if it exists)
+     * @param capacityBytes Size to preallocate; samples past this are dropped
+     * @param moduleCount Number of swerve modules
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public DriveStateLogWriter(Path file, int capacityBytes, int moduleCount) throws IOException {
+        this.moduleCount = moduleCount;
+        this.sampleBytes = 7 * kRecordHeaderBytes + Double.BYTES * (3 + 3 + 6 * moduleCount + 1 + 1);
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        // Touch every page now so the odometry thread never waits on a page fault
+        for (int i = 0; i < capacityBytes; i += kPageBytes) {
+            buffer.put(i, (byte) 0);
+        }
+
+        // WPILOG header: magic, version 1.0, empty extra header
+        buffer.put("WPILOG".getBytes(StandardCharsets.US_ASCII));
+        buffer.putShort((short) 0x0100);
+        buffer.putInt(0);
+
+        long startMicros = (long) (Utils.currentTimeToFPGATime(Utils.getCurrentTimeSeconds()) * 1e6);
+        writeStart(kPoseEntry, "DriveState/Pose", "double[]", startMicros);
+        writeStart(kSpeedsEntry, "DriveState/Speeds", "double[]", startMicros);
+        writeStart(kModuleStatesEntry, "DriveState/ModuleStates", "double[]", startMicros);
+        writeStart(kModuleTargetsEntry, "DriveState/ModuleTargets", "double[]", startMicros);
+        writeStart(kModulePositionsEntry, "DriveState/ModulePositions", "double[]", startMicros);
+        writeStart(kOdometryPeriodEntry, "DriveState/OdometryPeriod", "double", startMicros);
+        writeStart(kRawHeadingEntry, "DriveState/RawHeading", "double", startMicros);
+    }
+
+    /* Control record announcing an entry */
+    private void writeStart(int entry, String name, String type, long timestampMicros) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] typeBytes = type.getBytes(StandardCharsets.UTF_8);
+        int payloadBytes = 1 + 4 + 4 + nameBytes.length + 4 + typeBytes.length + 4;
+
+        writeRecordHeader(0, payloadBytes, timestampMicros);
+        buffer.put((byte) 0); // Start
+        buffer.putInt(entry);
+        buffer.putInt(nameBytes.length);
+        buffer.put(nameBytes);
+        buffer.putInt(typeBytes.length);
+        buffer.put(typeBytes);
+        buffer.putInt(0); // No metadata
+    }
+
+    private void writeRecordHeader(int entry, int payloadBytes, long timestampMicros) {
+        buffer.put(kRecordHeader);
+        buffer.put((byte) entry);
+        buffer.putShort((short) payloadBytes);
+        buffer.putLong(timestampMicros);
+    }
+
+    /**
+     * Appends one drivetrain state. Called from the odometry thread.
+     * @param state State from the drivetrain
+     */
+    public synchronized void append(SwerveDriveState state) {
+        if (closed) {
+            return;
+        }
+        if (buffer.remaining() < sampleBytes) {
+            droppedSamples++;
+            return;
+        }
+
+        long timestampMicros = (long) (Utils.currentTimeToFPGATime(state.Timestamp) * 1e6);
+
+        writeRecordHeader(kPoseEntry, 3 * Double.BYTES, timestampMicros);
+        buffer.putDouble(state.Pose.getX());
+        buffer.putDouble(state.Pose.getY());
+        buffer.putDouble(state.Pose.getRotation().getDegrees());
+
+        writeRecordHeader(kSpeedsEntry, 3 * Double.BYTES, timestampMicros);
+        buffer.putDouble(state.Speeds.vxMetersPerSecond);
+        buffer.putDouble(state.Speeds.vyMetersPerSecond);
+        buffer.putDouble(state.Speeds.omegaRadiansPerSecond);
+
+        writeRecordHeader(kModuleStatesEntry, 2 * moduleCount * Double.BYTES, timestampMicros);
+        for (int i = 0; i < moduleCount; i++) {
+            buffer.putDouble(state.ModuleStates[i].angle.getRadians());
+            buffer.putDouble(state.ModuleStates[i].speedMetersPerSecond);
+        }
+
+        writeRecordHeader(kModuleTargetsEntry, 2 * moduleCount * Double.BYTES, timestampMicros);
+        for (int i = 0; i < moduleCount; i++) {
+            buffer.putDouble(state.ModuleTargets[i].angle.getRadians());
+            buffer.putDouble(state.ModuleTargets[i].speedMetersPerSecond);
+        }
+
+        writeRecordHeader(kModulePositionsEntry, 2 * moduleCount * Double.BYTES, timestampMicros);
+        for (int i = 0; i < moduleCount; i++) {
+            buffer.putDouble(state.ModulePositions[i].angle.getRadians());
+            buffer.putDouble(state.ModulePositions[i].distanceMeters);
+        }
+
+        writeRecordHeader(kOdometryPeriodEntry, Double.BYTES, timestampMicros);
+        buffer.putDouble(state.OdometryPeriod);
+
+        writeRecordHeader(kRawHeadingEntry, Double.BYTES, timestampMicros);
+        buffer.putDouble(state.RawHeading.getRadians());
+
+        writtenSamples++;
+    }
+
+    /** @return Number of samples written */
+    public synchronized long getWrittenSamples() {
+        return writtenSamples;
+    }
+
+    /** @return Number of samples dropped because the file was full */
+    public synchronized long getDroppedSamples() {
+        return droppedSamples;
+    }
+
+    /** @return Size of each sample in bytes */
+    public int getSampleBytes() {
+        return sampleBytes;
+    }
+
+    /**
+     * Trims the unused preallocated space, flushes the written part to disk and closes the file.
+     * Appends made after this starts are ignored. The flush runs outside the append lock, but
+     * can still take a while on a large mapping, so detach the writer from the odometry thread
+     * first and call this from a background thread.
+     */
+    @Override
+    public void close() {
+        long position;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            position = buffer.position();
+        }
+        try {
+            // Trim first so the unused zero padding is dropped instead of written back to flash.
+            // Trimming is best-effort; some platforms refuse to shrink a mapped file.
+            channel.truncate(position);
+        } catch (IOException e) {
+            // Leave the zero padding in place
+        }
+        buffer.force(0, position);
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Data is already flushed
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package frc.robot.telemetry;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+/**
+ * Copy of one drivetrain state update, stored as primitives.
+ *
+ * Filled in place from a {@link SwerveDriveState} so copying never allocates. Used to
+ * hand drivetrain state from the odometry thread to telemetry and logging threads.
+ */
+public class DriveStateSample {
+    private double timestamp;
+    private double odometryPeriod;
+    private double poseX;
+    private double poseY;
+    private double poseRotation;
+    private double rawHeading;
+    private double vx;
+    private double vy;
+    private double omega;
+
+    private final double[] moduleAngles;
+    private final double[] moduleSpeeds;
+    private final double[] targetAngles;
+    private final double[] targetSpeeds;
+    private final double[] positionAngles;
+    private final double[] positionDistances;
+
+    /**
+     * Creates an empty sample.
+     * @param moduleCount Number of swerve modules
+     */
+    public DriveStateSample(int moduleCount) {
+        moduleAngles = new double[moduleCount];
+        moduleSpeeds = new double[moduleCount];
+        targetAngles = new double[moduleCount];
+        targetSpeeds = new double[moduleCount];
+        positionAngles = new double[moduleCount];
+        positionDistances = new double[moduleCount];
+    }
+
+    /**
+     * Copies a drivetrain state into this sample.
+     * @param state State from the drivetrain's odometry thread
+     */
+    public void copyFrom(SwerveDriveState state) {
+        timestamp = state.Timestamp;
+        odometryPeriod = state.OdometryPeriod;
+        poseX = state.Pose.getX();
+        poseY = state.Pose.getY();
+        poseRotation = state.Pose.getRotation().getRadians();
+        rawHeading = state.RawHeading.getRadians();
+        vx = state.Speeds.vxMetersPerSecond;
+        vy = state.Speeds.vyMetersPerSecond;
+        omega = state.Speeds.omegaRadiansPerSecond;
+        for (int i = 0; i < moduleAngles.length; i++) {
+            moduleAngles[i] = state.ModuleStates[i].angle.getRadians();
+            moduleSpeeds[i] = state.ModuleStates[i].speedMetersPerSecond;
+            targetAngles[i] = state.ModuleTargets[i].angle.getRadians();
+            targetSpeeds[i] = state.ModuleTargets[i].speedMetersPerSecond;
+            positionAngles[i] = state.ModulePositions[i].angle.getRadians();
+            positionDistances[i] = state.ModulePositions[i].distanceMeters;
+        }
+    }
+
+    /**
+     * Copies another sample into this one.
+     * @param other Sample to copy (must have the same module count)
+     */
+    public void copyFrom(DriveStateSample other) {
+        timestamp = other.timestamp;
+        odometryPeriod = other.odometryPeriod;
+        poseX = other.poseX;
+        poseY = other.poseY;
+        poseRotation = other.poseRotation;
+        rawHeading = other.rawHeading;
+        vx = other.vx;
+        vy = other.vy;
+        omega = other.omega;
+        System.arraycopy(other.moduleAngles, 0, moduleAngles, 0, moduleAngles.length);
+        System.arraycopy(other.moduleSpeeds, 0, moduleSpeeds, 0, moduleSpeeds.length);
+        System.arraycopy(other.targetAngles, 0, targetAngles, 0, targetAngles.length);
+        System.arraycopy(other.targetSpeeds, 0, targetSpeeds, 0, targetSpeeds.length);
+        System.arraycopy(other.positionAngles, 0, positionAngles, 0, positionAngles.length);
+        System.arraycopy(other.positionDistances, 0, positionDistances, 0, positionDistances.length);
+    }
+
+    /** @return Time of the update in seconds (Phoenix current-time base) */
+    public double getTimestamp() {
+        return timestamp;
+    }
+
+    /** @return Measured odometry period in seconds */
+    public double getOdometryPeriod() {
+        return odometryPeriod;
+    }
+
+    /** @return Field X position in meters */
+    public double getPoseX() {
+        return poseX;
+    }
+
+    /** @return Field Y position in meters */
+    public double getPoseY() {
+        return poseY;
+    }
+
+    /** @return Field heading in radians */
+    public double getPoseRotation() {
+        return poseRotation;
+    }
+
+    /** @return Raw gyro heading in radians */
+    public double getRawHeading() {
+        return rawHeading;
+    }
+
+    /** @return Robot-relative X velocity in m/s */
+    public double getVx() {
+        return vx;
+    }
+
+    /** @return Robot-relative Y velocity in m/s */
+    public double getVy() {
+        return vy;
+    }
+
+    /** @return Angular velocity in rad/s */
+    public double getOmega() {
+        return omega;
+    }
+
+    /** @return Number of swerve modules */
+    public int getModuleCount() {
+        return moduleAngles.length;
+    }
+
+    /** @return Measured steer angle of a module in radians */
+    public double getModuleAngle(int module) {
+        return moduleAngles[module];
+    }
+
+    /** @return Measured wheel speed of a module in m/s */
+    public double getModuleSpeed(int module) {
+        return moduleSpeeds[module];
+    }
+
+    /** @return Target steer angle of a module in radians */
+    public double getTargetAngle(int module) {
+        return targetAngles[module];
+    }
+
+    /** @return Target wheel speed of a module in m/s */
+    public double getTargetSpeed(int module) {
+        return targetSpeeds[module];
+    }
+
+    /** @return Steer angle of a module's odometry position in radians */
+    public double getPositionAngle(int module) {
+        return positionAngles[module];
+    }
+
+    /** @return Distance driven by a module in meters */
+    public double getPositionDistance(int module) {
+        return positionDistances[module];
+    }
+}
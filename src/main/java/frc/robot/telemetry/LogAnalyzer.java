@@ -0,0 +1,429 @@
+package frc.robot.telemetry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+
+import frc.robot.Constants.ProfilerConstants;
+import frc.robot.util.Histogram;
+
+/**
+ * Desktop tool that summarizes robot logs in one streaming pass:
+ * {@code ./gradlew analyzeLogs -PlogPath=/path/to/logs}.
+ *
+ * Each record is looked at once and folded into fixed-size histograms, so memory use does
+ * not depend on log length. A log is memory-mapped rather than loaded onto the heap, and
+ * gzipped logs from {@link LogLifecycleManager} are decompressed to a temporary file first.
+ * Entries are matched by name suffix, so the same metrics come out of the full-rate drive
+ * log, AdvantageKit logs and hoot files converted with CTRE's owlet tool. Hoot files
+ * themselves cannot be read here and are skipped.
+ *
+ * Metrics:
+ *   Loop cycle         LoggedRobot/FullCycleMS, with overruns past the loop budget
+ *   Odometry period    .../OdometryPeriod, with jitter as the standard deviation
+ *   Module error       .../ModuleStates against the latest .../ModuleTargets
+ *   Time to align      DriveToTag/State from Aligning to Aligned
+ *   Vision latency     Vision/Camera/&lt;name&gt;/ReceiveTimestamps minus .../Timestamps
+ */
+public class LogAnalyzer {
+    /* Target speed below which module angle error is not meaningful */
+    private static final double kMinSpeedForAngleError = 0.1;
+
+    private enum Role {
+        LOOP_CYCLE, ODOMETRY_PERIOD, MODULE_STATES, MODULE_TARGETS, DRIVE_TO_TAG, CAPTURE_TIMES, RECEIVE_TIMES
+    }
+
+    /* Entry ID to what it measures, and the key it pairs on; rebuilt for every log */
+    private final Map<Integer, Role> roles = new HashMap<>();
+    private final Map<Integer, String> pairKeys = new HashMap<>();
+    private final Map<Integer, Boolean> structEntries = new HashMap<>();
+    private final Map<String, double[]> latestTargets = new HashMap<>();
+    private final Map<String, CameraTimes> cameraTimes = new HashMap<>();
+    private double alignStart = Double.NaN;
+
+    private final Histogram loopCycleMs = new Histogram(0.1, 1000);
+    private long loopOverruns = 0;
+    private final Histogram odometryPeriodMs = new Histogram(0.01, 5000);
+    private long periodCount = 0;
+    private double periodMean = 0.0;
+    private double periodM2 = 0.0;
+    private final Histogram moduleSpeedError = new Histogram(0.005, 1000);
+    private final Histogram moduleAngleErrorDeg = new Histogram(0.1, 1800);
+    private final Histogram timeToAlign = new Histogram(0.02, 1000);
+    private long alignInterrupted = 0;
+    private final Histogram visionLatencyMs = new Histogram(0.5, 1000);
+    private long records = 0;
+
+    /* Capture and receive timestamps for one camera, paired by log timestamp */
+    private static final class CameraTimes {
+        double[] capture;
+        long captureTime = -1;
+        double[] receive;
+        long receiveTime = -2;
+    }
+
+    /**
+     * Forgets entry IDs and pairing state from the previous log, keeping the accumulated
+     * metrics. Call before feeding records from another log into the same analyzer.
+     */
+    public void beginLog() {
+        roles.clear();
+        pairKeys.clear();
+        structEntries.clear();
+        latestTargets.clear();
+        cameraTimes.clear();
+        alignStart = Double.NaN;
+    }
+
+    /**
+     * Folds every record of a log into the metrics.
+     * @param reader Log to read
+     */
+    public void analyze(DataLogReader reader) {
+        beginLog();
+        for (DataLogRecord record : reader) {
+            accept(record);
+        }
+    }
+
+    /**
+     * Folds one record into the metrics.
+     * @param record Record read from a log
+     */
+    public void accept(DataLogRecord record) {
+        records++;
+        if (record.isStart()) {
+            start(record.getStartData());
+            return;
+        }
+        if (record.isControl()) {
+            return;
+        }
+        Role role = roles.get(record.getEntry());
+        if (role == null) {
+            return;
+        }
+
+        double time = record.getTimestamp() / 1e6;
+        switch (role) {
+            case LOOP_CYCLE: {
+                double cycleMs = record.getDouble();
+                loopCycleMs.record(cycleMs);
+                if (cycleMs > ProfilerConstants.LOOP_BUDGET * 1000) {
+                    loopOverruns++;
+                }
+                break;
+            }
+            case ODOMETRY_PERIOD:
+                recordPeriod(record.getDouble());
+                break;
+            case MODULE_TARGETS:
+                latestTargets.put(pairKeys.get(record.getEntry()), readModules(record));
+                break;
+            case MODULE_STATES: {
+                double[] targets = latestTargets.get(pairKeys.get(record.getEntry()));
+                if (targets != null) {
+                    recordModuleError(readModules(record), targets);
+                }
+                break;
+            }
+            case DRIVE_TO_TAG:
+                recordAlignState(record.getString(), time);
+                break;
+            case CAPTURE_TIMES: {
+                CameraTimes times = cameraTimes.computeIfAbsent(pairKeys.get(record.getEntry()), key -> new CameraTimes());
+                times.capture = record.getDoubleArray();
+                times.captureTime = record.getTimestamp();
+                recordVisionLatency(times);
+                break;
+            }
+            case RECEIVE_TIMES: {
+                CameraTimes times = cameraTimes.computeIfAbsent(pairKeys.get(record.getEntry()), key -> new CameraTimes());
+                times.receive = record.getDoubleArray();
+                times.receiveTime = record.getTimestamp();
+                recordVisionLatency(times);
+                break;
+            }
+        }
+    }
+
+    private void start(DataLogRecord.StartRecordData data) {
+        String name = data.name;
+        String type = data.type;
+        Role role = null;
+        String pairKey = null;
+        if (name.endsWith("LoggedRobot/FullCycleMS") && type.equals("double")) {
+            role = Role.LOOP_CYCLE;
+        } else if (name.endsWith("/OdometryPeriod") && type.equals("double")) {
+            role = Role.ODOMETRY_PERIOD;
+        } else if (name.endsWith("/ModuleStates") && isModuleType(type)) {
+            role = Role.MODULE_STATES;
+            pairKey = parentOf(name);
+        } else if (name.endsWith("/ModuleTargets") && isModuleType(type)) {
+            role = Role.MODULE_TARGETS;
+            pairKey = parentOf(name);
+        } else if (name.endsWith("DriveToTag/State") && type.equals("string")) {
+            role = Role.DRIVE_TO_TAG;
+        } else if (name.contains("Vision/Camera/") && name.endsWith("/ReceiveTimestamps") && type.equals("double[]")) {
+            role = Role.RECEIVE_TIMES;
+            pairKey = parentOf(name);
+        } else if (name.contains("Vision/Camera/") && name.endsWith("/Timestamps") && type.equals("double[]")) {
+            role = Role.CAPTURE_TIMES;
+            pairKey = parentOf(name);
+        }
+        if (role != null) {
+            roles.put(data.entry, role);
+            pairKeys.put(data.entry, pairKey);
+            structEntries.put(data.entry, type.startsWith("struct:"));
+        }
+    }
+
+    private static boolean isModuleType(String type) {
+        return type.equals("double[]") || type.equals("struct:SwerveModuleState[]");
+    }
+
+    private static String parentOf(String name) {
+        return name.substring(0, name.lastIndexOf('/'));
+    }
+
+    /* Module states as angle (rad), speed (m/s) pairs, whichever way they were logged */
+    private double[] readModules(DataLogRecord record) {
+        if (!structEntries.get(record.getEntry())) {
+            return record.getDoubleArray();
+        }
+        // SwerveModuleState struct: speed (m/s), then angle (rad)
+        ByteBuffer raw = ByteBuffer.wrap(record.getRaw()).order(ByteOrder.LITTLE_ENDIAN);
+        double[] modules = new double[raw.remaining() / Double.BYTES];
+        for (int i = 0; i + 1 < modules.length; i += 2) {
+            double speed = raw.getDouble();
+            modules[i] = raw.getDouble();
+            modules[i + 1] = speed;
+        }
+        return modules;
+    }
+
+    private void recordPeriod(double periodSeconds) {
+        odometryPeriodMs.record(periodSeconds * 1000);
+        periodCount++;
+        double delta = periodSeconds - periodMean;
+        periodMean += delta / periodCount;
+        periodM2 += delta * (periodSeconds - periodMean);
+    }
+
+    private void recordModuleError(double[] states, double[] targets) {
+        int length = Math.min(states.length, targets.length);
+        for (int i = 0; i + 1 < length; i += 2) {
+            moduleSpeedError.record(Math.abs(targets[i + 1] - states[i + 1]));
+            if (Math.abs(targets[i + 1]) >= kMinSpeedForAngleError) {
+                moduleAngleErrorDeg.record(Math.toDegrees(Math.abs(MathUtil.angleModulus(targets[i] - states[i]))));
+            }
+        }
+    }
+
+    private void recordAlignState(String state, double time) {
+        if (state.equals("Aligning")) {
+            alignStart = time;
+        } else if (!Double.isNaN(alignStart)) {
+            if (state.equals("Aligned")) {
+                timeToAlign.record(time - alignStart);
+            } else {
+                alignInterrupted++;
+            }
+            alignStart = Double.NaN;
+        }
+    }
+
+    /* Both arrays are written in the same cycle; compute once they share a log timestamp */
+    private void recordVisionLatency(CameraTimes times) {
+        if (times.captureTime != times.receiveTime) {
+            return;
+        }
+        int frames = Math.min(times.capture.length, times.receive.length);
+        for (int i = 0; i < frames; i++) {
+            visionLatencyMs.record((times.receive[i] - times.capture[i]) * 1000);
+        }
+        times.receiveTime = -2;
+    }
+
+    /** @return Number of records read, including control records */
+    public long getRecordCount() {
+        return records;
+    }
+
+    /** @return Loop cycle times in milliseconds */
+    public Histogram getLoopCycleMs() {
+        return loopCycleMs;
+    }
+
+    /** @return Number of loop cycles longer than the loop budget */
+    public long getLoopOverruns() {
+        return loopOverruns;
+    }
+
+    /** @return Odometry periods in milliseconds */
+    public Histogram getOdometryPeriodMs() {
+        return odometryPeriodMs;
+    }
+
+    /** @return Standard deviation of the odometry period in milliseconds, or 0 with fewer than two samples */
+    public double getOdometryJitterMs() {
+        return periodCount > 1 ? Math.sqrt(periodM2 / (periodCount - 1)) * 1000 : 0.0;
+    }
+
+    /** @return Module speed tracking error in meters per second */
+    public Histogram getModuleSpeedError() {
+        return moduleSpeedError;
+    }
+
+    /** @return Module angle tracking error in degrees, for modules commanded to move */
+    public Histogram getModuleAngleErrorDeg() {
+        return moduleAngleErrorDeg;
+    }
+
+    /** @return DriveToTag time from start to aligned in seconds */
+    public Histogram getTimeToAlign() {
+        return timeToAlign;
+    }
+
+    /** @return Number of DriveToTag runs interrupted before aligning */
+    public long getAlignInterrupted() {
+        return alignInterrupted;
+    }
+
+    /** @return Vision frame latency from capture to receipt in milliseconds */
+    public Histogram getVisionLatencyMs() {
+        return visionLatencyMs;
+    }
+
+    /**
+     * Prints the metrics as a text summary.
+     * @param out Stream to print to
+     */
+    public void printReport(PrintStream out) {
+        printHistogram(out, "Loop cycle (ms)", loopCycleMs);
+        if (loopCycleMs.getCount() > 0) {
+            out.printf("    overruns: %d%n", loopOverruns);
+        }
+        printHistogram(out, "Odometry period (ms)", odometryPeriodMs);
+        if (odometryPeriodMs.getCount() > 1) {
+            out.printf("    jitter (stddev): %.3f ms, achieved rate: %.1f Hz%n",
+                getOdometryJitterMs(), 1.0 / periodMean);
+        }
+        printHistogram(out, "Module speed error (m/s)", moduleSpeedError);
+        printHistogram(out, "Module angle error (deg)", moduleAngleErrorDeg);
+        printHistogram(out, "DriveToTag time to align (s)", timeToAlign);
+        if (timeToAlign.getCount() > 0 || alignInterrupted > 0) {
+            out.printf("    interrupted: %d%n", alignInterrupted);
+        }
+        printHistogram(out, "Vision latency (ms)", visionLatencyMs);
+    }
+
+    private static void printHistogram(PrintStream out, String label, Histogram histogram) {
+        if (histogram.getCount() == 0) {
+            out.printf("  %-30s no data%n", label);
+            return;
+        }
+        out.printf("  %-30s n=%d mean=%.3f p50=%.3f p99=%.3f max=%.3f%n", label,
+            histogram.getCount(), histogram.getMean(),
+            histogram.getPercentile(0.5), histogram.getPercentile(0.99), histogram.getMax());
+    }
+
+    /**
+     * Analyzes one log file, decompressing it to a temporary file if it is gzipped.
+     * @param file .wpilog or .wpilog.gz file
+     * @param analyzers Analyzers to feed every record into
+     * @throws IOException if the file cannot be read or is not a WPILOG
+     */
+    public static void analyzeFile(Path file, LogAnalyzer... analyzers) throws IOException {
+        Path logFile = file;
+        Path tempFile = null;
+        if (file.toString().endsWith(".gz")) {
+            tempFile = Files.createTempFile("log-analyzer", ".wpilog");
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            logFile = tempFile;
+        }
+        try {
+            DataLogReader reader = new DataLogReader(logFile.toString());
+            if (!reader.isValid()) {
+                throw new IOException("not a WPILOG file");
+            }
+            for (LogAnalyzer analyzer : analyzers) {
+                analyzer.beginLog();
+            }
+            for (DataLogRecord record : reader) {
+                for (LogAnalyzer analyzer : analyzers) {
+                    analyzer.accept(record);
+                }
+            }
+        } finally {
+            if (tempFile != null) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Summarizes every log under the given files and directories, one log at a time.
+     * @param args Log files or directories to search recursively
+     * @throws IOException if a directory cannot be listed
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: LogAnalyzer <log file or directory>...");
+            System.exit(1);
+        }
+
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            try (Stream<Path> found = Files.walk(Path.of(arg))) {
+                found.filter(Files::isRegularFile).sorted().forEach(files::add);
+            }
+        }
+
+        LogAnalyzer total = new LogAnalyzer();
+        int analyzed = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(".hoot")) {
+                System.out.println(file + ": skipped, convert hoot files to WPILOG with owlet first");
+                continue;
+            }
+            if (!name.endsWith(".wpilog") && !name.endsWith(".wpilog.gz")) {
+                continue;
+            }
+
+            LogAnalyzer single = new LogAnalyzer();
+            try {
+                analyzeFile(file, single, total);
+            } catch (IOException e) {
+                System.out.println(file + ": skipped, " + e.getMessage());
+                continue;
+            }
+            System.out.println(file + " (" + single.getRecordCount() + " records)");
+            single.printReport(System.out);
+            analyzed++;
+        }
+
+        if (analyzed > 1) {
+            System.out.println("All " + analyzed + " logs");
+            total.printReport(System.out);
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package frc.robot.telemetry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import com.ctre.phoenix6.SignalLogger;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Subsystem;
+
+import frc.robot.Telemetry;
+import frc.robot.Constants.LoggingConstants;
+import frc.robot.Constants.TelemetryConstants;
+import frc.robot.Constants.ThreadConstants;
+import frc.robot.util.ThreadPlacement;
+
+/**
+ * Starts and stops log sessions around robot enables and keeps the log directory under quota.
+ *
+ * A session starts when the robot is enabled and ends once the robot has been disabled for
+ * {@link LoggingConstants#SESSION_IDLE_TIMEOUT}, or when FMS reports a different match.
+ * So a full match (auto, the pause, and teleop) is one session. Each session gets its own
+ * directory, named after the match when FMS is attached, that holds the full-rate drive
+ * log and the SignalLogger hoot files.
+ *
+ * The main loop only decides when sessions start and end. All file work happens on one
+ * low-priority worker thread: creating and preallocating the drive log, starting and
+ * stopping SignalLogger, closing the finished log, gzipping it, and deleting the oldest
+ * logs when the directory is over its quota ({@link LoggingConstants#LOG_QUOTA_BYTES} on the
+ * robot). The quota is checked at startup and whenever a session opens or closes.
+ */
+public class LogLifecycleManager implements Subsystem, AutoCloseable {
+    private static final String kDriveLogName = "drive.wpilog";
+
+    private final Telemetry telemetry;
+    private final Path logDirectory;
+    private final boolean useSignalLogger;
+    private final long quotaBytes;
+
+    private final LinkedBlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    /* Main-thread session state */
+    private boolean sessionActive = false;
+    private String sessionMatchKey = null;
+    private double disabledSince = Double.NaN;
+    private int sessionCount = 0;
+
+    /* FMS match key, rebuilt only when the match changes */
+    private DriverStation.MatchType keyMatchType = null;
+    private int keyMatchNumber = -1;
+    private int keyReplayNumber = -1;
+    private String matchKey = null;
+
+    /* Session directory being written, owned by the worker */
+    private volatile Path activeSessionDirectory = null;
+    private volatile long completedSessions = 0;
+
+    /**
+     * Creates a manager that logs to {@link LoggingConstants#LOG_DIRECTORY} and starts its
+     * worker thread, which first trims the directory to the quota.
+     * @param telemetry Telemetry to attach each session's drive log to
+     */
+    public LogLifecycleManager(Telemetry telemetry) {
+        this(telemetry, Path.of(LoggingConstants.LOG_DIRECTORY), true, LoggingConstants.LOG_QUOTA_BYTES);
+    }
+
+    /**
+     * Creates a manager and starts its worker thread.
+     * @param telemetry Telemetry to attach each session's drive log to
+     * @param logDirectory Directory that holds all sessions
+     * @param useSignalLogger Whether to start and stop SignalLogger with each session
+     * @param quotaBytes Maximum space for everything in the log directory
+     */
+    public LogLifecycleManager(Telemetry telemetry, Path logDirectory, boolean useSignalLogger, long quotaBytes) {
+        this.telemetry = telemetry;
+        this.logDirectory = logDirectory;
+        this.useSignalLogger = useSignalLogger;
+        this.quotaBytes = quotaBytes;
+
+        worker = new Thread(this::run, "LogLifecycle");
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+        tasks.add(this::enforceQuota);
+    }
+
+    @Override
+    public void periodic() {
+        update(Timer.getFPGATimestamp(), DriverStation.isEnabled(),
+            DriverStation.isFMSAttached() ? currentMatchKey() : null);
+    }
+
+    /**
+     * Advances the session state machine. Never blocks or touches the file system.
+     * @param nowSeconds Current time
+     * @param enabled Whether the robot is enabled
+     * @param matchKey Identifies the current FMS match, or null when FMS is not attached
+     */
+    public void update(double nowSeconds, boolean enabled, String matchKey) {
+        if (enabled) {
+            disabledSince = Double.NaN;
+            if (sessionActive && matchKey != null && !matchKey.equals(sessionMatchKey)) {
+                endSession();
+            }
+            if (!sessionActive) {
+                startSession(matchKey);
+            }
+        } else {
+            if (Double.isNaN(disabledSince)) {
+                disabledSince = nowSeconds;
+            }
+            if (sessionActive && nowSeconds - disabledSince >= LoggingConstants.SESSION_IDLE_TIMEOUT) {
+                endSession();
+            }
+        }
+    }
+
+    /* Match key for the current FMS match; only allocates when the match changes */
+    private String currentMatchKey() {
+        DriverStation.MatchType matchType = DriverStation.getMatchType();
+        int matchNumber = DriverStation.getMatchNumber();
+        int replayNumber = DriverStation.getReplayNumber();
+        if (matchKey == null || matchType != keyMatchType
+            || matchNumber != keyMatchNumber || replayNumber != keyReplayNumber) {
+            keyMatchType = matchType;
+            keyMatchNumber = matchNumber;
+            keyReplayNumber = replayNumber;
+            matchKey = buildMatchKey(matchType, matchNumber, replayNumber);
+        }
+        return matchKey;
+    }
+
+    private static String buildMatchKey(DriverStation.MatchType matchType, int matchNumber, int replayNumber) {
+        String type;
+        switch (matchType) {
+            case Practice:
+                type = "P";
+                break;
+            case Qualification:
+                type = "Q";
+                break;
+            case Elimination:
+                type = "E";
+                break;
+            default:
+                type = "M";
+                break;
+        }
+        String key = DriverStation.getEventName() + "_" + type + matchNumber;
+        return replayNumber > 1 ? key + "_R" + replayNumber : key;
+    }
+
+    private void startSession(String matchKey) {
+        sessionActive = true;
+        sessionMatchKey = matchKey;
+        sessionCount++;
+        String name = matchKey != null
+            ? matchKey
+            : "session_" + System.currentTimeMillis() + "_" + sessionCount;
+        tasks.add(() -> openSession(name));
+    }
+
+    private void endSession() {
+        sessionActive = false;
+        sessionMatchKey = null;
+        tasks.add(this::closeSession);
+    }
+
+    /* Worker thread */
+    private void run() {
+        ThreadPlacement.getInstance().placeBackgroundThread("LogLifecycle", ThreadConstants.BACKGROUND_NICE);
+        while (running || !tasks.isEmpty()) {
+            try {
+                Runnable task = tasks.poll(1, TimeUnit.SECONDS);
+                if (task != null) {
+                    task.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                DriverStation.reportError("Log lifecycle task failed: " + e, false);
+            }
+        }
+    }
+
+    private void openSession(String name) {
+        try {
+            Path directory = logDirectory.resolve(name);
+            for (int suffix = 2; Files.exists(directory); suffix++) {
+                directory = logDirectory.resolve(name + "_" + suffix);
+            }
+            Files.createDirectories(directory);
+            activeSessionDirectory = directory;
+
+            if (useSignalLogger) {
+                SignalLogger.setPath(directory.toString() + "/");
+                SignalLogger.start();
+            }
+
+            if (TelemetryConstants.DRIVE_LOG_ENABLED) {
+                var writer = new DriveStateLogWriter(
+                    directory.resolve(kDriveLogName), TelemetryConstants.DRIVE_LOG_CAPACITY_BYTES, 4);
+                closeDetached(telemetry.setLogWriter(writer));
+            }
+        } catch (IOException e) {
+            DriverStation.reportWarning("Log session not started: " + e.getMessage(), false);
+        }
+        // The preallocated drive log counts toward the quota from the start
+        enforceQuota();
+    }
+
+    /* Lets the odometry thread finish any append to a detached writer, then flushes it */
+    private static void closeDetached(DriveStateLogWriter writer) {
+        if (writer != null) {
+            Timer.delay(TelemetryConstants.DRIVE_LOG_DETACH_DELAY);
+            writer.close();
+        }
+    }
+
+    private void closeSession() {
+        if (useSignalLogger) {
+            SignalLogger.stop();
+        }
+        closeDetached(telemetry.setLogWriter(null));
+
+        Path directory = activeSessionDirectory;
+        activeSessionDirectory = null;
+        if (directory != null) {
+            compress(directory.resolve(kDriveLogName));
+        }
+        completedSessions++;
+        enforceQuota();
+    }
+
+    private static void compress(Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Path compressed = file.resolveSibling(file.getFileName() + ".gz");
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            DriverStation.reportWarning("Log compression failed: " + e.getMessage(), false);
+            try {
+                Files.deleteIfExists(compressed);
+            } catch (IOException ignored) {
+                // Keep the uncompressed log
+            }
+            return;
+        }
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            DriverStation.reportWarning("Could not remove uncompressed log: " + e.getMessage(), false);
+        }
+    }
+
+    /**
+     * Deletes the oldest sessions and log files until the directory fits the quota.
+     * Skips the active session and anything written to recently (e.g. AdvantageKit's log).
+     */
+    private void enforceQuota() {
+        if (!Files.isDirectory(logDirectory)) {
+            return;
+        }
+        long cutoffMillis = System.currentTimeMillis() - (long) (LoggingConstants.ACTIVE_FILE_GRACE_PERIOD * 1000);
+        Path active = activeSessionDirectory;
+
+        // Read each entry's size and time once; the sort must not see them change underneath it
+        List<LogEntry> entries = new ArrayList<>();
+        long totalBytes = 0;
+        try (Stream<Path> list = Files.list(logDirectory)) {
+            for (Path path : (Iterable<Path>) list::iterator) {
+                LogEntry entry = new LogEntry(path, sizeOf(path), lastModified(path));
+                entries.add(entry);
+                totalBytes += entry.sizeBytes;
+            }
+        } catch (IOException e) {
+            DriverStation.reportWarning("Log quota check failed: " + e.getMessage(), false);
+            return;
+        }
+
+        entries.sort(Comparator.comparingLong(entry -> entry.lastModifiedMillis));
+        for (LogEntry entry : entries) {
+            if (totalBytes <= quotaBytes) {
+                break;
+            }
+            // Check the time again in case the entry was written to since it was listed
+            if (entry.path.equals(active) || lastModified(entry.path) > cutoffMillis) {
+                continue;
+            }
+            if (delete(entry.path)) {
+                totalBytes -= entry.sizeBytes;
+            }
+        }
+    }
+
+    /* A file or session directory in the log directory, as seen when the quota check listed it */
+    private static final class LogEntry {
+        final Path path;
+        final long sizeBytes;
+        final long lastModifiedMillis;
+
+        LogEntry(Path path, long sizeBytes, long lastModifiedMillis) {
+            this.path = path;
+            this.sizeBytes = sizeBytes;
+            this.lastModifiedMillis = lastModifiedMillis;
+        }
+    }
+
+    private static long sizeOf(Path entry) {
+        try (Stream<Path> files = Files.walk(entry)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /* Newest modification time of anything in the entry */
+    private static long lastModified(Path entry) {
+        try (Stream<Path> files = Files.walk(entry)) {
+            return files.mapToLong(file -> {
+                try {
+                    return Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime().toMillis();
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).max().orElse(0);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static boolean delete(Path entry) {
+        try (Stream<Path> files = Files.walk(entry)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+            return true;
+        } catch (IOException e) {
+            DriverStation.reportWarning("Could not delete old log " + entry + ": " + e.getMessage(), false);
+            return false;
+        }
+    }
+
+    /**
+     * Waits until the worker has finished every task queued so far. For tests.
+     * @param timeoutSeconds Maximum time to wait
+     * @return true if the worker caught up in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitIdle(double timeoutSeconds) throws InterruptedException {
+        var done = new CountDownLatch(1);
+        tasks.add(done::countDown);
+        return done.await((long) (timeoutSeconds * 1000), TimeUnit.MILLISECONDS);
+    }
+
+    /** @return Whether a log session is currently active */
+    public boolean isSessionActive() {
+        return sessionActive;
+    }
+
+    /** @return Directory of the session being written, or null between sessions */
+    public Path getActiveSessionDirectory() {
+        return activeSessionDirectory;
+    }
+
+    /** @return Number of sessions closed and compressed so far */
+    public long getCompletedSessions() {
+        return completedSessions;
+    }
+
+    /**
+     * Ends any active session, finishes queued file work and stops the worker thread.
+     */
+    @Override
+    public void close() {
+        if (sessionActive) {
+            endSession();
+        }
+        running = false;
+        try {
+            worker.join(10000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
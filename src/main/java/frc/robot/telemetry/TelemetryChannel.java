@@ -0,0 +1,92 @@
+package frc.robot.telemetry;
+
+/**
+ * Rate and change filter for one telemetry value.
+ *
+ * Each channel declares how often it may publish and how much its values must change
+ * before they are worth sending. Call {@link #shouldPublish} with the candidate values;
+ * it returns true only when the channel is due and at least one value moved by more than
+ * the deadband since the last publish. Counts publishes, skips and payload bytes so
+ * bandwidth can be checked per channel. Not thread-safe; use from the publisher thread.
+ */
+public final class TelemetryChannel {
+    private final String name;
+    private final double period;
+    private final double deadband;
+    private final int bytesPerPublish;
+    private final double[] lastValues;
+
+    private boolean hasPublished = false;
+    private double nextPublishTime = Double.NEGATIVE_INFINITY;
+    private long publishCount = 0;
+    private long skippedCount = 0;
+    private long byteCount = 0;
+
+    /**
+     * Creates a telemetry channel.
+     * @param name Name of the channel, used for statistics
+     * @param period Minimum time between publishes in seconds (0 for every sample)
+     * @param deadband Smallest change in any value worth publishing (0 publishes any change)
+     * @param width Number of values compared for changes
+     * @param bytesPerPublish Payload size of one publish, for bandwidth accounting
+     */
+    public TelemetryChannel(String name, double period, double deadband, int width, int bytesPerPublish) {
+        this.name = name;
+        this.period = period;
+        this.deadband = deadband;
+        this.bytesPerPublish = bytesPerPublish;
+        this.lastValues = new double[width];
+    }
+
+    /**
+     * Decides whether to publish, and records the values as published if so.
+     * @param timestampSeconds Time of the sample being considered
+     * @param values Candidate values (at least {@code width} long)
+     * @return true if the caller should publish now
+     */
+    public boolean shouldPublish(double timestampSeconds, double[] values) {
+        if (timestampSeconds < nextPublishTime) {
+            return false;
+        }
+        if (hasPublished && !hasChanged(values)) {
+            skippedCount++;
+            return false;
+        }
+
+        System.arraycopy(values, 0, lastValues, 0, lastValues.length);
+        hasPublished = true;
+        nextPublishTime = timestampSeconds + period;
+        publishCount++;
+        byteCount += bytesPerPublish;
+        return true;
+    }
+
+    private boolean hasChanged(double[] values) {
+        for (int i = 0; i < lastValues.length; i++) {
+            if (Math.abs(values[i] - lastValues[i]) > deadband) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return Name of the channel */
+    public String getName() {
+        return name;
+    }
+
+    /** @return Number of times the channel published */
+    public long getPublishCount() {
+        return publishCount;
+    }
+
+    /** @return Number of due publishes skipped because nothing changed beyond the deadband */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /** @return Total payload bytes published */
+    public long getByteCount() {
+        return byteCount;
+    }
+}
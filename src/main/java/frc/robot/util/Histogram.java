@@ -0,0 +1,111 @@
+package frc.robot.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-bin histogram for timing measurements.
+ *
+ * Bins are allocated once, so recording a value never allocates. Values past the last
+ * bin are counted in an overflow bin; the exact maximum is tracked separately.
+ * Percentiles are resolved to the upper edge of a bin. Not thread-safe.
+ */
+public class Histogram {
+    private final double binWidth;
+    private final long[] bins;
+
+    private long count = 0;
+    private double sum = 0.0;
+    private double max = 0.0;
+
+    /**
+     * Creates an empty histogram covering [0, binWidth * binCount), plus an overflow bin.
+     * @param binWidth Width of each bin, in the units of the recorded values
+     * @param binCount Number of regular bins
+     */
+    public Histogram(double binWidth, int binCount) {
+        if (binWidth <= 0.0 || binCount <= 0) {
+            throw new IllegalArgumentException("Histogram needs a positive bin width and count");
+        }
+        this.binWidth = binWidth;
+        this.bins = new long[binCount + 1];
+    }
+
+    /**
+     * Records one value. Negative values are counted as zero.
+     * @param value Value to record
+     */
+    public void record(double value) {
+        value = Math.max(0.0, value);
+        int bin = (int) Math.min(value / binWidth, bins.length - 1);
+        bins[bin]++;
+        count++;
+        sum += value;
+        if (count == 1 || value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Gets the value below which a fraction of the recorded values fall.
+     * @param fraction Fraction of values, from 0 to 1 (e.g. 0.99 for p99)
+     * @return Upper edge of the bin holding that percentile (capped at the maximum), or 0 if empty
+     */
+    public double getPercentile(double fraction) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < bins.length - 1; i++) {
+            seen += bins[i];
+            if (seen >= rank) {
+                return Math.min((i + 1) * binWidth, max);
+            }
+        }
+        return max;
+    }
+
+    /** @return Number of values recorded since the last reset */
+    public long getCount() {
+        return count;
+    }
+
+    /** @return Largest value recorded since the last reset, or 0 if empty */
+    public double getMax() {
+        return max;
+    }
+
+    /** @return Mean of the values recorded since the last reset, or 0 if empty */
+    public double getMean() {
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    /**
+     * Gets the number of values in one bin.
+     * @param bin Bin index; the last index is the overflow bin
+     * @return Count in that bin
+     */
+    public long getBinValue(int bin) {
+        return bins[bin];
+    }
+
+    /** @return Number of bins, including the overflow bin */
+    public int getBinCount() {
+        return bins.length;
+    }
+
+    /** @return Width of each regular bin */
+    public double getBinWidth() {
+        return binWidth;
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        Arrays.fill(bins, 0);
+        count = 0;
+        sum = 0.0;
+        max = 0.0;
+    }
+}
@@ -0,0 +1,263 @@
+package frc.robot.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.Alert;
+import edu.wpi.first.wpilibj.Alert.AlertType;
+
+import frc.robot.Constants.JvmConstants;
+
+/**
+ * Tracks JVM allocation, garbage collection and heap headroom once per robot loop.
+ *
+ * Threads register themselves with {@link #registerCurrentThread(String)}. Then each
+ * {@link #update()} reads every registered thread's allocation counter and records how
+ * many bytes it allocated since the previous loop. It also records GC count and time and
+ * free heap space. Nothing here allocates, so the monitor does not distort its own readings.
+ *
+ * Statistics are published under "JVM" through a {@link PublisherRegistry} every
+ * {@link JvmConstants#PUBLISH_PERIOD}.
+ * A dashboard alert is raised when the main loop allocates more than
+ * {@link JvmConstants#ALLOCATION_BUDGET_BYTES}. {@link #update()} must be called from
+ * the main robot thread; registration is thread-safe.
+ */
+public class JvmMonitor {
+    private static JvmMonitor instance;
+
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final boolean allocationSupported;
+    private final GarbageCollectorMXBean[] gcBeans;
+    private final Runtime runtime = Runtime.getRuntime();
+    private final PublisherRegistry dashboard = PublisherRegistry.forTable("JVM");
+
+    /* Registered threads; entries are written before threadCount is incremented */
+    private final String[] threadNames = new String[JvmConstants.MAX_THREADS];
+    private final long[] threadIds = new long[JvmConstants.MAX_THREADS];
+    private final long[] lastAllocated = new long[JvmConstants.MAX_THREADS];
+    private final long[] loopAllocated = new long[JvmConstants.MAX_THREADS];
+    private final long[] maxLoopAllocated = new long[JvmConstants.MAX_THREADS];
+    private volatile int threadCount = 0;
+
+    /* Per-thread entries, added on the main thread the first time each thread is published */
+    private final PublisherRegistry.IntegerEntry[] loopAllocatedEntries =
+        new PublisherRegistry.IntegerEntry[JvmConstants.MAX_THREADS];
+    private final PublisherRegistry.IntegerEntry[] maxLoopAllocatedEntries =
+        new PublisherRegistry.IntegerEntry[JvmConstants.MAX_THREADS];
+    private int publishedThreadCount = 0;
+    private int mainThreadIndex = -1;
+
+    private long gcCount = 0;
+    private long gcTimeMillis = 0;
+    private long loopGcTimeMillis = 0;
+    private long maxLoopGcTimeMillis = 0;
+    private long heapHeadroomBytes = 0;
+    private long overBudgetLoops = 0;
+    private double nextPublishTime = Double.NEGATIVE_INFINITY;
+
+    private final PublisherRegistry.IntegerEntry gcCountEntry = dashboard.addInteger("GC/Count");
+    private final PublisherRegistry.IntegerEntry gcTimeEntry = dashboard.addInteger("GC/TotalMs");
+    private final PublisherRegistry.IntegerEntry maxLoopGcTimeEntry = dashboard.addInteger("GC/MaxLoopMs");
+    private final PublisherRegistry.IntegerEntry heapUsedEntry = dashboard.addInteger("Heap/UsedBytes");
+    private final PublisherRegistry.IntegerEntry heapHeadroomEntry = dashboard.addInteger("Heap/HeadroomBytes");
+    private final PublisherRegistry.DoubleEntry heapHeadroomRatioEntry = dashboard.addDouble("Heap/HeadroomRatio");
+    private final PublisherRegistry.IntegerEntry overBudgetLoopsEntry = dashboard.addInteger("OverBudgetLoops");
+
+    private final Alert allocationAlert = new Alert("Main loop allocation over budget", AlertType.kWarning);
+    private final Alert gcPauseAlert = new Alert("GC pause in main loop", AlertType.kWarning);
+    private double allocationAlertUntil = Double.NEGATIVE_INFINITY;
+    private double gcPauseAlertUntil = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Gets the JVM monitor.
+     * @return The shared monitor
+     */
+    public static synchronized JvmMonitor getInstance() {
+        if (instance == null) {
+            instance = new JvmMonitor();
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a monitor. Robot code should use {@link #getInstance()}.
+     */
+    public JvmMonitor() {
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        allocationSupported = threadBean.isThreadAllocatedMemorySupported();
+        if (allocationSupported) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        gcBeans = beans.toArray(new GarbageCollectorMXBean[0]);
+        readGc();
+    }
+
+    /**
+     * Starts tracking allocation on the calling thread. Registering a thread twice has no effect.
+     * @param name Name shown in statistics, e.g. "Main" or "Odometry"
+     * @return true if the thread is tracked
+     */
+    public synchronized boolean registerCurrentThread(String name) {
+        long id = Thread.currentThread().getId();
+        int count = threadCount;
+        for (int i = 0; i < count; i++) {
+            if (threadIds[i] == id) {
+                return true;
+            }
+        }
+        if (!allocationSupported || count >= JvmConstants.MAX_THREADS) {
+            return false;
+        }
+
+        threadNames[count] = name;
+        threadIds[count] = id;
+        lastAllocated[count] = threadBean.getCurrentThreadAllocatedBytes();
+        threadCount = count + 1;
+        return true;
+    }
+
+    /**
+     * Marks the calling thread as the main robot thread, whose allocation is checked
+     * against the budget. Also registers it.
+     */
+    public synchronized void registerMainThread() {
+        if (registerCurrentThread("Main")) {
+            long id = Thread.currentThread().getId();
+            for (int i = 0; i < threadCount; i++) {
+                if (threadIds[i] == id) {
+                    mainThreadIndex = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Samples allocation, GC and heap once. Call at the same point in every robot loop.
+     * @param nowSeconds Current time (FPGA time base)
+     */
+    public void update(double nowSeconds) {
+        int count = threadCount;
+        for (int i = 0; i < count; i++) {
+            long allocated = threadBean.getThreadAllocatedBytes(threadIds[i]);
+            if (allocated < 0) {
+                // Thread has exited
+                loopAllocated[i] = 0;
+                continue;
+            }
+            loopAllocated[i] = allocated - lastAllocated[i];
+            lastAllocated[i] = allocated;
+            maxLoopAllocated[i] = Math.max(maxLoopAllocated[i], loopAllocated[i]);
+        }
+
+        long previousGcTime = gcTimeMillis;
+        readGc();
+        loopGcTimeMillis = gcTimeMillis - previousGcTime;
+        maxLoopGcTimeMillis = Math.max(maxLoopGcTimeMillis, loopGcTimeMillis);
+        heapHeadroomBytes = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+
+        if (mainThreadIndex >= 0 && loopAllocated[mainThreadIndex] > JvmConstants.ALLOCATION_BUDGET_BYTES) {
+            overBudgetLoops++;
+            if (nowSeconds >= allocationAlertUntil) {
+                allocationAlert.setText("Main loop allocated " + loopAllocated[mainThreadIndex] / 1024
+                    + " KB (budget " + JvmConstants.ALLOCATION_BUDGET_BYTES / 1024 + " KB)");
+            }
+            allocationAlertUntil = nowSeconds + JvmConstants.ALERT_HOLD_TIME;
+        }
+        if (loopGcTimeMillis >= JvmConstants.GC_PAUSE_ALERT_MILLIS) {
+            if (nowSeconds >= gcPauseAlertUntil) {
+                gcPauseAlert.setText("GC pause of " + loopGcTimeMillis + " ms in main loop");
+            }
+            gcPauseAlertUntil = nowSeconds + JvmConstants.ALERT_HOLD_TIME;
+        }
+        allocationAlert.set(nowSeconds < allocationAlertUntil);
+        gcPauseAlert.set(nowSeconds < gcPauseAlertUntil);
+
+        if (nowSeconds >= nextPublishTime) {
+            nextPublishTime = nowSeconds + JvmConstants.PUBLISH_PERIOD;
+            publish();
+        }
+    }
+
+    private void readGc() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) {
+            count += Math.max(0, bean.getCollectionCount());
+            time += Math.max(0, bean.getCollectionTime());
+        }
+        gcCount = count;
+        gcTimeMillis = time;
+    }
+
+    private void publish() {
+        int count = threadCount;
+        for (; publishedThreadCount < count; publishedThreadCount++) {
+            String name = threadNames[publishedThreadCount];
+            loopAllocatedEntries[publishedThreadCount] = dashboard.addInteger(name + "/BytesPerLoop");
+            maxLoopAllocatedEntries[publishedThreadCount] = dashboard.addInteger(name + "/MaxBytesPerLoop");
+        }
+        for (int i = 0; i < count; i++) {
+            loopAllocatedEntries[i].set(loopAllocated[i]);
+            maxLoopAllocatedEntries[i].set(maxLoopAllocated[i]);
+            maxLoopAllocated[i] = 0;
+        }
+
+        long maxHeap = runtime.maxMemory();
+        gcCountEntry.set(gcCount);
+        gcTimeEntry.set(gcTimeMillis);
+        maxLoopGcTimeEntry.set(maxLoopGcTimeMillis);
+        heapUsedEntry.set(maxHeap - heapHeadroomBytes);
+        heapHeadroomEntry.set(heapHeadroomBytes);
+        heapHeadroomRatioEntry.set((double) heapHeadroomBytes / maxHeap);
+        overBudgetLoopsEntry.set(overBudgetLoops);
+        maxLoopGcTimeMillis = 0;
+    }
+
+    /**
+     * Gets the bytes a thread allocated between the last two updates.
+     * @param name Name the thread registered with
+     * @return Bytes allocated, or -1 if no thread registered with that name
+     */
+    public long getLoopAllocatedBytes(String name) {
+        int count = threadCount;
+        for (int i = 0; i < count; i++) {
+            if (threadNames[i].equals(name)) {
+                return loopAllocated[i];
+            }
+        }
+        return -1;
+    }
+
+    /** @return Whether this JVM can measure per-thread allocation */
+    public boolean isAllocationSupported() {
+        return allocationSupported;
+    }
+
+    /** @return Total garbage collections since startup */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /** @return Time spent in garbage collection between the last two updates (ms) */
+    public long getLoopGcTimeMillis() {
+        return loopGcTimeMillis;
+    }
+
+    /** @return Heap that can still be allocated before reaching the maximum heap size (bytes) */
+    public long getHeapHeadroomBytes() {
+        return heapHeadroomBytes;
+    }
+
+    /** @return Number of main loops that allocated more than the budget */
+    public long getOverBudgetLoops() {
+        return overBudgetLoops;
+    }
+
+    /** @return Whether the allocation budget alert is currently shown */
+    public boolean isAllocationAlertActive() {
+        return allocationAlert.get();
+    }
+}
@@ -0,0 +1,288 @@
+package frc.robot.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import edu.wpi.first.wpilibj.event.EventLoop;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+import frc.robot.Constants.ProfilerConstants;
+
+/**
+ * Times each part of the main robot loop and names the worst offender when the loop overruns.
+ *
+ * Items are registered once by name and then timed with {@link #record(int, long)}. Once
+ * {@link #install(CommandScheduler)} is called, trigger polling and every command's
+ * execute are timed automatically. Subsystems time their own periodic.
+ * Each item has a preallocated histogram, so recording never allocates.
+ *
+ * Every {@link ProfilerConstants#PUBLISH_PERIOD}, p50/p99/max per item are published under
+ * "Profiler/&lt;item&gt;" through a {@link PublisherRegistry} and the histograms restart.
+ * When a loop takes longer than {@link ProfilerConstants#LOOP_BUDGET}, the item that used
+ * the most time in that loop is published as the worst offender. Time not covered by any
+ * item counts as "(unattributed)".
+ * Not thread-safe; use from the main robot thread only.
+ */
+public class LoopProfiler {
+    private static LoopProfiler instance;
+
+    /** Name reported when the largest share of an overrun loop was not covered by any item */
+    public static final String UNATTRIBUTED = "(unattributed)";
+
+    private final LongSupplier clock;
+    private final PublisherRegistry dashboard = PublisherRegistry.forTable("Profiler");
+
+    private final String[] names = new String[ProfilerConstants.MAX_ITEMS];
+    private final Histogram[] histograms = new Histogram[ProfilerConstants.MAX_ITEMS];
+    private final long[] loopNanos = new long[ProfilerConstants.MAX_ITEMS];
+    private final long[] overrunCounts = new long[ProfilerConstants.MAX_ITEMS];
+    private final double[] p50Millis = new double[ProfilerConstants.MAX_ITEMS];
+    private final double[] p99Millis = new double[ProfilerConstants.MAX_ITEMS];
+    private final double[] maxMillis = new double[ProfilerConstants.MAX_ITEMS];
+    private final PublisherRegistry.DoubleEntry[] p50Entries = new PublisherRegistry.DoubleEntry[ProfilerConstants.MAX_ITEMS];
+    private final PublisherRegistry.DoubleEntry[] p99Entries = new PublisherRegistry.DoubleEntry[ProfilerConstants.MAX_ITEMS];
+    private final PublisherRegistry.DoubleEntry[] maxEntries = new PublisherRegistry.DoubleEntry[ProfilerConstants.MAX_ITEMS];
+    private final PublisherRegistry.IntegerEntry[] overrunEntries = new PublisherRegistry.IntegerEntry[ProfilerConstants.MAX_ITEMS];
+    private final Map<String, Integer> idsByName = new HashMap<>();
+    private final Map<Command, Integer> idsByCommand = new HashMap<>();
+    private int itemCount = 0;
+
+    private final int loopId;
+    private final int triggersId;
+    private long loopStartNanos = 0;
+    private long markNanos = 0;
+    private long nextPublishNanos = Long.MIN_VALUE;
+    private boolean installed = false;
+
+    private long overrunCount = 0;
+    private String worstOffender = "";
+    private double worstOffenderMillis = 0.0;
+
+    private final PublisherRegistry.IntegerEntry overrunCountEntry = dashboard.addInteger("Overruns");
+    private final PublisherRegistry.StringEntry worstOffenderEntry = dashboard.addString("LastOverrun/WorstOffender");
+    private final PublisherRegistry.DoubleEntry worstOffenderMillisEntry = dashboard.addDouble("LastOverrun/WorstOffenderMs");
+    private final PublisherRegistry.DoubleEntry overrunLoopMillisEntry = dashboard.addDouble("LastOverrun/LoopMs");
+
+    /**
+     * Gets the profiler for the main robot loop.
+     * @return The shared profiler
+     */
+    public static synchronized LoopProfiler getInstance() {
+        if (instance == null) {
+            instance = new LoopProfiler(System::nanoTime);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a profiler. Robot code should use {@link #getInstance()}.
+     * @param clock Monotonic time source in nanoseconds
+     */
+    public LoopProfiler(LongSupplier clock) {
+        this.clock = clock;
+        loopId = register("Loop");
+        triggersId = register("Triggers.poll()");
+    }
+
+    /**
+     * Registers an item to time, or returns the existing ID for that name.
+     * Call once up front, not every loop.
+     * @param name Name shown in statistics, e.g. "VisionSubsystem.periodic()"
+     * @return Item ID for {@link #record(int, long)}, or -1 if the item table is full
+     */
+    public int register(String name) {
+        Integer existing = idsByName.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        if (itemCount >= ProfilerConstants.MAX_ITEMS) {
+            return -1;
+        }
+
+        int id = itemCount++;
+        names[id] = name;
+        histograms[id] = new Histogram(ProfilerConstants.HISTOGRAM_BIN_WIDTH, ProfilerConstants.HISTOGRAM_BINS);
+        p50Entries[id] = dashboard.addDouble(name + "/P50Ms");
+        p99Entries[id] = dashboard.addDouble(name + "/P99Ms");
+        maxEntries[id] = dashboard.addDouble(name + "/MaxMs");
+        overrunEntries[id] = dashboard.addInteger(name + "/Overruns");
+        idsByName.put(name, id);
+        return id;
+    }
+
+    /**
+     * Times trigger polling and every command's execute on the given scheduler.
+     * Command times run from the end of the previous command (or of trigger polling) to
+     * the end of the command's execute, so they include small scheduler overhead.
+     * @param scheduler Scheduler to instrument (only the first call has an effect)
+     */
+    public void install(CommandScheduler scheduler) {
+        if (installed) {
+            return;
+        }
+        installed = true;
+
+        EventLoop buttonLoop = scheduler.getDefaultButtonLoop();
+        scheduler.setActiveButtonLoop(new EventLoop() {
+            @Override
+            public void poll() {
+                long start = clock.getAsLong();
+                buttonLoop.poll();
+                markNanos = clock.getAsLong();
+                record(triggersId, markNanos - start);
+            }
+        });
+        scheduler.onCommandExecute(this::onCommandExecuted);
+        scheduler.onCommandFinish(command -> markNanos = clock.getAsLong());
+        scheduler.onCommandInterrupt(command -> markNanos = clock.getAsLong());
+    }
+
+    private void onCommandExecuted(Command command) {
+        Integer id = idsByCommand.get(command);
+        if (id == null) {
+            // First execute of this command; allocates once
+            id = register(command.getName() + ".execute()");
+            idsByCommand.put(command, id);
+        }
+        long now = clock.getAsLong();
+        record(id, now - markNanos);
+        markNanos = now;
+    }
+
+    /**
+     * Records one timing sample for an item.
+     * @param id Item ID from {@link #register(String)} (ignored if negative)
+     * @param elapsedNanos Time the item took
+     */
+    public void record(int id, long elapsedNanos) {
+        if (id < 0) {
+            return;
+        }
+        histograms[id].record(elapsedNanos * 1e-6);
+        loopNanos[id] += elapsedNanos;
+    }
+
+    /**
+     * Marks the start of a robot loop.
+     */
+    public void startLoop() {
+        loopStartNanos = clock.getAsLong();
+        markNanos = loopStartNanos;
+        for (int i = 0; i < itemCount; i++) {
+            loopNanos[i] = 0;
+        }
+    }
+
+    /**
+     * Marks the end of a robot loop, checks for an overrun and publishes statistics when due.
+     */
+    public void endLoop() {
+        long now = clock.getAsLong();
+        long elapsed = now - loopStartNanos;
+        histograms[loopId].record(elapsed * 1e-6);
+
+        if (elapsed > (long) (ProfilerConstants.LOOP_BUDGET * 1e9)) {
+            attributeOverrun(elapsed);
+        }
+
+        if (now >= nextPublishNanos) {
+            nextPublishNanos = now + (long) (ProfilerConstants.PUBLISH_PERIOD * 1e9);
+            publish();
+        }
+    }
+
+    private void attributeOverrun(long loopElapsedNanos) {
+        int worst = -1;
+        long worstNanos = 0;
+        long attributedNanos = 0;
+        for (int i = 0; i < itemCount; i++) {
+            if (i == loopId) {
+                continue;
+            }
+            attributedNanos += loopNanos[i];
+            if (loopNanos[i] > worstNanos) {
+                worstNanos = loopNanos[i];
+                worst = i;
+            }
+        }
+
+        long unattributedNanos = loopElapsedNanos - attributedNanos;
+        if (worst < 0 || unattributedNanos > worstNanos) {
+            worstOffender = UNATTRIBUTED;
+            worstNanos = unattributedNanos;
+        } else {
+            worstOffender = names[worst];
+            overrunCounts[worst]++;
+        }
+        worstOffenderMillis = worstNanos * 1e-6;
+        overrunCount++;
+
+        overrunCountEntry.set(overrunCount);
+        worstOffenderEntry.set(worstOffender);
+        worstOffenderMillisEntry.set(worstOffenderMillis);
+        overrunLoopMillisEntry.set(loopElapsedNanos * 1e-6);
+    }
+
+    private void publish() {
+        for (int i = 0; i < itemCount; i++) {
+            Histogram histogram = histograms[i];
+            if (histogram.getCount() > 0) {
+                p50Millis[i] = histogram.getPercentile(0.5);
+                p99Millis[i] = histogram.getPercentile(0.99);
+                maxMillis[i] = histogram.getMax();
+                histogram.reset();
+            }
+            p50Entries[i].set(p50Millis[i]);
+            p99Entries[i].set(p99Millis[i]);
+            maxEntries[i].set(maxMillis[i]);
+            overrunEntries[i].set(overrunCounts[i]);
+        }
+    }
+
+    /** @return Number of loops that exceeded the loop budget */
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /** @return Name of the item that used the most time in the last overrun loop, or "" if none */
+    public String getWorstOffender() {
+        return worstOffender;
+    }
+
+    /** @return Time the worst offender used in the last overrun loop (ms) */
+    public double getWorstOffenderMillis() {
+        return worstOffenderMillis;
+    }
+
+    /**
+     * Looks up an item by name.
+     * @param name Item name
+     * @return Item ID, or -1 if not registered
+     */
+    public int getId(String name) {
+        Integer id = idsByName.get(name);
+        return id != null ? id : -1;
+    }
+
+    /** @return Median time of an item over the last publish window (ms) */
+    public double getP50Millis(int id) {
+        return p50Millis[id];
+    }
+
+    /** @return 99th percentile time of an item over the last publish window (ms) */
+    public double getP99Millis(int id) {
+        return p99Millis[id];
+    }
+
+    /** @return Worst time of an item over the last publish window (ms) */
+    public double getMaxMillis(int id) {
+        return maxMillis[id];
+    }
+
+    /** @return Number of overrun loops this item was blamed for */
+    public long getOverrunCount(int id) {
+        return overrunCounts[id];
+    }
+}
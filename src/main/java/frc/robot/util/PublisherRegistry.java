@@ -0,0 +1,276 @@
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringPublisher;
+
+/**
+ * Dashboard values for one subsystem, with topics resolved once up front.
+ *
+ * A subsystem adds its entries when it is constructed and keeps the returned handles.
+ * Setting a handle only stores a primitive, and {@link #flushAll()} pushes every changed
+ * value to NetworkTables once per loop. This replaces SmartDashboard.putX, which looks
+ * up the key in a hash map on every call.
+ *
+ * Topics live under "/SmartDashboard/&lt;prefix&gt;/", so dashboards laid out for the
+ * SmartDashboard keys keep working. Diagnostics that publish to their own top-level table
+ * use {@link #forTable(String)}. Use from the main robot thread only.
+ */
+public class PublisherRegistry implements AutoCloseable {
+    private static final List<PublisherRegistry> registries = new ArrayList<>();
+
+    private final NetworkTable table;
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Creates a registry for a subsystem's dashboard values.
+     * @param prefix Key prefix, e.g. "Vision" for keys "Vision/&lt;name&gt;"
+     */
+    public PublisherRegistry(String prefix) {
+        this(NetworkTableInstance.getDefault().getTable("SmartDashboard").getSubTable(prefix));
+    }
+
+    private PublisherRegistry(NetworkTable table) {
+        this.table = table;
+        registries.add(this);
+    }
+
+    /**
+     * Creates a registry for values under a top-level table instead of SmartDashboard.
+     * @param path Table path, e.g. "JVM" for keys "/JVM/&lt;name&gt;"
+     * @return New registry
+     */
+    public static PublisherRegistry forTable(String path) {
+        return new PublisherRegistry(NetworkTableInstance.getDefault().getTable(path));
+    }
+
+    /**
+     * Publishes every changed value in every open registry. Call once per robot loop.
+     */
+    public static void flushAll() {
+        for (int i = 0; i < registries.size(); i++) {
+            registries.get(i).flush();
+        }
+    }
+
+    /**
+     * Publishes this registry's changed values.
+     */
+    public void flush() {
+        for (int i = 0; i < entries.size(); i++) {
+            entries.get(i).flush();
+        }
+    }
+
+    /**
+     * Adds a numeric value.
+     * @param name Key under this registry's prefix
+     * @return Handle to set the value through
+     */
+    public DoubleEntry addDouble(String name) {
+        return add(new DoubleEntry(table.getDoubleTopic(name).publish()));
+    }
+
+    /**
+     * Adds an integer value.
+     * @param name Key under this registry's prefix
+     * @return Handle to set the value through
+     */
+    public IntegerEntry addInteger(String name) {
+        return add(new IntegerEntry(table.getIntegerTopic(name).publish()));
+    }
+
+    /**
+     * Adds a boolean value.
+     * @param name Key under this registry's prefix
+     * @return Handle to set the value through
+     */
+    public BooleanEntry addBoolean(String name) {
+        return add(new BooleanEntry(table.getBooleanTopic(name).publish()));
+    }
+
+    /**
+     * Adds a string value.
+     * @param name Key under this registry's prefix
+     * @return Handle to set the value through
+     */
+    public StringEntry addString(String name) {
+        return add(new StringEntry(table.getStringTopic(name).publish()));
+    }
+
+    private <T extends Entry> T add(T entry) {
+        entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * Stops publishing this registry's values and releases its topics.
+     */
+    @Override
+    public void close() {
+        registries.remove(this);
+        for (Entry entry : entries) {
+            entry.close();
+        }
+        entries.clear();
+    }
+
+    /** A dashboard value that is published on the next flush when it changes */
+    public abstract static class Entry {
+        protected boolean dirty = true;
+
+        abstract void flush();
+
+        abstract void close();
+    }
+
+    /** Numeric dashboard value */
+    public static final class DoubleEntry extends Entry {
+        private final DoublePublisher publisher;
+        private double value = 0.0;
+
+        private DoubleEntry(DoublePublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        /** @param value New value, published on the next flush if it changed */
+        public void set(double value) {
+            if (value != this.value) {
+                this.value = value;
+                dirty = true;
+            }
+        }
+
+        /** @return Latest value set */
+        public double get() {
+            return value;
+        }
+
+        @Override
+        void flush() {
+            if (dirty) {
+                publisher.set(value);
+                dirty = false;
+            }
+        }
+
+        @Override
+        void close() {
+            publisher.close();
+        }
+    }
+
+    /** Integer dashboard value */
+    public static final class IntegerEntry extends Entry {
+        private final IntegerPublisher publisher;
+        private long value = 0;
+
+        private IntegerEntry(IntegerPublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        /** @param value New value, published on the next flush if it changed */
+        public void set(long value) {
+            if (value != this.value) {
+                this.value = value;
+                dirty = true;
+            }
+        }
+
+        /** @return Latest value set */
+        public long get() {
+            return value;
+        }
+
+        @Override
+        void flush() {
+            if (dirty) {
+                publisher.set(value);
+                dirty = false;
+            }
+        }
+
+        @Override
+        void close() {
+            publisher.close();
+        }
+    }
+
+    /** Boolean dashboard value */
+    public static final class BooleanEntry extends Entry {
+        private final BooleanPublisher publisher;
+        private boolean value = false;
+
+        private BooleanEntry(BooleanPublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        /** @param value New value, published on the next flush if it changed */
+        public void set(boolean value) {
+            if (value != this.value) {
+                this.value = value;
+                dirty = true;
+            }
+        }
+
+        /** @return Latest value set */
+        public boolean get() {
+            return value;
+        }
+
+        @Override
+        void flush() {
+            if (dirty) {
+                publisher.set(value);
+                dirty = false;
+            }
+        }
+
+        @Override
+        void close() {
+            publisher.close();
+        }
+    }
+
+    /** String dashboard value */
+    public static final class StringEntry extends Entry {
+        private final StringPublisher publisher;
+        private String value = "";
+
+        private StringEntry(StringPublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        /** @param value New value, published on the next flush if it changed */
+        public void set(String value) {
+            if (!value.equals(this.value)) {
+                this.value = value;
+                dirty = true;
+            }
+        }
+
+        /** @return Latest value set */
+        public String get() {
+            return value;
+        }
+
+        @Override
+        void flush() {
+            if (dirty) {
+                publisher.set(value);
+                dirty = false;
+            }
+        }
+
+        @Override
+        void close() {
+            publisher.close();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package frc.robot.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.Threads;
+
+import frc.robot.Constants.ThreadConstants;
+
+/**
+ * Places robot threads on the roboRIO's two cores.
+ *
+ * Control threads (the main loop and the odometry thread) get real-time priority and are
+ * pinned to {@link ThreadConstants#CONTROL_CORE}. Background threads (vision ingest,
+ * telemetry publishing, logging) are pinned to {@link ThreadConstants#BACKGROUND_CORE}
+ * and can be niced down, so they never take time from the control loop.
+ *
+ * Each thread places itself, because priority can only be set on the calling thread.
+ * Priority is applied right away. Core affinity and nice need the thread's Linux thread
+ * ID, so they are applied by a low-priority worker running taskset and renice; a control
+ * thread never starts a process. The result for each thread is read back from /proc and
+ * published under "Threads/&lt;name&gt;", with a warning for anything that did not take.
+ *
+ * Placement only happens on the real robot and when {@link ThreadConstants#ENABLED}.
+ */
+public class ThreadPlacement {
+    private static ThreadPlacement instance;
+
+    /** What was asked for one thread, and what actually took effect */
+    public static final class Result {
+        /** Core the thread was asked to run on */
+        public final int requestedCore;
+        /** Real-time priority asked for, or 0 for a normal thread */
+        public final int requestedPriority;
+        /** Whether the real-time priority took effect (true when none was asked for) */
+        public volatile boolean priorityApplied = false;
+        /** Whether the thread is now limited to the requested core */
+        public volatile boolean affinityApplied = false;
+        /** Cores the thread may run on, as read back from /proc, or empty if unknown */
+        public volatile String allowedCores = "";
+        /** Whether placement was skipped (simulation or disabled) */
+        public volatile boolean skipped = false;
+
+        Result(int requestedCore, int requestedPriority) {
+            this.requestedCore = requestedCore;
+            this.requestedPriority = requestedPriority;
+        }
+    }
+
+    private final boolean enabled;
+    private final Map<String, Result> results = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+    private final NetworkTable table = NetworkTableInstance.getDefault().getTable("Threads");
+    private Thread worker = null;
+
+    /**
+     * Gets the thread placement service.
+     * @return The shared instance
+     */
+    public static synchronized ThreadPlacement getInstance() {
+        if (instance == null) {
+            instance = new ThreadPlacement(ThreadConstants.ENABLED && RobotBase.isReal());
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a placement service. Robot code should use {@link #getInstance()}.
+     * @param enabled Whether to change threads at all; when false every request is recorded as skipped
+     */
+    public ThreadPlacement(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Places the calling thread as the main robot loop.
+     */
+    public void placeMainThread() {
+        placeCurrentThread("Main", ThreadConstants.CONTROL_CORE, ThreadConstants.MAIN_PRIORITY, 0);
+    }
+
+    /**
+     * Places the calling thread as a control thread: real-time priority on the control core.
+     * @param name Name to report the thread under
+     * @param realtimePriority Real-time priority, 1 (lowest) to 99
+     */
+    public void placeControlThread(String name, int realtimePriority) {
+        placeCurrentThread(name, ThreadConstants.CONTROL_CORE, realtimePriority, 0);
+    }
+
+    /**
+     * Places the calling thread as a background thread: normal scheduling on the background core.
+     * @param name Name to report the thread under
+     * @param nice Nice level to apply, 0 for default and up to 19 for lowest priority
+     */
+    public void placeBackgroundThread(String name, int nice) {
+        placeCurrentThread(name, ThreadConstants.BACKGROUND_CORE, 0, nice);
+    }
+
+    private void placeCurrentThread(String name, int core, int realtimePriority, int nice) {
+        Result result = new Result(core, realtimePriority);
+        results.put(name, result);
+        if (!enabled) {
+            result.skipped = true;
+            publish(name, result);
+            return;
+        }
+
+        if (realtimePriority > 0) {
+            Threads.setCurrentThreadPriority(true, realtimePriority);
+            result.priorityApplied = Threads.getCurrentThreadIsRealTime()
+                && Threads.getCurrentThreadPriority() == realtimePriority;
+        } else {
+            result.priorityApplied = true;
+        }
+
+        long threadId;
+        try {
+            threadId = parseThreadId(Files.readSymbolicLink(Path.of("/proc/thread-self")).toString());
+        } catch (IOException | RuntimeException e) {
+            threadId = -1;
+        }
+        long tid = threadId;
+        submit(() -> applyAffinity(name, result, tid, nice));
+    }
+
+    /**
+     * Extracts the Linux thread ID from the target of /proc/thread-self.
+     * @param link Link target, e.g. "1234/task/1240"
+     * @return Thread ID
+     */
+    private static long parseThreadId(String link) {
+        return Long.parseLong(link.substring(link.lastIndexOf('/') + 1));
+    }
+
+    /* Worker thread */
+    private void applyAffinity(String name, Result result, long tid, int nice) {
+        if (tid > 0) {
+            run("taskset", "-p", "-c", Integer.toString(result.requestedCore), Long.toString(tid));
+            if (nice != 0) {
+                run("renice", "-n", Integer.toString(nice), "-p", Long.toString(tid));
+            }
+            result.allowedCores = readAllowedCores(tid);
+            result.affinityApplied = result.allowedCores.equals(Integer.toString(result.requestedCore));
+        }
+        publish(name, result);
+
+        if (!result.priorityApplied || !result.affinityApplied) {
+            DriverStation.reportWarning("Thread placement for " + name + " did not take effect: priority "
+                + (result.priorityApplied ? "ok" : "failed") + ", cores " + result.allowedCores, false);
+        }
+    }
+
+    private static void run(String... command) {
+        try {
+            Process process = new ProcessBuilder(List.of(command)).redirectErrorStream(true).start();
+            process.getInputStream().readAllBytes();
+            process.waitFor(5, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            // Reported through the read-back
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* "Cpus_allowed_list" from the thread's status, e.g. "1" or "0-1" */
+    private static String readAllowedCores(long tid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/task/" + tid + "/status"))) {
+                if (line.startsWith("Cpus_allowed_list:")) {
+                    return line.substring(line.indexOf(':') + 1).trim();
+                }
+            }
+        } catch (IOException e) {
+            // Fall through
+        }
+        return "";
+    }
+
+    private synchronized void submit(Runnable task) {
+        if (worker == null) {
+            worker = new Thread(this::runWorker, "ThreadPlacement");
+            worker.setDaemon(true);
+            worker.setPriority(Thread.MIN_PRIORITY);
+            worker.start();
+        }
+        tasks.add(task);
+    }
+
+    private void runWorker() {
+        placeBackgroundThread("ThreadPlacement", ThreadConstants.BACKGROUND_NICE);
+        while (true) {
+            try {
+                tasks.take().run();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /* Runs once per thread, so entries are looked up here rather than bound up front */
+    private void publish(String name, Result result) {
+        NetworkTable threadTable = table.getSubTable(name);
+        threadTable.getEntry("Skipped").setBoolean(result.skipped);
+        threadTable.getEntry("RequestedPriority").setInteger(result.requestedPriority);
+        threadTable.getEntry("PriorityApplied").setBoolean(result.priorityApplied);
+        threadTable.getEntry("RequestedCore").setInteger(result.requestedCore);
+        threadTable.getEntry("AffinityApplied").setBoolean(result.affinityApplied);
+        threadTable.getEntry("AllowedCores").setString(result.allowedCores);
+    }
+
+    /**
+     * Gets what happened when a thread was placed.
+     * @param name Name the thread was placed under
+     * @return The placement result, or null if no thread was placed under that name
+     */
+    public Result getResult(String name) {
+        return results.get(name);
+    }
+}
@@ -0,0 +1,216 @@
+package frc.robot.vision;
+
+import frc.robot.Constants.VisionConstants;
+import frc.robot.util.Histogram;
+import frc.robot.util.PublisherRegistry;
+
+/**
+ * Health and latency statistics for one camera.
+ *
+ * Tracks frame rate, capture-to-receive latency (how long a frame takes to reach the
+ * robot program) and capture-to-control latency (how old the newest frame is when a
+ * command acts on it). A camera counts as disconnected once no frame has arrived for
+ * {@link VisionConstants#CAMERA_DISCONNECT_TIMEOUT}, however fast the loop runs.
+ *
+ * Staleness and connection state are updated every loop. Frame rate and latency
+ * percentiles are computed over each {@link VisionConstants#HEALTH_REPORT_PERIOD} window.
+ * Everything is published under "Vision/Health/&lt;camera&gt;" through a
+ * {@link PublisherRegistry}. Not thread-safe; call from the main robot thread.
+ */
+public class CameraHealthMonitor implements AutoCloseable {
+    private final Histogram receiveLatency = new Histogram(
+        VisionConstants.LATENCY_HISTOGRAM_BIN_WIDTH, VisionConstants.LATENCY_HISTOGRAM_BINS);
+    private final Histogram controlLatency = new Histogram(
+        VisionConstants.LATENCY_HISTOGRAM_BIN_WIDTH, VisionConstants.LATENCY_HISTOGRAM_BINS);
+
+    private double lastReceiveTimestamp;
+    private double lastCaptureTimestamp;
+    private double lastControlCaptureTimestamp = Double.NaN;
+    private boolean errorSinceLastFrame = false;
+    private boolean connected = true;
+    private double stalenessSeconds = 0.0;
+
+    private double windowStart;
+    private long windowFrames = 0;
+    private long totalFrames = 0;
+    private long totalErrors = 0;
+
+    private double framesPerSecond = 0.0;
+    private double receiveLatencyP50 = 0.0;
+    private double receiveLatencyP99 = 0.0;
+    private double receiveLatencyMax = 0.0;
+    private double controlLatencyP50 = 0.0;
+    private double controlLatencyP99 = 0.0;
+    private double controlLatencyMax = 0.0;
+
+    /* Statistics entries, bound once */
+    private final PublisherRegistry dashboard;
+    private final PublisherRegistry.BooleanEntry connectedEntry;
+    private final PublisherRegistry.DoubleEntry stalenessEntry;
+    private final PublisherRegistry.DoubleEntry fpsEntry;
+    private final PublisherRegistry.DoubleEntry receiveP50Entry;
+    private final PublisherRegistry.DoubleEntry receiveP99Entry;
+    private final PublisherRegistry.DoubleEntry receiveMaxEntry;
+    private final PublisherRegistry.DoubleEntry controlP50Entry;
+    private final PublisherRegistry.DoubleEntry controlP99Entry;
+    private final PublisherRegistry.DoubleEntry controlMaxEntry;
+    private final PublisherRegistry.IntegerEntry framesEntry;
+    private final PublisherRegistry.IntegerEntry errorsEntry;
+
+    /**
+     * Creates a health monitor. The camera starts out connected.
+     * @param cameraName Name of the camera, used for the NetworkTables path
+     * @param nowSeconds Current time (FPGA time base)
+     */
+    public CameraHealthMonitor(String cameraName, double nowSeconds) {
+        lastReceiveTimestamp = nowSeconds;
+        lastCaptureTimestamp = nowSeconds;
+        windowStart = nowSeconds;
+
+        dashboard = PublisherRegistry.forTable("Vision/Health/" + cameraName);
+        connectedEntry = dashboard.addBoolean("Connected");
+        stalenessEntry = dashboard.addDouble("StalenessMs");
+        fpsEntry = dashboard.addDouble("FPS");
+        receiveP50Entry = dashboard.addDouble("ReceiveLatencyP50Ms");
+        receiveP99Entry = dashboard.addDouble("ReceiveLatencyP99Ms");
+        receiveMaxEntry = dashboard.addDouble("ReceiveLatencyMaxMs");
+        controlP50Entry = dashboard.addDouble("ControlLatencyP50Ms");
+        controlP99Entry = dashboard.addDouble("ControlLatencyP99Ms");
+        controlMaxEntry = dashboard.addDouble("ControlLatencyMaxMs");
+        framesEntry = dashboard.addInteger("Frames");
+        errorsEntry = dashboard.addInteger("Errors");
+    }
+
+    /**
+     * Records a frame from the camera.
+     * @param captureTimestampSeconds When the frame was captured (FPGA time base)
+     * @param receiveTimestampSeconds When the frame reached the robot program (FPGA time base)
+     */
+    public void recordFrame(double captureTimestampSeconds, double receiveTimestampSeconds) {
+        receiveLatency.record((receiveTimestampSeconds - captureTimestampSeconds) * 1000.0);
+        lastReceiveTimestamp = Math.max(lastReceiveTimestamp, receiveTimestampSeconds);
+        lastCaptureTimestamp = Math.max(lastCaptureTimestamp, captureTimestampSeconds);
+        errorSinceLastFrame = false;
+        windowFrames++;
+        totalFrames++;
+    }
+
+    /**
+     * Records a failed read. The camera is reported disconnected until its next frame.
+     */
+    public void recordError() {
+        errorSinceLastFrame = true;
+        totalErrors++;
+    }
+
+    /**
+     * Records that a drive command was just sent based on a frame from this camera.
+     * Each frame is counted once, however many loops act on it.
+     * @param captureTimestampSeconds Capture time of the frame the command used (FPGA time base)
+     * @param nowSeconds Time the command was sent (FPGA time base)
+     */
+    public void recordControl(double captureTimestampSeconds, double nowSeconds) {
+        if (captureTimestampSeconds == lastControlCaptureTimestamp) {
+            return;
+        }
+        lastControlCaptureTimestamp = captureTimestampSeconds;
+        controlLatency.record((nowSeconds - captureTimestampSeconds) * 1000.0);
+    }
+
+    /**
+     * Updates connection state and statistics. Call once per loop.
+     * @param nowSeconds Current time (FPGA time base)
+     */
+    public void update(double nowSeconds) {
+        stalenessSeconds = nowSeconds - lastCaptureTimestamp;
+        connected = !errorSinceLastFrame
+            && nowSeconds - lastReceiveTimestamp <= VisionConstants.CAMERA_DISCONNECT_TIMEOUT;
+
+        connectedEntry.set(connected);
+        stalenessEntry.set(stalenessSeconds * 1000.0);
+
+        double windowLength = nowSeconds - windowStart;
+        if (windowLength >= VisionConstants.HEALTH_REPORT_PERIOD) {
+            framesPerSecond = windowFrames / windowLength;
+            receiveLatencyP50 = receiveLatency.getPercentile(0.5);
+            receiveLatencyP99 = receiveLatency.getPercentile(0.99);
+            receiveLatencyMax = receiveLatency.getMax();
+            controlLatencyP50 = controlLatency.getPercentile(0.5);
+            controlLatencyP99 = controlLatency.getPercentile(0.99);
+            controlLatencyMax = controlLatency.getMax();
+
+            fpsEntry.set(framesPerSecond);
+            receiveP50Entry.set(receiveLatencyP50);
+            receiveP99Entry.set(receiveLatencyP99);
+            receiveMaxEntry.set(receiveLatencyMax);
+            controlP50Entry.set(controlLatencyP50);
+            controlP99Entry.set(controlLatencyP99);
+            controlMaxEntry.set(controlLatencyMax);
+            framesEntry.set(totalFrames);
+            errorsEntry.set(totalErrors);
+
+            receiveLatency.reset();
+            controlLatency.reset();
+            windowFrames = 0;
+            windowStart = nowSeconds;
+        }
+    }
+
+    /** @return true if a frame arrived within the disconnect timeout and no read has failed since */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /** @return Age of the newest frame at the last update (seconds) */
+    public double getStalenessSeconds() {
+        return stalenessSeconds;
+    }
+
+    /** @return Frame rate over the last report window */
+    public double getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    /** @return Median capture-to-receive latency over the last report window (ms) */
+    public double getReceiveLatencyP50() {
+        return receiveLatencyP50;
+    }
+
+    /** @return 99th percentile capture-to-receive latency over the last report window (ms) */
+    public double getReceiveLatencyP99() {
+        return receiveLatencyP99;
+    }
+
+    /** @return Worst capture-to-receive latency over the last report window (ms) */
+    public double getReceiveLatencyMax() {
+        return receiveLatencyMax;
+    }
+
+    /** @return Median capture-to-control latency over the last report window (ms) */
+    public double getControlLatencyP50() {
+        return controlLatencyP50;
+    }
+
+    /** @return 99th percentile capture-to-control latency over the last report window (ms) */
+    public double getControlLatencyP99() {
+        return controlLatencyP99;
+    }
+
+    /** @return Worst capture-to-control latency over the last report window (ms) */
+    public double getControlLatencyMax() {
+        return controlLatencyMax;
+    }
+
+    /** @return Total frames received */
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    /**
+     * Stops publishing this camera's statistics.
+     */
+    @Override
+    public void close() {
+        dashboard.close();
+    }
+}
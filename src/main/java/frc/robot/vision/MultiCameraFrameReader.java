@@ -0,0 +1,95 @@
+package frc.robot.vision;
+
+import org.photonvision.targeting.PhotonPipelineResult;
+
+/**
+ * Merges the frame streams of several cameras into one stream ordered by capture time.
+ *
+ * Holds one frame of lookahead per camera and always returns the oldest pending frame.
+ * Ordering is exact among frames that have already arrived; a camera whose frames
+ * arrive late can still deliver a frame older than one already returned.
+ * Not thread-safe; each consumer should own its own reader.
+ */
+public class MultiCameraFrameReader {
+    private final VisionFrameBuffer.Reader[] readers;
+    private final boolean[] pending;
+
+    private PhotonPipelineResult result = new PhotonPipelineResult();
+    private double timestampSeconds = 0.0;
+    private double receiveTimestampSeconds = 0.0;
+    private int cameraIndex = -1;
+    private long sequence = -1;
+
+    /**
+     * Creates a merged reader over one reader per camera.
+     * @param readers Per-camera readers, indexed by camera index
+     */
+    public MultiCameraFrameReader(VisionFrameBuffer.Reader[] readers) {
+        this.readers = readers;
+        this.pending = new boolean[readers.length];
+    }
+
+    /**
+     * Advances to the oldest unread frame across all cameras.
+     * @return true if a frame was read, false if every camera is caught up
+     */
+    public boolean next() {
+        int oldest = -1;
+        for (int i = 0; i < readers.length; i++) {
+            if (!pending[i]) {
+                pending[i] = readers[i].next();
+            }
+            if (pending[i] && (oldest < 0 || readers[i].timestampSeconds() < readers[oldest].timestampSeconds())) {
+                oldest = i;
+            }
+        }
+        if (oldest < 0) {
+            return false;
+        }
+
+        pending[oldest] = false;
+        result = readers[oldest].result();
+        timestampSeconds = readers[oldest].timestampSeconds();
+        receiveTimestampSeconds = readers[oldest].receiveTimestampSeconds();
+        cameraIndex = oldest;
+        sequence++;
+        return true;
+    }
+
+    /** @return Current frame (an empty result before the first frame) */
+    public PhotonPipelineResult result() {
+        return result;
+    }
+
+    /** @return Capture timestamp of the current frame in seconds (FPGA time base) */
+    public double timestampSeconds() {
+        return timestampSeconds;
+    }
+
+    /** @return Time the current frame reached the robot program in seconds (FPGA time base) */
+    public double receiveTimestampSeconds() {
+        return receiveTimestampSeconds;
+    }
+
+    /** @return Index of the camera that produced the current frame, or -1 before the first frame */
+    public int cameraIndex() {
+        return cameraIndex;
+    }
+
+    /** @return Position of the current frame in the merged stream, or -1 before the first frame */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the number of frames overwritten before this reader could consume them.
+     * @return Total dropped frame count across all cameras
+     */
+    public long getDroppedFrames() {
+        long dropped = 0;
+        for (int i = 0; i < readers.length; i++) {
+            dropped += readers[i].getDroppedFrames();
+        }
+        return dropped;
+    }
+}
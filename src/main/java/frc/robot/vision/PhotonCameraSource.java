@@ -0,0 +1,31 @@
+package frc.robot.vision;
+
+import java.util.List;
+
+import org.photonvision.PhotonCamera;
+import org.photonvision.targeting.PhotonPipelineResult;
+
+/**
+ * Frame source backed by a live PhotonVision camera.
+ */
+public class PhotonCameraSource implements VisionFrameSource {
+    private final PhotonCamera camera;
+
+    /**
+     * Creates a source for a live camera.
+     * @param cameraName Name of the PhotonVision camera (configured in PhotonVision UI)
+     */
+    public PhotonCameraSource(String cameraName) {
+        this.camera = new PhotonCamera(cameraName);
+    }
+
+    @Override
+    public String getName() {
+        return camera.getName();
+    }
+
+    @Override
+    public List<PhotonPipelineResult> getAllUnreadResults() {
+        return camera.getAllUnreadResults();
+    }
+}
@@ -0,0 +1,107 @@
+package frc.robot.vision;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+
+/**
+ * A single field-relative robot pose measured by vision.
+ *
+ * Instances are mutable and meant to be preallocated and reused, so passing
+ * observations between threads does not allocate.
+ */
+public class PoseObservation {
+    private double timestampSeconds;
+    private double x;
+    private double y;
+    private double rotationRadians;
+    private int tagCount;
+    private double averageTagDistance;
+    private double ambiguity;
+
+    /**
+     * Overwrites this observation.
+     * @param timestampSeconds Capture timestamp in seconds (FPGA time base)
+     * @param x Field X position in meters
+     * @param y Field Y position in meters
+     * @param rotationRadians Robot heading in radians
+     * @param tagCount Number of AprilTags used for the estimate
+     * @param averageTagDistance Average camera-to-tag distance in meters
+     * @param ambiguity Worst pose ambiguity of the tags used (0 = unambiguous)
+     */
+    public void set(
+        double timestampSeconds,
+        double x,
+        double y,
+        double rotationRadians,
+        int tagCount,
+        double averageTagDistance,
+        double ambiguity
+    ) {
+        this.timestampSeconds = timestampSeconds;
+        this.x = x;
+        this.y = y;
+        this.rotationRadians = rotationRadians;
+        this.tagCount = tagCount;
+        this.averageTagDistance = averageTagDistance;
+        this.ambiguity = ambiguity;
+    }
+
+    /**
+     * Copies another observation into this one.
+     * @param other Observation to copy
+     */
+    public void set(PoseObservation other) {
+        set(
+            other.timestampSeconds,
+            other.x,
+            other.y,
+            other.rotationRadians,
+            other.tagCount,
+            other.averageTagDistance,
+            other.ambiguity
+        );
+    }
+
+    /**
+     * Creates a Pose2d for this observation (allocates).
+     * @return Field-relative robot pose
+     */
+    public Pose2d toPose2d() {
+        return new Pose2d(x, y, Rotation2d.fromRadians(rotationRadians));
+    }
+
+    /** @return Capture timestamp in seconds (FPGA time base) */
+    public double getTimestampSeconds() {
+        return timestampSeconds;
+    }
+
+    /** @return Field X position in meters */
+    public double getX() {
+        return x;
+    }
+
+    /** @return Field Y position in meters */
+    public double getY() {
+        return y;
+    }
+
+    /** @return Robot heading in radians */
+    public double getRotationRadians() {
+        return rotationRadians;
+    }
+
+    /** @return Number of AprilTags used for the estimate */
+    public int getTagCount() {
+        return tagCount;
+    }
+
+    /** @return Average camera-to-tag distance in meters */
+    public double getAverageTagDistance() {
+        return averageTagDistance;
+    }
+
+    /** @return Worst pose ambiguity of the tags used (0 = unambiguous) */
+    public double getAmbiguity() {
+        return ambiguity;
+    }
+}
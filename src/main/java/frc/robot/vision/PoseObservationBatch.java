@@ -0,0 +1,96 @@
+package frc.robot.vision;
+
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.inputs.LoggableInputs;
+
+/**
+ * The pose observations handed to fusion in one loop, logged as an AdvantageKit input.
+ *
+ * Camera workers estimate poses asynchronously, so a frame logged in one loop can have
+ * its observation drained a loop later. Logging the drained batch itself lets log replay
+ * fuse exactly the measurements the robot fused. Each field is logged as an array with
+ * one value per observation. AdvantageKit keeps a reference to every logged array until
+ * its receiver thread has written it, so each loop logs freshly allocated arrays.
+ */
+public class PoseObservationBatch implements LoggableInputs {
+    private final PoseObservation[] observations;
+    private int count = 0;
+
+    /**
+     * Creates an empty batch.
+     * @param capacity Maximum number of observations per loop
+     */
+    public PoseObservationBatch(int capacity) {
+        observations = new PoseObservation[capacity];
+        for (int i = 0; i < capacity; i++) {
+            observations[i] = new PoseObservation();
+        }
+    }
+
+    /**
+     * Replaces the batch with every pending observation in a queue, oldest first.
+     * @param queue Queue to drain
+     */
+    public void drainFrom(PoseObservationQueue queue) {
+        count = queue.drainTo(observations);
+    }
+
+    /**
+     * Gets the observations, sorted by timestamp. Only the first {@link #getCount()} are valid.
+     * @return The shared observation array
+     */
+    public PoseObservation[] getObservations() {
+        return observations;
+    }
+
+    /** @return Number of valid observations */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void toLog(LogTable table) {
+        double[] timestamps = new double[count];
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        double[] rotations = new double[count];
+        double[] tagCounts = new double[count];
+        double[] distances = new double[count];
+        double[] ambiguities = new double[count];
+        for (int i = 0; i < count; i++) {
+            PoseObservation observation = observations[i];
+            timestamps[i] = observation.getTimestampSeconds();
+            xs[i] = observation.getX();
+            ys[i] = observation.getY();
+            rotations[i] = observation.getRotationRadians();
+            tagCounts[i] = observation.getTagCount();
+            distances[i] = observation.getAverageTagDistance();
+            ambiguities[i] = observation.getAmbiguity();
+        }
+
+        table.put("Timestamps", timestamps);
+        table.put("X", xs);
+        table.put("Y", ys);
+        table.put("Rotation", rotations);
+        table.put("TagCount", tagCounts);
+        table.put("AverageTagDistance", distances);
+        table.put("Ambiguity", ambiguities);
+    }
+
+    @Override
+    public void fromLog(LogTable table) {
+        double[] timestamps = table.get("Timestamps", new double[0]);
+        double[] xs = table.get("X", new double[0]);
+        double[] ys = table.get("Y", new double[0]);
+        double[] rotations = table.get("Rotation", new double[0]);
+        double[] tagCounts = table.get("TagCount", new double[0]);
+        double[] distances = table.get("AverageTagDistance", new double[0]);
+        double[] ambiguities = table.get("Ambiguity", new double[0]);
+
+        count = Math.min(timestamps.length, observations.length);
+        for (int i = 0; i < count; i++) {
+            observations[i].set(
+                timestamps[i], xs[i], ys[i], rotations[i], (int) tagCounts[i], distances[i], ambiguities[i]);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package frc.robot.vision;
+
+/**
+ * Bounded queue that hands vision pose observations from the ingest thread to the main loop.
+ *
+ * Observations are copied into preallocated slots on both sides, so the queue never
+ * allocates. When full, the oldest observation is overwritten. Batches are returned
+ * in timestamp order so the pose estimator always replays history forward.
+ */
+public class PoseObservationQueue {
+    private final PoseObservation[] slots;
+    private int head = 0;
+    private int size = 0;
+    private long droppedObservations = 0;
+
+    /**
+     * Creates a new queue.
+     * @param capacity Maximum number of pending observations
+     */
+    public PoseObservationQueue(int capacity) {
+        slots = new PoseObservation[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new PoseObservation();
+        }
+    }
+
+    /**
+     * Adds a copy of an observation to the queue.
+     * @param observation Observation to enqueue (copied, may be reused by the caller)
+     */
+    public synchronized void offer(PoseObservation observation) {
+        if (size == slots.length) {
+            // Full - drop the oldest observation
+            head = (head + 1) % slots.length;
+            size--;
+            droppedObservations++;
+        }
+        slots[(head + size) % slots.length].set(observation);
+        size++;
+    }
+
+    /**
+     * Moves pending observations into a caller-owned batch, sorted oldest first.
+     * @param batch Preallocated observations to copy into
+     * @return Number of observations written to the batch
+     */
+    public int drainTo(PoseObservation[] batch) {
+        int count;
+        synchronized (this) {
+            count = Math.min(size, batch.length);
+            for (int i = 0; i < count; i++) {
+                batch[i].set(slots[head]);
+                head = (head + 1) % slots.length;
+            }
+            size -= count;
+        }
+
+        // Insertion sort by timestamp - batches are small and nearly sorted already
+        for (int i = 1; i < count; i++) {
+            PoseObservation current = batch[i];
+            int j = i - 1;
+            while (j >= 0 && batch[j].getTimestampSeconds() > current.getTimestampSeconds()) {
+                batch[j + 1] = batch[j];
+                j--;
+            }
+            batch[j + 1] = current;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of observations overwritten before they were drained.
+     * @return Total dropped observation count
+     */
+    public synchronized long getDroppedObservations() {
+        return droppedObservations;
+    }
+}
@@ -0,0 +1,193 @@
+package frc.robot.vision;
+
+import java.util.List;
+
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+import edu.wpi.first.math.geometry.Quaternion;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation3d;
+
+import frc.robot.Constants.VisionConstants;
+
+/**
+ * Per-AprilTag track table indexed by fiducial ID.
+ *
+ * Every sighting of a tag updates its entry: last-seen time, low-pass filtered yaw,
+ * pitch and area, the latest camera-to-tag transform, and a confidence that grows with
+ * each sighting and decays while the tag is out of view. Stored in primitive arrays so
+ * updates and lookups never allocate. Lets commands follow one specific tag even when
+ * others are visible.
+ */
+public class TagTrackTable {
+    private final int size = VisionConstants.MAX_FIDUCIAL_ID + 1;
+
+    private final double[] lastSeen = new double[size];
+    private final double[] yaw = new double[size];
+    private final double[] pitch = new double[size];
+    private final double[] area = new double[size];
+    private final double[] confidence = new double[size];
+    private final int[] cameraIndex = new int[size];
+
+    /* Latest camera-to-tag transform: translation in meters, rotation as a quaternion */
+    private final double[] tx = new double[size];
+    private final double[] ty = new double[size];
+    private final double[] tz = new double[size];
+    private final double[] qw = new double[size];
+    private final double[] qx = new double[size];
+    private final double[] qy = new double[size];
+    private final double[] qz = new double[size];
+
+    /**
+     * Creates an empty track table.
+     */
+    public TagTrackTable() {
+        for (int i = 0; i < size; i++) {
+            lastSeen[i] = Double.NEGATIVE_INFINITY;
+            cameraIndex[i] = -1;
+            qw[i] = 1.0;
+        }
+    }
+
+    /**
+     * Updates the table with every tag in a frame.
+     * @param result Frame from a camera
+     * @param timestampSeconds Capture timestamp of the frame (FPGA time base)
+     * @param camera Index of the camera that produced the frame
+     */
+    public void update(PhotonPipelineResult result, double timestampSeconds, int camera) {
+        List<PhotonTrackedTarget> targets = result.getTargets();
+        for (int i = 0; i < targets.size(); i++) {
+            PhotonTrackedTarget target = targets.get(i);
+            update(
+                target.getFiducialId(),
+                timestampSeconds,
+                target.getYaw(),
+                target.getPitch(),
+                target.getArea(),
+                target.getBestCameraToTarget(),
+                camera
+            );
+        }
+    }
+
+    /**
+     * Updates the entry for a single tag sighting.
+     * @param id Fiducial ID (sightings with IDs outside the table are ignored)
+     * @param timestampSeconds Capture timestamp of the sighting (FPGA time base)
+     * @param targetYaw Yaw to the tag in degrees
+     * @param targetPitch Pitch to the tag in degrees
+     * @param targetArea Tag area as percentage of image
+     * @param cameraToTarget Transform from the camera to the tag
+     * @param camera Index of the camera that saw the tag
+     */
+    public void update(
+        int id,
+        double timestampSeconds,
+        double targetYaw,
+        double targetPitch,
+        double targetArea,
+        Transform3d cameraToTarget,
+        int camera
+    ) {
+        if (id < 0 || id >= size || timestampSeconds < lastSeen[id]) {
+            return;
+        }
+
+        // Restart the filter if the track went stale or switched cameras (yaw is camera-relative)
+        boolean fresh = timestampSeconds - lastSeen[id] <= VisionConstants.TRACK_TIMEOUT && cameraIndex[id] == camera;
+        if (fresh) {
+            double alpha = VisionConstants.TRACK_FILTER_ALPHA;
+            yaw[id] += alpha * (targetYaw - yaw[id]);
+            pitch[id] += alpha * (targetPitch - pitch[id]);
+            area[id] += alpha * (targetArea - area[id]);
+        } else {
+            yaw[id] = targetYaw;
+            pitch[id] = targetPitch;
+            area[id] = targetArea;
+        }
+
+        double decayed = getConfidence(id, timestampSeconds);
+        confidence[id] = decayed + VisionConstants.TRACK_CONFIDENCE_GAIN * (1.0 - decayed);
+        lastSeen[id] = timestampSeconds;
+        cameraIndex[id] = camera;
+
+        Translation3d translation = cameraToTarget.getTranslation();
+        Quaternion rotation = cameraToTarget.getRotation().getQuaternion();
+        tx[id] = translation.getX();
+        ty[id] = translation.getY();
+        tz[id] = translation.getZ();
+        qw[id] = rotation.getW();
+        qx[id] = rotation.getX();
+        qy[id] = rotation.getY();
+        qz[id] = rotation.getZ();
+    }
+
+    /**
+     * Checks whether a tag has been seen recently enough to act on.
+     * @param id Fiducial ID
+     * @param nowSeconds Current time (FPGA time base)
+     * @return true if the tag was seen within the track timeout
+     */
+    public boolean isTracked(int id, double nowSeconds) {
+        return id >= 0 && id < size && nowSeconds - lastSeen[id] <= VisionConstants.TRACK_TIMEOUT;
+    }
+
+    /**
+     * Gets the confidence in a tag's track, decayed for time out of view.
+     * @param id Fiducial ID
+     * @param nowSeconds Current time (FPGA time base)
+     * @return Confidence from 0 (unknown) to 1 (seen steadily)
+     */
+    public double getConfidence(int id, double nowSeconds) {
+        if (id < 0 || id >= size || lastSeen[id] == Double.NEGATIVE_INFINITY) {
+            return 0.0;
+        }
+        double age = Math.max(0.0, nowSeconds - lastSeen[id]);
+        return confidence[id] * Math.exp(-age / VisionConstants.TRACK_CONFIDENCE_DECAY);
+    }
+
+    /** @return Capture timestamp of the last sighting, or negative infinity if never seen */
+    public double getLastSeen(int id) {
+        return lastSeen[id];
+    }
+
+    /** @return Filtered yaw to the tag in degrees */
+    public double getYaw(int id) {
+        return yaw[id];
+    }
+
+    /** @return Filtered pitch to the tag in degrees */
+    public double getPitch(int id) {
+        return pitch[id];
+    }
+
+    /** @return Filtered tag area as percentage of image */
+    public double getArea(int id) {
+        return area[id];
+    }
+
+    /** @return Index of the camera that last saw the tag, or -1 if never seen */
+    public int getCameraIndex(int id) {
+        return cameraIndex[id];
+    }
+
+    /** @return Straight-line camera-to-tag distance from the latest sighting (meters) */
+    public double getDistance(int id) {
+        return Math.sqrt(tx[id] * tx[id] + ty[id] * ty[id] + tz[id] * tz[id]);
+    }
+
+    /**
+     * Gets the latest camera-to-tag transform (allocates).
+     * @param id Fiducial ID
+     * @return Transform from the camera to the tag
+     */
+    public Transform3d getCameraToTarget(int id) {
+        return new Transform3d(
+            new Translation3d(tx[id], ty[id], tz[id]),
+            new Rotation3d(new Quaternion(qw[id], qx[id], qy[id], qz[id]))
+        );
+    }
+}
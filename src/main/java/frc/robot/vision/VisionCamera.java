@@ -0,0 +1,146 @@
+package frc.robot.vision;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+
+import frc.robot.Constants.LoggingConstants;
+import frc.robot.Constants.VisionConstants;
+
+/**
+ * One PhotonVision camera and its dedicated processing worker.
+ *
+ * Each camera has its own ingest thread, frame buffer and pose estimator, so adding
+ * a camera adds a worker instead of adding work to the main loop. Pose observations
+ * from every camera go into a shared queue for fusion.
+ *
+ * A camera can also be fed from a recorded log instead of PhotonVision. Replay cameras
+ * have no worker thread; their frames are pulled in {@link #poll()} from the main loop
+ * so replay runs are deterministic.
+ */
+public class VisionCamera implements AutoCloseable {
+    private final int index;
+    private final VisionCameraConfig config;
+    private final VisionFrameBuffer frameBuffer = new VisionFrameBuffer(VisionConstants.FRAME_BUFFER_CAPACITY);
+    private final VisionIngestThread ingestThread;
+    private final boolean threaded;
+    private VisionFrameRecorder recorder = null;
+
+    /**
+     * Creates a live camera and starts its worker thread.
+     * Frames are also recorded to disk on the real robot when {@link VisionConstants#RECORD_FRAMES} is set,
+     * in the log directory so the recordings count toward the log quota.
+     * @param index Position of this camera in the subsystem's camera list
+     * @param config Camera name and mounting position
+     * @param fieldLayout AprilTag positions on the field
+     * @param observationQueue Shared queue for pose observations
+     */
+    public VisionCamera(
+        int index,
+        VisionCameraConfig config,
+        AprilTagFieldLayout fieldLayout,
+        PoseObservationQueue observationQueue
+    ) {
+        this(index, config, new PhotonCameraSource(config.getName()), fieldLayout, observationQueue, true);
+
+        if (VisionConstants.RECORD_FRAMES && RobotBase.isReal()) {
+            Path file = Path.of(LoggingConstants.LOG_DIRECTORY, config.getName() + "-" + System.currentTimeMillis() + ".pvlog");
+            try {
+                recorder = new VisionFrameRecorder(config.getName(), frameBuffer.newReader(), file);
+            } catch (IOException e) {
+                DriverStation.reportWarning("Vision recording disabled: " + e.getMessage(), false);
+            }
+        }
+        ingestThread.start();
+    }
+
+    /**
+     * Creates a camera fed from a frame source without a worker thread.
+     * Frames are pulled each time {@link #poll()} is called.
+     * @param index Position of this camera in the subsystem's camera list
+     * @param config Camera name and mounting position
+     * @param source Frames to play back, e.g. a {@link VisionReplaySource}
+     * @param fieldLayout AprilTag positions on the field
+     * @param observationQueue Shared queue for pose observations
+     */
+    public VisionCamera(
+        int index,
+        VisionCameraConfig config,
+        VisionFrameSource source,
+        AprilTagFieldLayout fieldLayout,
+        PoseObservationQueue observationQueue
+    ) {
+        this(index, config, source, fieldLayout, observationQueue, false);
+    }
+
+    private VisionCamera(
+        int index,
+        VisionCameraConfig config,
+        VisionFrameSource source,
+        AprilTagFieldLayout fieldLayout,
+        PoseObservationQueue observationQueue,
+        boolean threaded
+    ) {
+        this.index = index;
+        this.config = config;
+        this.threaded = threaded;
+
+        var poseEstimator = new VisionPoseEstimator(fieldLayout, config.getRobotToCamera());
+        this.ingestThread = new VisionIngestThread(source, frameBuffer, poseEstimator, observationQueue);
+    }
+
+    /**
+     * Pulls pending frames from a replay source. Does nothing for live cameras,
+     * whose worker thread ingests frames as they arrive.
+     */
+    public void poll() {
+        if (!threaded) {
+            ingestThread.ingestPending();
+        }
+    }
+
+    /** @return Position of this camera in the subsystem's camera list */
+    public int getIndex() {
+        return index;
+    }
+
+    /** @return Name of the PhotonVision camera */
+    public String getName() {
+        return config.getName();
+    }
+
+    /** @return Camera name and mounting position */
+    public VisionCameraConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Creates a reader over every frame received from this camera.
+     * @return A new reader positioned at the latest frame
+     */
+    public VisionFrameBuffer.Reader newReader() {
+        return frameBuffer.newReader();
+    }
+
+    /**
+     * Checks whether the worker failed to read from the camera since the last call.
+     * @return true if a camera error occurred
+     */
+    public boolean pollError() {
+        return ingestThread.pollError();
+    }
+
+    /**
+     * Stops the worker thread and finishes any recording.
+     */
+    @Override
+    public void close() {
+        ingestThread.close();
+        if (recorder != null) {
+            recorder.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package frc.robot.vision;
+
+import edu.wpi.first.math.geometry.Transform3d;
+
+/**
+ * Name and mounting position of one PhotonVision camera.
+ */
+public class VisionCameraConfig {
+    private final String name;
+    private final Transform3d robotToCamera;
+
+    /**
+     * Creates a new camera configuration.
+     * @param name Name of the PhotonVision camera (configured in PhotonVision UI)
+     * @param robotToCamera Transform from the robot center to the camera
+     */
+    public VisionCameraConfig(String name, Transform3d robotToCamera) {
+        this.name = name;
+        this.robotToCamera = robotToCamera;
+    }
+
+    /** @return Name of the PhotonVision camera */
+    public String getName() {
+        return name;
+    }
+
+    /** @return Transform from the robot center to the camera */
+    public Transform3d getRobotToCamera() {
+        return robotToCamera;
+    }
+}
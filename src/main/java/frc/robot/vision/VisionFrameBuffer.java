@@ -0,0 +1,196 @@
+package frc.robot.vision;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.photonvision.targeting.PhotonPipelineResult;
+
+/**
+ * Fixed-capacity ring buffer of PhotonVision frames.
+ *
+ * A single producer (the vision ingest thread) publishes frames, and any number of
+ * readers consume them independently through their own {@link Reader}. Slots are
+ * allocated once up front and reused, so publishing and reading never lock or allocate.
+ * A reader that falls more than one buffer behind skips ahead to the oldest frame
+ * still available and counts the frames it missed.
+ */
+public class VisionFrameBuffer {
+    private final int capacity;
+    private final int mask;
+
+    private final PhotonPipelineResult[] results;
+    private final double[] timestamps;
+    private final double[] receiveTimestamps;
+
+    /* Sequence number stored in each slot, or -1 while the slot is being rewritten */
+    private final AtomicLongArray slotSequences;
+    /* Total number of frames ever published */
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    /**
+     * Creates a new frame buffer.
+     * @param capacity Number of frames to retain (must be a power of two)
+     */
+    public VisionFrameBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Frame buffer capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.results = new PhotonPipelineResult[capacity];
+        this.timestamps = new double[capacity];
+        this.receiveTimestamps = new double[capacity];
+        this.slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slotSequences.set(i, -1);
+        }
+    }
+
+    /**
+     * Publishes a frame to all readers.
+     * Must only be called from the single producer thread.
+     * @param result Frame received from the camera
+     * @param receiveTimestampSeconds When the frame reached the robot program (FPGA time base)
+     */
+    public void publish(PhotonPipelineResult result, double receiveTimestampSeconds) {
+        long sequence = writeSequence.get();
+        int slot = (int) (sequence & mask);
+
+        // Invalidate the slot first so readers can detect a torn read
+        slotSequences.set(slot, -1);
+        VarHandle.storeStoreFence();
+
+        results[slot] = result;
+        timestamps[slot] = result.getTimestampSeconds();
+        receiveTimestamps[slot] = receiveTimestampSeconds;
+
+        slotSequences.set(slot, sequence);
+        writeSequence.set(sequence + 1);
+    }
+
+    /**
+     * Gets the number of frames published since the buffer was created.
+     * @return Total published frame count
+     */
+    public long getWriteSequence() {
+        return writeSequence.get();
+    }
+
+    /**
+     * Gets the number of frames retained by the buffer.
+     * @return Buffer capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Creates a reader positioned after the most recently published frame.
+     * Each consumer should own its own reader; readers are not thread-safe.
+     * @return A new reader that only sees frames published from now on
+     */
+    public Reader newReader() {
+        return new Reader(writeSequence.get());
+    }
+
+    /**
+     * Independent cursor into the frame buffer.
+     * Call {@link #next()} until it returns false to consume every new frame in order.
+     */
+    public final class Reader {
+        private long nextSequence;
+        private long droppedFrames = 0;
+
+        private PhotonPipelineResult result = new PhotonPipelineResult();
+        private double timestampSeconds = 0.0;
+        private double receiveTimestampSeconds = 0.0;
+        private long sequence = -1;
+
+        private Reader(long startSequence) {
+            this.nextSequence = startSequence;
+        }
+
+        /**
+         * Advances to the next unread frame.
+         * @return true if a frame was read, false if the reader is caught up
+         */
+        public boolean next() {
+            while (true) {
+                long written = writeSequence.get();
+                if (nextSequence >= written) {
+                    return false;
+                }
+
+                // Fell behind by more than a full buffer - skip to the oldest retained frame
+                if (written - nextSequence > capacity) {
+                    droppedFrames += written - capacity - nextSequence;
+                    nextSequence = written - capacity;
+                }
+
+                int slot = (int) (nextSequence & mask);
+                if (slotSequences.get(slot) != nextSequence) {
+                    // Slot is being overwritten by the producer; re-check how far behind we are
+                    continue;
+                }
+
+                PhotonPipelineResult slotResult = results[slot];
+                double slotTimestamp = timestamps[slot];
+                double slotReceiveTimestamp = receiveTimestamps[slot];
+
+                // Make sure the slot was not rewritten while we copied it
+                VarHandle.acquireFence();
+                if (slotSequences.get(slot) != nextSequence) {
+                    continue;
+                }
+
+                result = slotResult;
+                timestampSeconds = slotTimestamp;
+                receiveTimestampSeconds = slotReceiveTimestamp;
+                sequence = nextSequence;
+                nextSequence++;
+                return true;
+            }
+        }
+
+        /**
+         * Gets the frame read by the last successful call to {@link #next()}.
+         * @return Current frame (an empty result before the first frame)
+         */
+        public PhotonPipelineResult result() {
+            return result;
+        }
+
+        /**
+         * Gets the capture timestamp of the current frame.
+         * @return Capture timestamp in seconds (FPGA time base)
+         */
+        public double timestampSeconds() {
+            return timestampSeconds;
+        }
+
+        /**
+         * Gets the time the current frame reached the robot program.
+         * @return Receive timestamp in seconds (FPGA time base)
+         */
+        public double receiveTimestampSeconds() {
+            return receiveTimestampSeconds;
+        }
+
+        /**
+         * Gets the sequence number of the current frame.
+         * @return Sequence number, or -1 before the first frame
+         */
+        public long sequence() {
+            return sequence;
+        }
+
+        /**
+         * Gets the number of frames overwritten before this reader could consume them.
+         * @return Total dropped frame count
+         */
+        public long getDroppedFrames() {
+            return droppedFrames;
+        }
+    }
+}
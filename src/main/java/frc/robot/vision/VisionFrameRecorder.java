@@ -0,0 +1,146 @@
+package frc.robot.vision;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+import org.photonvision.common.dataflow.structures.Packet;
+import org.photonvision.targeting.PhotonPipelineResult;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+import frc.robot.Constants.ThreadConstants;
+import frc.robot.Constants.VisionConstants;
+import frc.robot.util.ThreadPlacement;
+
+/**
+ * Records every frame from one camera to a compact binary log.
+ *
+ * Runs on its own low-priority thread and reads from the camera's frame buffer like any
+ * other consumer, so recording never slows the ingest thread or the main loop. Frames are
+ * stored in PhotonVision's own wire format.
+ *
+ * File layout (big-endian):
+ * <pre>
+ *   header: int MAGIC, short VERSION, UTF camera name
+ *   record: double captureTimestampSeconds, int length, byte[length] packed PhotonPipelineResult
+ * </pre>
+ * Read logs back with {@link VisionReplaySource}.
+ */
+public class VisionFrameRecorder implements AutoCloseable {
+    /** File signature ("PVLG") */
+    public static final int MAGIC = 0x50564C47;
+    /** File format version */
+    public static final short VERSION = 1;
+
+    private static final long kWritePeriodNanos = (long) (VisionConstants.RECORDER_WRITE_PERIOD * 1e9);
+
+    private final VisionFrameBuffer.Reader reader;
+    private final DataOutputStream out;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long recordedFrames = 0;
+
+    /**
+     * Creates a recorder and starts its thread.
+     * @param cameraName Name of the camera, stored in the file header
+     * @param reader Reader over the camera's frame buffer (owned by this recorder)
+     * @param file File to write (overwritten if it exists)
+     * @throws IOException if the file cannot be created
+     */
+    public VisionFrameRecorder(String cameraName, VisionFrameBuffer.Reader reader, Path file) throws IOException {
+        this.reader = reader;
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeUTF(cameraName);
+
+        thread = new Thread(this::run, "VisionRecorder-" + cameraName);
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private void run() {
+        ThreadPlacement.getInstance().placeBackgroundThread(thread.getName(), ThreadConstants.BACKGROUND_NICE);
+        try {
+            while (running) {
+                LockSupport.parkNanos(kWritePeriodNanos);
+                writePending();
+            }
+            // Write anything left over before closing
+            writePending();
+            out.close();
+        } catch (IOException e) {
+            DriverStation.reportError("Vision recorder error: " + e.getMessage(), false);
+        }
+    }
+
+    private void writePending() throws IOException {
+        boolean wrote = false;
+        while (reader.next()) {
+            writeFrame(out, reader.result(), reader.timestampSeconds());
+            recordedFrames++;
+            wrote = true;
+        }
+        if (wrote) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes a single frame record.
+     * @param out Stream positioned after the header or a previous record
+     * @param result Frame to write
+     * @param timestampSeconds Capture timestamp of the frame (FPGA time base)
+     * @throws IOException if writing fails
+     */
+    static void writeFrame(DataOutputStream out, PhotonPipelineResult result, double timestampSeconds)
+        throws IOException {
+        var packet = new Packet(VisionConstants.RECORDER_PACKET_SIZE);
+        PhotonPipelineResult.photonStruct.pack(packet, result);
+        byte[] data = packet.getWrittenDataCopy();
+
+        out.writeDouble(timestampSeconds);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    /**
+     * Gets the number of frames written so far.
+     * @return Recorded frame count
+     */
+    public long getRecordedFrames() {
+        return recordedFrames;
+    }
+
+    /**
+     * Gets the number of frames that were overwritten before they could be recorded.
+     * @return Dropped frame count
+     */
+    public long getDroppedFrames() {
+        return reader.getDroppedFrames();
+    }
+
+    /**
+     * Stops recording, writes any remaining frames and closes the file.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
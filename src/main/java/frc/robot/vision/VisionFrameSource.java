@@ -0,0 +1,22 @@
+package frc.robot.vision;
+
+import java.util.List;
+
+import org.photonvision.targeting.PhotonPipelineResult;
+
+/**
+ * Source of PhotonVision frames for one camera - a live camera or a recorded log.
+ */
+public interface VisionFrameSource {
+    /**
+     * Gets the camera name.
+     * @return Name of the PhotonVision camera
+     */
+    String getName();
+
+    /**
+     * Gets every frame that became available since the last call, oldest first.
+     * @return New frames (may be empty, never null)
+     */
+    List<PhotonPipelineResult> getAllUnreadResults();
+}
@@ -0,0 +1,143 @@
+package frc.robot.vision;
+
+import java.util.Arrays;
+
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.inputs.LoggableInputs;
+import org.photonvision.common.dataflow.structures.Packet;
+import org.photonvision.targeting.PhotonPipelineResult;
+
+import frc.robot.Constants.VisionConstants;
+
+/**
+ * Hardware boundary for one camera: everything the vision pipeline reads from it each loop.
+ *
+ * Inputs are logged every loop. In log replay the IO does nothing and the inputs are
+ * filled from the log instead, so the pipeline sees exactly the frames it saw on the robot.
+ */
+public interface VisionIO {
+    /**
+     * Frames a camera delivered since the previous loop.
+     *
+     * Frames are kept decoded for the pipeline and packed back to back into a single raw log
+     * entry with PhotonVision's own serializer. PhotonPipelineResult has no WPILib struct, so
+     * these inputs are logged by hand instead of with {@code @AutoLog}. Logging reuses one
+     * growable packet. AdvantageKit keeps a reference to every logged array until its
+     * receiver thread has written it, so the packed bytes and timestamps are handed over as
+     * fresh copies; loops without frames log shared empty arrays and allocate nothing.
+     */
+    class VisionIOInputs implements LoggableInputs {
+        private static final byte[] kNoFrames = new byte[0];
+        private static final double[] kNoTimestamps = new double[0];
+
+        private PhotonPipelineResult[] frames = new PhotonPipelineResult[VisionConstants.FRAME_BUFFER_CAPACITY];
+        private double[] timestamps = new double[VisionConstants.FRAME_BUFFER_CAPACITY];
+        private double[] receiveTimestamps = new double[VisionConstants.FRAME_BUFFER_CAPACITY];
+        private int frameCount = 0;
+        private boolean error = false;
+        private final Packet packet = new Packet(VisionConstants.RECORDER_PACKET_SIZE);
+
+        /**
+         * Removes all frames and clears the error flag.
+         */
+        public void clear() {
+            Arrays.fill(frames, 0, frameCount, null);
+            frameCount = 0;
+            error = false;
+        }
+
+        /**
+         * Adds a frame, oldest first.
+         * @param result Frame from the camera
+         * @param timestampSeconds Capture timestamp of the frame (FPGA time base)
+         * @param receiveTimestampSeconds When the frame reached the robot program (FPGA time base)
+         */
+        public void addFrame(PhotonPipelineResult result, double timestampSeconds, double receiveTimestampSeconds) {
+            if (frameCount == frames.length) {
+                frames = Arrays.copyOf(frames, frameCount * 2);
+                timestamps = Arrays.copyOf(timestamps, frameCount * 2);
+                receiveTimestamps = Arrays.copyOf(receiveTimestamps, frameCount * 2);
+            }
+            frames[frameCount] = result;
+            timestamps[frameCount] = timestampSeconds;
+            receiveTimestamps[frameCount] = receiveTimestampSeconds;
+            frameCount++;
+        }
+
+        /**
+         * Sets whether reading from the camera failed since the previous loop.
+         * @param error true if a camera error occurred
+         */
+        public void setError(boolean error) {
+            this.error = error;
+        }
+
+        /** @return Number of frames delivered since the previous loop */
+        public int getFrameCount() {
+            return frameCount;
+        }
+
+        /** @return The i-th new frame, oldest first */
+        public PhotonPipelineResult getFrame(int i) {
+            return frames[i];
+        }
+
+        /** @return Capture timestamp of the i-th new frame in seconds (FPGA time base) */
+        public double getTimestampSeconds(int i) {
+            return timestamps[i];
+        }
+
+        /** @return Time the i-th new frame reached the robot program in seconds (FPGA time base) */
+        public double getReceiveTimestampSeconds(int i) {
+            return receiveTimestamps[i];
+        }
+
+        /** @return Whether reading from the camera failed since the previous loop */
+        public boolean hasError() {
+            return error;
+        }
+
+        @Override
+        public void toLog(LogTable table) {
+            // Frames are packed back to back; each one knows its own length when unpacked
+            if (frameCount == 0) {
+                table.put("Frames", kNoFrames);
+                table.put("Timestamps", kNoTimestamps);
+                table.put("ReceiveTimestamps", kNoTimestamps);
+            } else {
+                packet.clear();
+                for (int i = 0; i < frameCount; i++) {
+                    PhotonPipelineResult.photonStruct.pack(packet, frames[i]);
+                }
+                table.put("Frames", packet.getWrittenDataCopy());
+                table.put("Timestamps", Arrays.copyOf(timestamps, frameCount));
+                table.put("ReceiveTimestamps", Arrays.copyOf(receiveTimestamps, frameCount));
+            }
+            table.put("Error", error);
+        }
+
+        @Override
+        public void fromLog(LogTable table) {
+            clear();
+            Packet data = new Packet(table.get("Frames", kNoFrames));
+            double[] loggedTimestamps = table.get("Timestamps", new double[0]);
+            double[] loggedReceiveTimestamps = table.get("ReceiveTimestamps", new double[0]);
+
+            for (int i = 0; i < loggedTimestamps.length; i++) {
+                PhotonPipelineResult result = PhotonPipelineResult.photonStruct.unpack(data);
+
+                // The receive time is not packed; restore it so getTimestampSeconds() matches the robot
+                long latencyMicros = (long) (result.metadata.getLatencyMillis() * 1000.0);
+                result.setReceiveTimestampMicros((long) (loggedTimestamps[i] * 1e6) + latencyMicros);
+                addFrame(result, loggedTimestamps[i], loggedReceiveTimestamps[i]);
+            }
+            error = table.get("Error", false);
+        }
+    }
+
+    /**
+     * Updates the inputs with everything the camera delivered since the previous call.
+     * @param inputs Inputs to overwrite
+     */
+    default void updateInputs(VisionIOInputs inputs) {}
+}
@@ -0,0 +1,33 @@
+package frc.robot.vision;
+
+/**
+ * {@link VisionIO} backed by a {@link VisionCamera}.
+ *
+ * Live cameras keep decoding frames on their worker thread; each loop this drains the
+ * frames the worker buffered since the previous loop. Cameras fed from a recorded
+ * source are polled first, so their frames arrive in the same loop.
+ */
+public class VisionIOCamera implements VisionIO {
+    private final VisionCamera camera;
+    private final VisionFrameBuffer.Reader reader;
+
+    /**
+     * Creates an IO layer for a camera.
+     * @param camera Camera to read (this IO becomes one of its frame readers)
+     */
+    public VisionIOCamera(VisionCamera camera) {
+        this.camera = camera;
+        this.reader = camera.newReader();
+    }
+
+    @Override
+    public void updateInputs(VisionIOInputs inputs) {
+        camera.poll();
+
+        inputs.clear();
+        while (reader.next()) {
+            inputs.addFrame(reader.result(), reader.timestampSeconds(), reader.receiveTimestampSeconds());
+        }
+        inputs.setError(camera.pollError());
+    }
+}
@@ -0,0 +1,136 @@
+package frc.robot.vision;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import org.photonvision.PhotonCamera;
+import org.photonvision.targeting.PhotonPipelineResult;
+
+import edu.wpi.first.networktables.NetworkTableEvent;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+
+import frc.robot.Constants.VisionConstants;
+import frc.robot.util.ThreadPlacement;
+
+/**
+ * Background thread that pulls frames from a PhotonVision camera as soon as they are published.
+ *
+ * A NetworkTables listener wakes the thread whenever PhotonVision writes a new frame, so
+ * deserialization happens here instead of on the 20ms main loop. Every frame is pushed into
+ * a {@link VisionFrameBuffer}; none are dropped in favor of the latest one. Each frame is
+ * also run through the camera's pose estimator, and any resulting pose is queued for fusion.
+ *
+ * Replay sources can skip the thread and call {@link #ingestPending()} directly, which
+ * keeps tests and simulation deterministic.
+ */
+public class VisionIngestThread implements AutoCloseable {
+    private static final long kWakeupTimeoutNanos = (long) (VisionConstants.INGEST_WAKEUP_TIMEOUT * 1e9);
+
+    private final VisionFrameSource source;
+    private final VisionFrameBuffer buffer;
+    private final VisionPoseEstimator poseEstimator;
+    private final PoseObservationQueue observationQueue;
+    private final PoseObservation observation = new PoseObservation();
+    private final Thread thread;
+    private int listenerHandle = 0;
+
+    private volatile boolean running = false;
+    private final AtomicBoolean errorFlag = new AtomicBoolean(false);
+
+    /**
+     * Creates an ingest worker for a camera. Call {@link #start()} to run it on its own thread.
+     * @param source Frames to read (a live camera or a replay log)
+     * @param buffer Buffer to publish frames into (this worker becomes its only producer)
+     * @param poseEstimator Pose estimator for this camera
+     * @param observationQueue Queue to push pose observations into
+     */
+    public VisionIngestThread(
+        VisionFrameSource source,
+        VisionFrameBuffer buffer,
+        VisionPoseEstimator poseEstimator,
+        PoseObservationQueue observationQueue
+    ) {
+        this.source = source;
+        this.buffer = buffer;
+        this.poseEstimator = poseEstimator;
+        this.observationQueue = observationQueue;
+
+        thread = new Thread(this::run, "VisionIngest-" + source.getName());
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the background thread.
+     */
+    public void start() {
+        running = true;
+
+        // Wake the thread whenever PhotonVision publishes a new frame for this camera
+        NetworkTableInstance inst = NetworkTableInstance.getDefault();
+        listenerHandle = inst.addListener(
+            inst.getTopic("/" + PhotonCamera.kTableName + "/" + source.getName() + "/rawBytes"),
+            EnumSet.of(NetworkTableEvent.Kind.kValueAll),
+            event -> LockSupport.unpark(thread)
+        );
+
+        thread.start();
+    }
+
+    private void run() {
+        // Deserialization is the heaviest thread work; keep it off the control core
+        ThreadPlacement.getInstance().placeBackgroundThread(thread.getName(), 0);
+        while (running) {
+            // Timeout keeps us polling even if a notification is missed
+            LockSupport.parkNanos(kWakeupTimeoutNanos);
+            if (!running) {
+                break;
+            }
+            ingestPending();
+        }
+    }
+
+    /**
+     * Reads every pending frame from the source, publishes it and estimates its pose.
+     * Called by the background thread, or directly when the thread is not started.
+     */
+    public void ingestPending() {
+        try {
+            List<PhotonPipelineResult> results = source.getAllUnreadResults();
+            double receiveTimestamp = Timer.getFPGATimestamp();
+            for (int i = 0; i < results.size(); i++) {
+                PhotonPipelineResult result = results.get(i);
+                buffer.publish(result, receiveTimestamp);
+                if (poseEstimator.estimate(result, observation)) {
+                    observationQueue.offer(observation);
+                }
+            }
+        } catch (Exception e) {
+            DriverStation.reportError("Vision camera error: " + e.getMessage(), false);
+            errorFlag.set(true);
+        }
+    }
+
+    /**
+     * Checks whether a camera error occurred since the last call, and clears the flag.
+     * @return true if reading from the camera failed
+     */
+    public boolean pollError() {
+        return errorFlag.getAndSet(false);
+    }
+
+    /**
+     * Stops the ingest thread and removes the NetworkTables listener.
+     */
+    @Override
+    public void close() {
+        if (running) {
+            running = false;
+            NetworkTableInstance.getDefault().removeListener(listenerHandle);
+            LockSupport.unpark(thread);
+        }
+    }
+}
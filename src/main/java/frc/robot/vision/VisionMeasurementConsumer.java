@@ -0,0 +1,15 @@
+package frc.robot.vision;
+
+/**
+ * Receives batches of vision pose observations, sorted oldest first.
+ */
+@FunctionalInterface
+public interface VisionMeasurementConsumer {
+    /**
+     * Accepts a batch of observations.
+     * The array is reused after this call returns, so observations must not be retained.
+     * @param observations Batch of observations (only the first {@code count} entries are valid)
+     * @param count Number of valid observations
+     */
+    void accept(PoseObservation[] observations, int count);
+}
@@ -0,0 +1,192 @@
+package frc.robot.vision;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+
+import frc.robot.Constants.VisionConstants;
+import frc.robot.util.PublisherRegistry;
+
+/**
+ * Quality stage between vision pose estimates and the drivetrain pose estimator.
+ *
+ * Rejects measurements that are likely outliers, and scales the standard deviations of
+ * the rest so close, multi-tag, unambiguous sightings are trusted more than far, single-tag
+ * or motion-blurred ones. Accept/reject counts are published under "Vision/Gate" through a
+ * {@link PublisherRegistry}. Not thread-safe; call from the main robot thread.
+ */
+public class VisionMeasurementGate {
+    /** Reasons a measurement can be rejected */
+    public enum RejectReason {
+        /** No AprilTags were used for the estimate */
+        NO_TAGS,
+        /** Single-tag estimate with too much pose ambiguity */
+        AMBIGUITY,
+        /** Tags too far away to give a useful estimate */
+        DISTANCE,
+        /** Estimated pose is off the field */
+        OUT_OF_FIELD,
+        /** Single-tag estimate disagrees too much with the current pose */
+        INNOVATION,
+        /** Robot rotating too fast for a sharp image */
+        ROTATION_SPEED
+    }
+
+    private final double fieldLength;
+    private final double fieldWidth;
+
+    private long acceptedCount = 0;
+    private final long[] rejectedCounts = new long[RejectReason.values().length];
+    private double lastXyStdDev = 0.0;
+    private double lastInnovation = 0.0;
+
+    /* Statistics entries, bound once */
+    private final PublisherRegistry dashboard = PublisherRegistry.forTable("Vision/Gate");
+    private final PublisherRegistry.IntegerEntry acceptedEntry = dashboard.addInteger("Accepted");
+    private final PublisherRegistry.IntegerEntry[] rejectedEntries =
+        new PublisherRegistry.IntegerEntry[RejectReason.values().length];
+    private final PublisherRegistry.DoubleEntry acceptRatioEntry = dashboard.addDouble("AcceptRatio");
+    private final PublisherRegistry.DoubleEntry xyStdDevEntry = dashboard.addDouble("LastXyStdDev");
+    private final PublisherRegistry.DoubleEntry innovationEntry = dashboard.addDouble("LastInnovation");
+
+    /**
+     * Creates a new measurement gate using the configured field layout for bounds checking.
+     */
+    public VisionMeasurementGate() {
+        this(AprilTagFieldLayout.loadField(VisionConstants.FIELD_LAYOUT));
+    }
+
+    /**
+     * Creates a new measurement gate.
+     * @param fieldLayout Field layout used for bounds checking
+     */
+    public VisionMeasurementGate(AprilTagFieldLayout fieldLayout) {
+        this.fieldLength = fieldLayout.getFieldLength();
+        this.fieldWidth = fieldLayout.getFieldWidth();
+        for (RejectReason reason : RejectReason.values()) {
+            rejectedEntries[reason.ordinal()] = dashboard.addInteger("Rejected/" + reason.name());
+        }
+    }
+
+    /**
+     * Decides whether to fuse a measurement and computes its standard deviations.
+     *
+     * @param observation Vision pose observation
+     * @param currentPose Current pose estimate of the drivetrain
+     * @param speeds Current robot-relative chassis speeds
+     * @param nowSeconds Current time in seconds (same time base as the observation)
+     * @param stdDevs Output standard deviations [x, y, theta]ᵀ in meters and radians,
+     *     written only when the measurement is accepted
+     * @return true if the measurement should be fused
+     */
+    public boolean evaluate(
+        PoseObservation observation,
+        Pose2d currentPose,
+        ChassisSpeeds speeds,
+        double nowSeconds,
+        Matrix<N3, N1> stdDevs
+    ) {
+        int tagCount = observation.getTagCount();
+        double distance = observation.getAverageTagDistance();
+        double linearSpeed = Math.hypot(speeds.vxMetersPerSecond, speeds.vyMetersPerSecond);
+
+        if (tagCount < 1) {
+            return reject(RejectReason.NO_TAGS);
+        }
+        if (tagCount == 1 && observation.getAmbiguity() > VisionConstants.GATE_MAX_AMBIGUITY) {
+            return reject(RejectReason.AMBIGUITY);
+        }
+        if (distance > VisionConstants.GATE_MAX_TAG_DISTANCE) {
+            return reject(RejectReason.DISTANCE);
+        }
+        if (observation.getX() < -VisionConstants.GATE_FIELD_MARGIN
+            || observation.getX() > fieldLength + VisionConstants.GATE_FIELD_MARGIN
+            || observation.getY() < -VisionConstants.GATE_FIELD_MARGIN
+            || observation.getY() > fieldWidth + VisionConstants.GATE_FIELD_MARGIN) {
+            return reject(RejectReason.OUT_OF_FIELD);
+        }
+        if (Math.abs(speeds.omegaRadiansPerSecond) > VisionConstants.GATE_MAX_ANGULAR_SPEED) {
+            return reject(RejectReason.ROTATION_SPEED);
+        }
+
+        // Innovation: how far the measurement is from where we think we are.
+        // Allow for the distance the robot has moved since the frame was captured.
+        double latency = Math.max(0.0, nowSeconds - observation.getTimestampSeconds());
+        double innovation = Math.hypot(
+            observation.getX() - currentPose.getX(),
+            observation.getY() - currentPose.getY()
+        );
+        double excessInnovation = Math.max(0.0, innovation - linearSpeed * latency);
+        lastInnovation = innovation;
+        if (tagCount == 1 && excessInnovation > VisionConstants.GATE_MAX_SINGLE_TAG_INNOVATION) {
+            return reject(RejectReason.INNOVATION);
+        }
+
+        // Std devs grow with distance squared and shrink with more tags
+        double distanceFactor = distance * distance / tagCount;
+        double speedFactor = 1.0 + VisionConstants.GATE_SPEED_STD_DEV_SCALE * linearSpeed;
+        double xyStdDev = VisionConstants.GATE_XY_STD_DEV_BASE * distanceFactor * speedFactor;
+        double thetaStdDev = VisionConstants.GATE_THETA_STD_DEV_BASE * distanceFactor * speedFactor;
+
+        if (tagCount == 1) {
+            // Single-tag heading is unreliable; scale position trust by ambiguity and disagreement
+            double ambiguityFactor = 1.0 + observation.getAmbiguity() / VisionConstants.GATE_MAX_AMBIGUITY;
+            double innovationFactor = 1.0 + excessInnovation / VisionConstants.GATE_MAX_SINGLE_TAG_INNOVATION;
+            xyStdDev *= ambiguityFactor * innovationFactor;
+            thetaStdDev = VisionConstants.GATE_SINGLE_TAG_THETA_STD_DEV;
+        }
+
+        xyStdDev = MathUtil.clamp(xyStdDev, VisionConstants.GATE_MIN_XY_STD_DEV, VisionConstants.GATE_MAX_XY_STD_DEV);
+
+        stdDevs.set(0, 0, xyStdDev);
+        stdDevs.set(1, 0, xyStdDev);
+        stdDevs.set(2, 0, thetaStdDev);
+
+        lastXyStdDev = xyStdDev;
+        acceptedCount++;
+        return true;
+    }
+
+    private boolean reject(RejectReason reason) {
+        rejectedCounts[reason.ordinal()]++;
+        return false;
+    }
+
+    /**
+     * Updates the accept/reject statistics, published with the next registry flush.
+     */
+    public void publishStatistics() {
+        long rejectedTotal = 0;
+        for (int i = 0; i < rejectedCounts.length; i++) {
+            rejectedEntries[i].set(rejectedCounts[i]);
+            rejectedTotal += rejectedCounts[i];
+        }
+        long total = acceptedCount + rejectedTotal;
+
+        acceptedEntry.set(acceptedCount);
+        acceptRatioEntry.set(total > 0 ? (double) acceptedCount / total : 0.0);
+        xyStdDevEntry.set(lastXyStdDev);
+        innovationEntry.set(lastInnovation);
+    }
+
+    /**
+     * Gets the number of accepted measurements.
+     * @return Total accepted count
+     */
+    public long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    /**
+     * Gets the number of measurements rejected for a given reason.
+     * @param reason Rejection reason
+     * @return Total rejected count for that reason
+     */
+    public long getRejectedCount(RejectReason reason) {
+        return rejectedCounts[reason.ordinal()];
+    }
+}
@@ -0,0 +1,98 @@
+package frc.robot.vision;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.photonvision.EstimatedRobotPose;
+import org.photonvision.PhotonPoseEstimator;
+import org.photonvision.PhotonPoseEstimator.PoseStrategy;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Transform3d;
+
+/**
+ * Converts PhotonVision frames into field-relative robot poses.
+ *
+ * Uses the coprocessor's multi-tag solve when available and falls back to the
+ * lowest-ambiguity single tag otherwise. Not thread-safe; each camera's ingest
+ * thread should own its own estimator.
+ */
+public class VisionPoseEstimator {
+    private final PhotonPoseEstimator photonEstimator;
+
+    /**
+     * Creates a new pose estimator for one camera.
+     * @param fieldLayout AprilTag positions on the field
+     * @param robotToCamera Transform from the robot center to the camera
+     */
+    public VisionPoseEstimator(AprilTagFieldLayout fieldLayout, Transform3d robotToCamera) {
+        photonEstimator = new PhotonPoseEstimator(
+            fieldLayout,
+            PoseStrategy.MULTI_TAG_PNP_ON_COPROCESSOR,
+            robotToCamera
+        );
+        photonEstimator.setMultiTagFallbackStrategy(PoseStrategy.LOWEST_AMBIGUITY);
+    }
+
+    /**
+     * Estimates the robot pose from a single frame.
+     * @param result Frame from the camera
+     * @param observation Observation to fill in if a pose was found
+     * @return true if the observation was written
+     */
+    public boolean estimate(PhotonPipelineResult result, PoseObservation observation) {
+        if (!result.hasTargets()) {
+            return false;
+        }
+
+        Optional<EstimatedRobotPose> estimate = photonEstimator.update(result);
+        if (estimate.isEmpty()) {
+            return false;
+        }
+
+        EstimatedRobotPose robotPose = estimate.get();
+        List<PhotonTrackedTarget> targets = robotPose.targetsUsed;
+        if (targets.isEmpty()) {
+            return false;
+        }
+
+        Pose3d pose = robotPose.estimatedPose;
+        if (robotPose.strategy == PoseStrategy.MULTI_TAG_PNP_ON_COPROCESSOR) {
+            // The multi-tag solve is not subject to single-tag ambiguity
+            double totalDistance = 0.0;
+            for (int i = 0; i < targets.size(); i++) {
+                totalDistance += targets.get(i).getBestCameraToTarget().getTranslation().getNorm();
+            }
+            observation.set(
+                robotPose.timestampSeconds,
+                pose.getX(),
+                pose.getY(),
+                pose.getRotation().getZ(),
+                targets.size(),
+                totalDistance / targets.size(),
+                0.0
+            );
+        } else {
+            // Single-tag fallback solves from the lowest-ambiguity target
+            PhotonTrackedTarget best = targets.get(0);
+            for (int i = 1; i < targets.size(); i++) {
+                if (targets.get(i).getPoseAmbiguity() < best.getPoseAmbiguity()) {
+                    best = targets.get(i);
+                }
+            }
+            observation.set(
+                robotPose.timestampSeconds,
+                pose.getX(),
+                pose.getY(),
+                pose.getRotation().getZ(),
+                1,
+                best.getBestCameraToTarget().getTranslation().getNorm(),
+                best.getPoseAmbiguity()
+            );
+        }
+        return true;
+    }
+}
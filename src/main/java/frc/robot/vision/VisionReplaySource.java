@@ -0,0 +1,142 @@
+package frc.robot.vision;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.photonvision.common.dataflow.structures.Packet;
+import org.photonvision.targeting.PhotonPipelineResult;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Plays back a log written by {@link VisionFrameRecorder} as if it were a live camera.
+ *
+ * Frame timestamps are shifted so the first frame appears to be captured when playback
+ * starts, so code that compares frame times with the robot clock keeps working.
+ *
+ * With {@link Pacing#ROBOT_TIME} frames are released when the robot clock reaches their
+ * capture time. That is wall-clock rate on the robot and in normal simulation, and as fast
+ * as the test steps time when simulation timing is paused and stepped.
+ * With {@link Pacing#UNTHROTTLED} every remaining frame is released on the next poll
+ * regardless of time, like a camera that has buffered the whole log.
+ */
+public class VisionReplaySource implements VisionFrameSource, AutoCloseable {
+    /** How frames are released during replay */
+    public enum Pacing {
+        /** Release frames when the robot clock reaches their (shifted) capture time */
+        ROBOT_TIME,
+        /** Release every pending frame on each poll, without waiting for the clock */
+        UNTHROTTLED
+    }
+
+    private final DataInputStream in;
+    private final String cameraName;
+    private final Pacing pacing;
+    private final List<PhotonPipelineResult> released = new ArrayList<>();
+
+    private PhotonPipelineResult pendingResult = null;
+    private double pendingTimestamp = 0.0;
+    private double timeOffset = Double.NaN;
+    private boolean finished = false;
+    private long replayedFrames = 0;
+
+    /**
+     * Opens a recorded log for replay.
+     * @param file Log written by VisionFrameRecorder
+     * @param pacing How frames are released
+     * @throws IOException if the file cannot be read or is not a vision log
+     */
+    public VisionReplaySource(Path file, Pacing pacing) throws IOException {
+        this.pacing = pacing;
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+
+        if (in.readInt() != VisionFrameRecorder.MAGIC) {
+            in.close();
+            throw new IOException("Not a vision frame log: " + file);
+        }
+        short version = in.readShort();
+        if (version != VisionFrameRecorder.VERSION) {
+            in.close();
+            throw new IOException("Unsupported vision frame log version " + version + ": " + file);
+        }
+        this.cameraName = in.readUTF();
+        readNext();
+    }
+
+    @Override
+    public String getName() {
+        return cameraName;
+    }
+
+    @Override
+    public List<PhotonPipelineResult> getAllUnreadResults() {
+        released.clear();
+        if (pendingResult == null) {
+            return released;
+        }
+
+        double now = Timer.getFPGATimestamp();
+        if (Double.isNaN(timeOffset)) {
+            // Rebase the log so its first frame lines up with the start of playback
+            timeOffset = now - pendingTimestamp;
+        }
+
+        while (pendingResult != null) {
+            double shiftedTimestamp = pendingTimestamp + timeOffset;
+            if (pacing == Pacing.ROBOT_TIME && shiftedTimestamp > now) {
+                break;
+            }
+
+            // getTimestampSeconds() subtracts the pipeline latency from the receive time
+            long latencyMicros = (long) (pendingResult.metadata.getLatencyMillis() * 1000.0);
+            pendingResult.setReceiveTimestampMicros((long) (shiftedTimestamp * 1e6) + latencyMicros);
+            released.add(pendingResult);
+            replayedFrames++;
+            readNext();
+        }
+        return released;
+    }
+
+    private void readNext() {
+        try {
+            pendingTimestamp = in.readDouble();
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+            pendingResult = PhotonPipelineResult.photonStruct.unpack(new Packet(data));
+        } catch (EOFException e) {
+            pendingResult = null;
+            finished = true;
+        } catch (IOException e) {
+            pendingResult = null;
+            finished = true;
+            throw new IllegalStateException("Failed to read vision frame log", e);
+        }
+    }
+
+    /**
+     * Checks whether every frame in the log has been released.
+     * @return true once playback has reached the end of the log
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Gets the number of frames released so far.
+     * @return Replayed frame count
+     */
+    public long getReplayedFrames() {
+        return replayedFrames;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,96 @@
+package frc.robot.vision;
+
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+/**
+ * Primitive copy of the best target in the latest vision frame.
+ *
+ * A single instance is owned by the VisionSubsystem and refreshed once per new frame,
+ * so reading it from commands costs nothing and never allocates. Treat it as read-only
+ * outside the VisionSubsystem, and read it from the main robot thread.
+ */
+public class VisionSnapshot {
+    private boolean hasTargets = false;
+    private boolean targetValid = false;
+    private int targetId = -1;
+    private double yaw = 0.0;
+    private double pitch = 0.0;
+    private double area = 0.0;
+    private double timestampSeconds = 0.0;
+    private long sequence = -1;
+
+    /**
+     * Recomputes the snapshot from a frame.
+     * @param result Latest frame from the camera
+     * @param sequence Frame sequence number from the frame buffer
+     * @param cameraConnected Whether the camera is currently considered connected
+     */
+    public void update(PhotonPipelineResult result, long sequence, boolean cameraConnected) {
+        this.sequence = sequence;
+        this.timestampSeconds = result.getTimestampSeconds();
+        this.hasTargets = result.hasTargets();
+
+        PhotonTrackedTarget best = hasTargets && cameraConnected ? result.getBestTarget() : null;
+        if (best != null) {
+            targetValid = true;
+            targetId = best.getFiducialId();
+            yaw = best.getYaw();
+            pitch = best.getPitch();
+            area = best.getArea();
+        } else {
+            targetValid = false;
+            targetId = -1;
+            yaw = 0.0;
+            pitch = 0.0;
+            area = 0.0;
+        }
+    }
+
+    /**
+     * Checks if the frame contained any AprilTag targets.
+     * @return true if at least one target was detected
+     */
+    public boolean hasTargets() {
+        return hasTargets;
+    }
+
+    /**
+     * Checks if the best-target fields hold real data.
+     * False when there are no targets or the camera is disconnected.
+     * @return true if a best target is available
+     */
+    public boolean isTargetValid() {
+        return targetValid;
+    }
+
+    /** @return AprilTag ID of the best target, or -1 if none */
+    public int getTargetId() {
+        return targetId;
+    }
+
+    /** @return Yaw to the best target in degrees (positive right), or 0.0 if none */
+    public double getYaw() {
+        return yaw;
+    }
+
+    /** @return Pitch to the best target in degrees (positive up), or 0.0 if none */
+    public double getPitch() {
+        return pitch;
+    }
+
+    /** @return Area of the best target as percentage of image, or 0.0 if none */
+    public double getArea() {
+        return area;
+    }
+
+    /** @return Capture timestamp of the frame in seconds (FPGA time base) */
+    public double getTimestampSeconds() {
+        return timestampSeconds;
+    }
+
+    /** @return Frame sequence number, or -1 before the first frame */
+    public long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,93 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.hal.HAL;
+import frc.robot.Constants.VisionConstants;
+import frc.robot.util.Histogram;
+import frc.robot.vision.CameraHealthMonitor;
+
+class CameraHealthMonitorTest {
+
+    @BeforeEach
+    void setup() {
+        assert HAL.initialize(500, 0);
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        var histogram = new Histogram(1.0, 100);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i - 0.5);
+        }
+        histogram.record(500.0); // overflow
+
+        assertEquals(101, histogram.getCount());
+        assertEquals(51.0, histogram.getPercentile(0.5), 1e-9);
+        assertEquals(100.0, histogram.getPercentile(0.99), 1e-9);
+        assertEquals(500.0, histogram.getPercentile(1.0), 1e-9);
+        assertEquals(500.0, histogram.getMax(), 1e-9);
+        assertEquals(1, histogram.getBinValue(histogram.getBinCount() - 1));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getPercentile(0.5));
+    }
+
+    @Test
+    void testFrameRateAndLatency() {
+        var monitor = new CameraHealthMonitor("healthcamera", 0.0);
+
+        // 30 frames over one second, each received 20 ms after capture
+        for (int i = 0; i < 30; i++) {
+            double capture = i / 30.0;
+            monitor.recordFrame(capture, capture + 0.020);
+            monitor.update(capture + 0.020);
+        }
+        monitor.update(VisionConstants.HEALTH_REPORT_PERIOD);
+
+        assertEquals(30.0 / VisionConstants.HEALTH_REPORT_PERIOD, monitor.getFramesPerSecond(), 1e-6);
+        assertEquals(20.0, monitor.getReceiveLatencyP50(), 1.0);
+        assertEquals(20.0, monitor.getReceiveLatencyP99(), 1.0);
+        assertTrue(monitor.isConnected());
+    }
+
+    @Test
+    void testControlLatencyCountsEachFrameOnce() {
+        var monitor = new CameraHealthMonitor("controlcamera", 0.0);
+        monitor.recordFrame(0.10, 0.12);
+
+        // Acting on the same frame over several loops only records its first use
+        monitor.recordControl(0.10, 0.15);
+        monitor.recordControl(0.10, 0.17);
+        monitor.recordControl(0.10, 0.19);
+        monitor.update(VisionConstants.HEALTH_REPORT_PERIOD);
+
+        assertEquals(50.0, monitor.getControlLatencyMax(), 1e-6);
+    }
+
+    @Test
+    void testDisconnectIsTimeBased() {
+        var monitor = new CameraHealthMonitor("timeoutcamera", 0.0);
+        monitor.recordFrame(0.0, 0.0);
+
+        monitor.update(VisionConstants.CAMERA_DISCONNECT_TIMEOUT * 0.5);
+        assertTrue(monitor.isConnected());
+
+        monitor.update(VisionConstants.CAMERA_DISCONNECT_TIMEOUT + 0.01);
+        assertFalse(monitor.isConnected());
+
+        // A new frame reconnects immediately
+        monitor.recordFrame(1.5, 1.52);
+        monitor.update(1.52);
+        assertTrue(monitor.isConnected());
+
+        // An error disconnects until the next frame
+        monitor.recordError();
+        monitor.update(1.53);
+        assertFalse(monitor.isConnected());
+    }
+}
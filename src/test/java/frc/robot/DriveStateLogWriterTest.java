@@ -0,0 +1,99 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+import frc.robot.telemetry.DriveStateLogWriter;
+
+class DriveStateLogWriterTest {
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setup() {
+        assert HAL.initialize(500, 0);
+    }
+
+    private static SwerveDriveState createState(double x) {
+        SwerveDriveState state = new SwerveDriveState();
+        state.Pose = new Pose2d(x, 2.0, Rotation2d.fromDegrees(90.0));
+        state.Speeds = new ChassisSpeeds(1.0, 0.5, 0.25);
+        state.ModuleStates = new SwerveModuleState[4];
+        state.ModuleTargets = new SwerveModuleState[4];
+        state.ModulePositions = new SwerveModulePosition[4];
+        for (int i = 0; i < 4; i++) {
+            state.ModuleStates[i] = new SwerveModuleState(i, Rotation2d.kZero);
+            state.ModuleTargets[i] = new SwerveModuleState(i, Rotation2d.kZero);
+            state.ModulePositions[i] = new SwerveModulePosition(i * 10.0, Rotation2d.kZero);
+        }
+        state.RawHeading = Rotation2d.fromDegrees(90.0);
+        state.Timestamp = 1.0 + x * 0.004;
+        state.OdometryPeriod = 0.004;
+        return state;
+    }
+
+    @Test
+    void testWritesReadableWpilog() throws IOException {
+        Path file = tempDir.resolve("drive.wpilog");
+        var writer = new DriveStateLogWriter(file, 1 << 20, 4);
+        for (int i = 0; i < 10; i++) {
+            writer.append(createState(i));
+        }
+        writer.close();
+        assertEquals(10, writer.getWrittenSamples());
+
+        var reader = new DataLogReader(file.toString());
+        assertTrue(reader.isValid());
+
+        Map<Integer, String> names = new HashMap<>();
+        int poseRecords = 0;
+        double lastX = -1.0;
+        for (DataLogRecord record : reader) {
+            if (record.isStart()) {
+                var start = record.getStartData();
+                names.put(start.entry, start.name);
+            } else if (!record.isControl() && "DriveState/Pose".equals(names.get(record.getEntry()))) {
+                double[] pose = record.getDoubleArray();
+                assertEquals(3, pose.length);
+                assertEquals(90.0, pose[2], 1e-9);
+                lastX = pose[0];
+                poseRecords++;
+            }
+        }
+        assertTrue(names.containsValue("DriveState/ModulePositions"));
+        assertEquals(10, poseRecords);
+        assertEquals(9.0, lastX, 1e-9);
+    }
+
+    @Test
+    void testDropsSamplesWhenFull() throws IOException {
+        Path file = tempDir.resolve("small.wpilog");
+        var writer = new DriveStateLogWriter(file, 4096, 4);
+        for (int i = 0; i < 100; i++) {
+            writer.append(createState(i));
+        }
+        writer.close();
+
+        assertTrue(writer.getWrittenSamples() > 0);
+        assertEquals(100, writer.getWrittenSamples() + writer.getDroppedSamples());
+        assertTrue(writer.getWrittenSamples() * writer.getSampleBytes() <= 4096);
+    }
+}
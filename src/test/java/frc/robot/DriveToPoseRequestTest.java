@@ -0,0 +1,202 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveControlParameters;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+
+import frc.robot.Constants.VisionConstants;
+import frc.robot.swerve.DriveToPoseRequest;
+
+class DriveToPoseRequestTest {
+    private static final double EPSILON = 1e-9;
+    private static final Translation2d[] MODULE_LOCATIONS = {
+        new Translation2d(0.3, 0.3), new Translation2d(0.3, -0.3),
+        new Translation2d(-0.3, 0.3), new Translation2d(-0.3, -0.3),
+    };
+
+    private DriveToPoseRequest request;
+    private SwerveControlParameters parameters;
+
+    @BeforeEach
+    void setup() {
+        request = new DriveToPoseRequest();
+
+        parameters = new SwerveControlParameters();
+        parameters.kinematics = new SwerveDriveKinematics(MODULE_LOCATIONS);
+        parameters.moduleLocations = MODULE_LOCATIONS;
+        parameters.kMaxSpeed = 5.0;
+        parameters.operatorForwardDirection = new Rotation2d();
+        parameters.currentChassisSpeed = new ChassisSpeeds();
+        parameters.timestamp = 0.0;
+        parameters.updatePeriod = 0.004;
+    }
+
+    /* Runs one control cycle from the given pose, with no modules to command */
+    private void applyAt(Pose2d pose) {
+        parameters.currentPose = pose;
+        request.apply(parameters);
+    }
+
+    /* Drive speed the request should command at a distance, facing the goal */
+    private static double expectedDriveSpeed(double distance) {
+        double speed = Math.min(
+            distance * VisionConstants.DRIVE_P,
+            Math.sqrt(2.0 * VisionConstants.MAX_DRIVE_ACCELERATION * distance));
+        return MathUtil.clamp(speed, VisionConstants.MIN_DRIVE_SPEED, VisionConstants.MAX_DRIVE_SPEED);
+    }
+
+    @Test
+    void testNoGoalHoldsStill() {
+        applyAt(new Pose2d(1.0, 2.0, new Rotation2d()));
+
+        assertFalse(request.hasGoal());
+        assertFalse(request.isAtGoal());
+        assertTrue(Double.isNaN(request.getDistanceError()));
+        assertEquals(0.0, request.getVelocityX(), EPSILON);
+        assertEquals(0.0, request.getVelocityY(), EPSILON);
+        assertEquals(0.0, request.getRotationalRate(), EPSILON);
+    }
+
+    @Test
+    void testGoalLifecycle() {
+        assertFalse(request.hasGoal());
+        assertFalse(request.isAtGoal());
+
+        Pose2d pose = new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(30.0));
+        request.withPose(pose);
+        assertTrue(request.hasGoal());
+        assertTrue(request.isAtGoal(pose));
+
+        request.clearGoal();
+        assertFalse(request.hasGoal());
+        assertFalse(request.isAtGoal(pose));
+    }
+
+    @Test
+    void testDriveSpeedSlowsToStopAtGoal() {
+        request.withPose(new Pose2d(10.0, 0.0, new Rotation2d()));
+
+        double[] distances = {0.1, 0.3, 0.5, 1.0, 2.0, 4.0};
+        for (double distance : distances) {
+            applyAt(new Pose2d(10.0 - distance, 0.0, new Rotation2d()));
+
+            assertEquals(distance, request.getDistanceError(), EPSILON);
+            assertEquals(expectedDriveSpeed(distance), request.getVelocityX(), EPSILON,
+                "drive speed at " + distance + " m");
+            assertEquals(0.0, request.getVelocityY(), EPSILON);
+            assertEquals(0.0, request.getRotationalRate(), EPSILON);
+        }
+    }
+
+    @Test
+    void testDriveSpeedNeverExceedsStoppingSpeed() {
+        request.withPose(new Pose2d(10.0, 0.0, new Rotation2d()));
+
+        for (double distance = 0.06; distance < 5.0; distance += 0.01) {
+            applyAt(new Pose2d(10.0 - distance, 0.0, new Rotation2d()));
+
+            double stoppingSpeed = Math.sqrt(2.0 * VisionConstants.MAX_DRIVE_ACCELERATION * distance);
+            double speed = request.getVelocityX();
+            assertTrue(speed <= Math.max(stoppingSpeed, VisionConstants.MIN_DRIVE_SPEED) + EPSILON,
+                "too fast to stop at " + distance + " m");
+            assertTrue(speed >= VisionConstants.MIN_DRIVE_SPEED - EPSILON);
+            assertTrue(speed <= VisionConstants.MAX_DRIVE_SPEED + EPSILON);
+        }
+    }
+
+    @Test
+    void testDrivesAlongLineToGoal() {
+        request.withPose(new Pose2d(3.0, 4.0, new Rotation2d()));
+        applyAt(new Pose2d(0.0, 0.0, new Rotation2d()));
+
+        double speed = expectedDriveSpeed(5.0);
+        assertEquals(5.0, request.getDistanceError(), EPSILON);
+        assertEquals(0.6 * speed, request.getVelocityX(), EPSILON);
+        assertEquals(0.8 * speed, request.getVelocityY(), EPSILON);
+    }
+
+    @Test
+    void testLargeHeadingErrorRotatesBeforeDriving() {
+        request.withPose(new Pose2d(2.0, 0.0, new Rotation2d()));
+
+        double beyondCutoff = VisionConstants.MAX_YAW_ERROR_FOR_DRIVE + 5.0;
+        applyAt(new Pose2d(0.0, 0.0, Rotation2d.fromDegrees(beyondCutoff)));
+
+        assertEquals(-beyondCutoff, request.getHeadingErrorDegrees(), EPSILON);
+        assertEquals(0.0, request.getVelocityX(), EPSILON);
+        assertEquals(0.0, request.getVelocityY(), EPSILON);
+        assertTrue(request.getRotationalRate() < 0.0, "should turn clockwise toward the goal heading");
+
+        double withinCutoff = VisionConstants.MAX_YAW_ERROR_FOR_DRIVE - 5.0;
+        applyAt(new Pose2d(0.0, 0.0, Rotation2d.fromDegrees(withinCutoff)));
+
+        assertEquals(expectedDriveSpeed(2.0), request.getVelocityX(), EPSILON);
+        assertTrue(request.getRotationalRate() < 0.0);
+    }
+
+    @Test
+    void testRotationSpeedIsLimited() {
+        request.withPose(new Pose2d(0.0, 0.0, new Rotation2d()));
+
+        applyAt(new Pose2d(0.0, 0.0, Rotation2d.fromDegrees(-170.0)));
+        assertEquals(VisionConstants.MAX_ROTATION_SPEED, request.getRotationalRate(), EPSILON);
+
+        // Small errors outside tolerance still turn at the minimum speed
+        double smallError = VisionConstants.ANGLE_TOLERANCE + 0.1;
+        applyAt(new Pose2d(0.0, 0.0, Rotation2d.fromDegrees(-smallError)));
+        assertEquals(
+            Math.max(smallError * VisionConstants.ROTATION_P, VisionConstants.MIN_ROTATION_SPEED),
+            request.getRotationalRate(), EPSILON);
+    }
+
+    @Test
+    void testAimingFacesAimPoint() {
+        request.withAim(null, new Translation2d(5.0, 5.0));
+        applyAt(new Pose2d(0.0, 0.0, new Rotation2d()));
+
+        assertEquals(45.0, request.getHeadingErrorDegrees(), EPSILON);
+        assertEquals(0.0, request.getDistanceError(), EPSILON);
+        assertEquals(0.0, request.getVelocityX(), EPSILON);
+        assertEquals(0.0, request.getVelocityY(), EPSILON);
+        assertTrue(request.getRotationalRate() > 0.0);
+
+        assertTrue(request.isAtGoal(new Pose2d(0.0, 0.0, Rotation2d.fromDegrees(45.0))));
+        assertFalse(request.isAtGoal(new Pose2d(0.0, 0.0, new Rotation2d())));
+    }
+
+    @Test
+    void testIsAtGoalWithinTolerance() {
+        Pose2d goal = new Pose2d(2.0, 1.0, Rotation2d.fromDegrees(90.0));
+        request.withPose(goal);
+
+        applyAt(new Pose2d(1.0, 1.0, Rotation2d.fromDegrees(90.0)));
+        assertFalse(request.isAtGoal());
+
+        Pose2d close = new Pose2d(
+            2.0 - VisionConstants.POSITION_TOLERANCE / 2.0, 1.0,
+            Rotation2d.fromDegrees(90.0 + VisionConstants.ANGLE_TOLERANCE / 2.0));
+        applyAt(close);
+        assertTrue(request.isAtGoal());
+        assertTrue(request.isAtGoal(close));
+        assertEquals(0.0, request.getVelocityX(), EPSILON);
+        assertEquals(0.0, request.getVelocityY(), EPSILON);
+
+        Pose2d turned = new Pose2d(2.0, 1.0, Rotation2d.fromDegrees(90.0 + 2.0 * VisionConstants.ANGLE_TOLERANCE));
+        assertFalse(request.isAtGoal(turned));
+
+        request.clearGoal();
+        assertFalse(request.isAtGoal());
+        assertFalse(request.isAtGoal(close));
+        assertTrue(Double.isNaN(request.getDistanceError()));
+    }
+}
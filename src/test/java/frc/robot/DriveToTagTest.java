@@ -43,6 +43,9 @@ class DriveToTagTest {
         if (drivetrain != null) {
             drivetrain.close();
         }
+        if (vision != null) {
+            vision.close();
+        }
         CommandScheduler.getInstance().cancelAll();
         CommandScheduler.getInstance().clearComposedCommands();
     }
@@ -80,6 +83,25 @@ class DriveToTagTest {
         assertFalse(command.isFinished());
     }
 
+    @Test
+    void testNoTagLockedWithoutTargets() {
+        command.initialize();
+        command.execute();
+        assertEquals(-1, command.getLockedTagId());
+    }
+
+    @Test
+    void testRequestedTagIsLocked() {
+        var lockedCommand = new DriveToTag(vision, drivetrain, 7);
+        lockedCommand.initialize();
+        lockedCommand.execute();
+
+        // Requested tag stays locked even when it is not visible
+        assertEquals(7, lockedCommand.getLockedTagId());
+        assertFalse(lockedCommand.isFinished());
+        lockedCommand.end(true);
+    }
+
     @Test
     void testCommandSchedules() {
         // Command should schedule without errors
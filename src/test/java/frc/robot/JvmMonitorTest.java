@@ -0,0 +1,68 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.hal.HAL;
+
+import frc.robot.Constants.JvmConstants;
+import frc.robot.util.JvmMonitor;
+
+class JvmMonitorTest {
+    private JvmMonitor monitor;
+    private static volatile Object sink;
+
+    @BeforeEach
+    void setup() {
+        // Initialize HAL for NetworkTables
+        assert HAL.initialize(500, 0);
+
+        monitor = new JvmMonitor();
+        assumeTrue(monitor.isAllocationSupported());
+    }
+
+    @Test
+    void testMeasuresAllocationPerLoop() {
+        monitor.registerMainThread();
+        monitor.update(0.0);
+
+        sink = new byte[1024 * 1024];
+        monitor.update(0.02);
+
+        assertTrue(monitor.getLoopAllocatedBytes("Main") >= 1024 * 1024);
+        assertEquals(-1, monitor.getLoopAllocatedBytes("Unknown"));
+    }
+
+    @Test
+    void testAlertsWhenOverBudget() {
+        monitor.registerMainThread();
+        monitor.update(0.0);
+
+        sink = new byte[(int) JvmConstants.ALLOCATION_BUDGET_BYTES * 2];
+        monitor.update(0.02);
+        assertEquals(1, monitor.getOverBudgetLoops());
+        assertTrue(monitor.isAllocationAlertActive());
+
+        // Alert clears once the hold time passes without another violation
+        monitor.update(0.04);
+        monitor.update(0.04 + JvmConstants.ALERT_HOLD_TIME + 0.1);
+        assertFalse(monitor.isAllocationAlertActive());
+    }
+
+    @Test
+    void testRegistersThreadOnce() {
+        assertTrue(monitor.registerCurrentThread("Main"));
+        assertTrue(monitor.registerCurrentThread("Other"));
+        assertEquals(-1, monitor.getLoopAllocatedBytes("Other"));
+    }
+
+    @Test
+    void testReportsHeapHeadroom() {
+        monitor.update(0.0);
+        assertTrue(monitor.getHeapHeadroomBytes() > 0);
+        assertTrue(monitor.getHeapHeadroomBytes() <= Runtime.getRuntime().maxMemory());
+    }
+}
@@ -0,0 +1,80 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.util.datalog.DataLogWriter;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import frc.robot.telemetry.LogAnalyzer;
+
+class LogAnalyzerTest {
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setup() {
+        assert HAL.initialize(500, 0);
+    }
+
+    private static long micros(double seconds) {
+        return (long) (seconds * 1e6);
+    }
+
+    @Test
+    void testComputesMetricsInOnePass() throws IOException {
+        Path file = tempDir.resolve("match.wpilog");
+        DataLogWriter log = new DataLogWriter(file.toString());
+        var period = new DoubleLogEntry(log, "DriveState/OdometryPeriod");
+        var states = new DoubleArrayLogEntry(log, "DriveState/ModuleStates");
+        var targets = new DoubleArrayLogEntry(log, "DriveState/ModuleTargets");
+        var align = new StringLogEntry(log, "RealOutputs/DriveToTag/State");
+        var capture = new DoubleArrayLogEntry(log, "Vision/Camera/front/Timestamps");
+        var receive = new DoubleArrayLogEntry(log, "Vision/Camera/front/ReceiveTimestamps");
+
+        // Alternating 4ms and 6ms odometry periods: 5ms mean, 1ms jitter
+        for (int i = 0; i < 100; i++) {
+            period.append(i % 2 == 0 ? 0.004 : 0.006, micros(i * 0.005));
+        }
+
+        // One module, 0.5 m/s behind and 10 degrees off its target
+        targets.append(new double[] {Math.toRadians(10.0), 2.0}, micros(1.0));
+        states.append(new double[] {0.0, 1.5}, micros(1.0));
+
+        align.append("Aligning", micros(2.0));
+        align.append("Aligned", micros(3.5));
+        align.append("Aligning", micros(5.0));
+        align.append("Interrupted", micros(5.5));
+
+        capture.append(new double[] {6.00, 6.02}, micros(6.1));
+        receive.append(new double[] {6.03, 6.05}, micros(6.1));
+        log.close();
+
+        LogAnalyzer analyzer = new LogAnalyzer();
+        LogAnalyzer.analyzeFile(file, analyzer);
+
+        assertEquals(100, analyzer.getOdometryPeriodMs().getCount());
+        assertEquals(5.0, analyzer.getOdometryPeriodMs().getMean(), 1e-6);
+        assertEquals(1.0, analyzer.getOdometryJitterMs(), 0.01);
+
+        assertEquals(0.5, analyzer.getModuleSpeedError().getMax(), 1e-9);
+        assertEquals(10.0, analyzer.getModuleAngleErrorDeg().getMax(), 1e-6);
+
+        assertEquals(1, analyzer.getTimeToAlign().getCount());
+        assertEquals(1.5, analyzer.getTimeToAlign().getMax(), 1e-6);
+        assertEquals(1, analyzer.getAlignInterrupted());
+
+        assertEquals(2, analyzer.getVisionLatencyMs().getCount());
+        assertEquals(30.0, analyzer.getVisionLatencyMs().getMean(), 1e-6);
+
+        assertEquals(0, analyzer.getLoopCycleMs().getCount());
+    }
+}
@@ -0,0 +1,144 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import frc.robot.Constants.LoggingConstants;
+import frc.robot.Constants.TelemetryConstants;
+import frc.robot.telemetry.LogLifecycleManager;
+
+class LogLifecycleManagerTest {
+    @TempDir
+    Path tempDir;
+
+    private Telemetry telemetry;
+    private LogLifecycleManager manager;
+
+    @BeforeEach
+    void setup() {
+        assert HAL.initialize(500, 0);
+
+        telemetry = new Telemetry(4.5);
+        manager = new LogLifecycleManager(telemetry, tempDir, false, LoggingConstants.LOG_QUOTA_BYTES);
+    }
+
+    @AfterEach
+    void teardown() {
+        manager.close();
+        telemetry.close();
+        NetworkTableInstance.getDefault().close();
+    }
+
+    private long countFiles(String suffix) throws IOException {
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            return files.filter(file -> file.toString().endsWith(suffix)).count();
+        }
+    }
+
+    /* A finished session directory holding one log of the given size, last written the given time ago */
+    private Path oldSession(String name, int sizeBytes, double ageSeconds) throws IOException {
+        Path directory = Files.createDirectory(tempDir.resolve(name));
+        Path file = Files.write(directory.resolve("drive.wpilog.gz"), new byte[sizeBytes]);
+        FileTime time = FileTime.fromMillis(System.currentTimeMillis() - (long) (ageSeconds * 1000));
+        Files.setLastModifiedTime(file, time);
+        Files.setLastModifiedTime(directory, time);
+        return directory;
+    }
+
+    /* Starts a session with the given quota; opening it enforces the quota */
+    private Path startSessionWithQuota(long quotaBytes) throws InterruptedException {
+        manager.close();
+        manager = new LogLifecycleManager(telemetry, tempDir, false, quotaBytes);
+        manager.update(0.0, true, null);
+        assertTrue(manager.awaitIdle(5.0));
+        Path active = manager.getActiveSessionDirectory();
+        assertNotNull(active);
+        return active;
+    }
+
+    @Test
+    void testQuotaDeletesOldestSessionFirst() throws IOException, InterruptedException {
+        Path oldest = oldSession("oldest", 1000, 7200.0);
+        Path older = oldSession("older", 1000, 3600.0);
+
+        // Active drive log plus both old sessions is 2000 bytes over; dropping the oldest is enough
+        Path active = startSessionWithQuota(TelemetryConstants.DRIVE_LOG_CAPACITY_BYTES + 1500);
+
+        assertFalse(Files.exists(oldest));
+        assertTrue(Files.exists(older));
+        assertTrue(Files.exists(active));
+    }
+
+    @Test
+    void testQuotaKeepsActiveSessionAndRecentFiles() throws IOException, InterruptedException {
+        Path oldest = oldSession("oldest", 1000, 7200.0);
+        Path older = oldSession("older", 1000, 3600.0);
+        Path recent = Files.write(tempDir.resolve("akit_recent.wpilog"), new byte[1000]);
+
+        // Far over quota: every old session goes, but nothing that may still be open
+        Path active = startSessionWithQuota(1);
+
+        assertFalse(Files.exists(oldest));
+        assertFalse(Files.exists(older));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(active));
+        assertTrue(Files.exists(active.resolve("drive.wpilog")));
+    }
+
+    @Test
+    void testSessionSpansShortDisable() throws InterruptedException {
+        manager.update(0.0, true, null);
+        assertTrue(manager.awaitIdle(5.0));
+        Path session = manager.getActiveSessionDirectory();
+        assertNotNull(session);
+
+        // Auto to teleop gap: disabled for less than the idle timeout
+        manager.update(15.0, false, null);
+        manager.update(15.0 + LoggingConstants.SESSION_IDLE_TIMEOUT / 2, false, null);
+        manager.update(18.0 + LoggingConstants.SESSION_IDLE_TIMEOUT / 2, true, null);
+        assertTrue(manager.awaitIdle(5.0));
+
+        assertEquals(session, manager.getActiveSessionDirectory());
+        assertEquals(0, manager.getCompletedSessions());
+    }
+
+    @Test
+    void testIdleSessionIsClosedAndCompressed() throws InterruptedException, IOException {
+        manager.update(0.0, true, null);
+        manager.update(10.0, false, null);
+        manager.update(10.0 + LoggingConstants.SESSION_IDLE_TIMEOUT, false, null);
+        assertTrue(manager.awaitIdle(5.0));
+
+        assertFalse(manager.isSessionActive());
+        assertNull(manager.getActiveSessionDirectory());
+        assertEquals(1, manager.getCompletedSessions());
+        assertEquals(0, countFiles(".wpilog"));
+        assertEquals(1, countFiles(".wpilog.gz"));
+    }
+
+    @Test
+    void testNewMatchStartsNewSession() throws InterruptedException {
+        manager.update(0.0, true, "Event_Q1");
+        assertTrue(manager.awaitIdle(5.0));
+        assertEquals(tempDir.resolve("Event_Q1"), manager.getActiveSessionDirectory());
+
+        manager.update(5.0, false, "Event_Q2");
+        manager.update(6.0, true, "Event_Q2");
+        assertTrue(manager.awaitIdle(5.0));
+
+        assertEquals(tempDir.resolve("Event_Q2"), manager.getActiveSessionDirectory());
+        assertEquals(1, manager.getCompletedSessions());
+    }
+}
@@ -0,0 +1,105 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.hal.HAL;
+
+import frc.robot.util.LoopProfiler;
+
+class LoopProfilerTest {
+    private static final long MS = 1_000_000L;
+
+    private long nowNanos;
+    private LoopProfiler profiler;
+
+    @BeforeEach
+    void setup() {
+        // Initialize HAL for NetworkTables
+        assert HAL.initialize(500, 0);
+
+        nowNanos = 0;
+        profiler = new LoopProfiler(() -> nowNanos);
+    }
+
+    /** Runs one loop in which each item takes the given time. */
+    private void runLoop(int[] ids, long[] itemNanos, long extraNanos) {
+        profiler.startLoop();
+        for (int i = 0; i < ids.length; i++) {
+            profiler.record(ids[i], itemNanos[i]);
+            nowNanos += itemNanos[i];
+        }
+        nowNanos += extraNanos;
+        profiler.endLoop();
+    }
+
+    @Test
+    void testRegisterIsIdempotent() {
+        int id = profiler.register("Subsystem.periodic()");
+        assertEquals(id, profiler.register("Subsystem.periodic()"));
+        assertEquals(id, profiler.getId("Subsystem.periodic()"));
+        assertEquals(-1, profiler.getId("Unknown"));
+    }
+
+    @Test
+    void testNoOverrunWithinBudget() {
+        int a = profiler.register("A");
+        runLoop(new int[] { a }, new long[] { 5 * MS }, 1 * MS);
+
+        assertEquals(0, profiler.getOverrunCount());
+        assertEquals("", profiler.getWorstOffender());
+    }
+
+    @Test
+    void testOverrunBlamesSlowestItem() {
+        int a = profiler.register("A");
+        int b = profiler.register("B");
+        runLoop(new int[] { a, b, a }, new long[] { 4 * MS, 15 * MS, 4 * MS }, 0);
+
+        assertEquals(1, profiler.getOverrunCount());
+        assertEquals("B", profiler.getWorstOffender());
+        assertEquals(15.0, profiler.getWorstOffenderMillis(), 1e-9);
+        assertEquals(1, profiler.getOverrunCount(b));
+        assertEquals(0, profiler.getOverrunCount(a));
+    }
+
+    @Test
+    void testOverrunTimeIsPerLoop() {
+        int a = profiler.register("A");
+        int b = profiler.register("B");
+
+        // A was slow in an earlier loop, but only B is slow in the overrun loop
+        runLoop(new int[] { a }, new long[] { 15 * MS }, 0);
+        runLoop(new int[] { a, b }, new long[] { 2 * MS, 19 * MS }, 0);
+
+        assertEquals("B", profiler.getWorstOffender());
+    }
+
+    @Test
+    void testUntimedWorkIsUnattributed() {
+        int a = profiler.register("A");
+        runLoop(new int[] { a }, new long[] { 2 * MS }, 30 * MS);
+
+        assertEquals(1, profiler.getOverrunCount());
+        assertEquals(LoopProfiler.UNATTRIBUTED, profiler.getWorstOffender());
+        assertEquals(0, profiler.getOverrunCount(a));
+    }
+
+    @Test
+    void testPublishesPercentiles() {
+        int a = profiler.register("A");
+        // The first loop publishes immediately; run a full window after it
+        runLoop(new int[] { a }, new long[] { 1 * MS }, 0);
+        for (int i = 0; i < 100; i++) {
+            runLoop(new int[] { a }, new long[] { (i < 98 ? 1 : 10) * MS }, 0);
+        }
+        nowNanos += 2000 * MS;
+        runLoop(new int[] { a }, new long[] { 1 * MS }, 0);
+
+        assertEquals(1.0, profiler.getP50Millis(a), 0.1);
+        assertEquals(10.0, profiler.getMaxMillis(a), 0.1);
+        assertTrue(profiler.getP99Millis(a) > 5.0);
+    }
+}
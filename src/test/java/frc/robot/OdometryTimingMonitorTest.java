@@ -0,0 +1,69 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.hal.HAL;
+
+import frc.robot.Constants.OdometryTimingConstants;
+import frc.robot.swerve.OdometryTimingMonitor;
+
+class OdometryTimingMonitorTest {
+    private OdometryTimingMonitor monitor;
+
+    @BeforeEach
+    void setup() {
+        // Initialize HAL for NetworkTables
+        assert HAL.initialize(500, 0);
+
+        monitor = new OdometryTimingMonitor(100.0);
+    }
+
+    @Test
+    void testSteadyRateMeetsRequest() {
+        double timestamp = 0.0;
+        for (int i = 0; i < 101; i++) {
+            monitor.record(0.01, timestamp, timestamp + 0.002);
+            timestamp += 0.01;
+        }
+        monitor.update(0.0);
+
+        assertEquals(100.0, monitor.getAchievedFrequency(), 1e-6);
+        assertEquals(10.0, monitor.getPeriodP50Millis(), OdometryTimingConstants.HISTOGRAM_BIN_WIDTH);
+        assertEquals(2.0, monitor.getFreshnessP99Millis(), OdometryTimingConstants.HISTOGRAM_BIN_WIDTH);
+        assertEquals(0, monitor.getMissedUpdates());
+        assertEquals(0, monitor.getLateUpdates());
+        assertFalse(monitor.isRateAlertActive());
+    }
+
+    @Test
+    void testCountsMissedAndLateUpdates() {
+        monitor.record(0.01, 0.00, 0.00);
+        monitor.record(0.013, 0.013, 0.013); // Late
+        monitor.record(0.03, 0.043, 0.043);  // Two updates missed
+
+        assertEquals(1, monitor.getLateUpdates());
+        assertEquals(2, monitor.getMissedUpdates());
+    }
+
+    @Test
+    void testAlertsWhenBelowRequestedRate() {
+        // CAN 2.0 under load: only 80 Hz of the requested 100 Hz
+        double timestamp = 0.0;
+        for (int i = 0; i < 81; i++) {
+            monitor.record(0.0125, timestamp, timestamp);
+            timestamp += 0.0125;
+        }
+        monitor.update(0.0);
+
+        assertEquals(80.0, monitor.getAchievedFrequency(), 1e-6);
+        assertEquals(2.5, monitor.getJitterP99Millis(), OdometryTimingConstants.HISTOGRAM_BIN_WIDTH);
+        assertTrue(monitor.isRateAlertActive());
+
+        // The next window restarts the histograms
+        monitor.update(OdometryTimingConstants.PUBLISH_PERIOD);
+        assertEquals(0.0, monitor.getPeriodMaxMillis());
+    }
+}
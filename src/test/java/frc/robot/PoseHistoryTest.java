@@ -0,0 +1,89 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import frc.robot.swerve.PoseHistory;
+
+class PoseHistoryTest {
+
+    @Test
+    void testEmptyHistoryHasNoPose() {
+        var history = new PoseHistory(8);
+        assertFalse(history.getPoseAt(1.0, new PoseHistory.Sample()));
+        assertTrue(Double.isNaN(history.getLatestTimestamp()));
+    }
+
+    @Test
+    void testInterpolatesBetweenSamples() {
+        var history = new PoseHistory(8);
+        history.record(1.00, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0);
+        history.record(1.01, 0.01, 0.02, 0.1, 0.1, 1.0, 2.0, 10.0);
+        history.record(1.02, 0.03, 0.04, 0.3, 0.3, 3.0, 2.0, 20.0);
+
+        var sample = new PoseHistory.Sample();
+        assertTrue(history.getPoseAt(1.015, sample));
+        assertEquals(1.015, sample.getTimestamp(), 1e-9);
+        assertEquals(0.02, sample.getX(), 1e-9);
+        assertEquals(0.03, sample.getY(), 1e-9);
+        assertEquals(0.2, sample.getHeading(), 1e-9);
+        assertEquals(0.2, sample.getRawHeading(), 1e-9);
+        assertEquals(2.0, sample.getVx(), 1e-9);
+        assertEquals(2.0, sample.getVy(), 1e-9);
+        assertEquals(15.0, sample.getOmega(), 1e-9);
+
+        // Exact hits on both ends return the recorded sample
+        assertTrue(history.getPoseAt(1.00, sample));
+        assertEquals(0.0, sample.getX(), 1e-9);
+        assertTrue(history.getPoseAt(1.02, sample));
+        assertEquals(0.03, sample.getX(), 1e-9);
+        assertEquals(0.3, sample.toPose2d().getRotation().getRadians(), 1e-9);
+    }
+
+    @Test
+    void testInterpolatesHeadingAcrossWrap() {
+        var history = new PoseHistory(4);
+        history.record(0.0, 0.0, 0.0, Math.PI - 0.1, Math.PI - 0.1, 0.0, 0.0, 0.0);
+        history.record(1.0, 0.0, 0.0, -Math.PI + 0.1, Math.PI + 0.1, 0.0, 0.0, 0.0);
+
+        // Halfway between should be pi, not 0; the raw gyro heading is continuous and not wrapped
+        var sample = new PoseHistory.Sample();
+        assertTrue(history.getPoseAt(0.5, sample));
+        assertEquals(Math.PI, Math.abs(sample.getHeading()), 1e-9);
+        assertEquals(Math.PI, sample.getRawHeading(), 1e-9);
+    }
+
+    @Test
+    void testNewerThanHistoryReturnsNewestSample() {
+        var history = new PoseHistory(4);
+        history.record(1.00, 1.0, 2.0, 0.5, 0.7, 0.0, 0.0, 0.0);
+        history.record(1.01, 1.1, 2.0, 0.6, 0.8, 0.0, 0.0, 0.0);
+
+        // A frame captured between odometry updates is newer than the last sample
+        var sample = new PoseHistory.Sample();
+        assertTrue(history.getPoseAt(1.013, sample));
+        assertEquals(1.01, sample.getTimestamp(), 1e-9);
+        assertEquals(1.1, sample.getX(), 1e-9);
+        assertEquals(0.8, sample.getRawHeading(), 1e-9);
+    }
+
+    @Test
+    void testOldSamplesAreOverwritten() {
+        var history = new PoseHistory(4);
+        for (int i = 0; i < 10; i++) {
+            history.record(i, i, 0.0, 0.0, i * 0.1, 0.0, 0.0, 0.0);
+        }
+        assertEquals(4, history.size());
+        assertEquals(9.0, history.getLatestTimestamp(), 1e-9);
+
+        // Only the last four samples (t = 6..9) are retained
+        var sample = new PoseHistory.Sample();
+        assertFalse(history.getPoseAt(5.5, sample));
+        assertTrue(history.getPoseAt(6.25, sample));
+        assertEquals(6.25, sample.getX(), 1e-9);
+        assertEquals(0.625, sample.getRawHeading(), 1e-9);
+        assertTrue(history.getPoseAt(8.5, sample));
+        assertEquals(8.5, sample.getX(), 1e-9);
+    }
+}
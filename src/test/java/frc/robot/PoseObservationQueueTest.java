@@ -0,0 +1,101 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.littletonrobotics.junction.LogTable;
+
+import frc.robot.vision.PoseObservation;
+import frc.robot.vision.PoseObservationBatch;
+import frc.robot.vision.PoseObservationQueue;
+
+class PoseObservationQueueTest {
+    private PoseObservation[] batch;
+
+    @BeforeEach
+    void setup() {
+        batch = new PoseObservation[8];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = new PoseObservation();
+        }
+    }
+
+    private static PoseObservation observationAt(double timestampSeconds) {
+        var observation = new PoseObservation();
+        observation.set(timestampSeconds, 1.0, 2.0, 0.5, 1, 2.0, 0.1);
+        return observation;
+    }
+
+    @Test
+    void testDrainEmptyQueue() {
+        var queue = new PoseObservationQueue(4);
+        assertEquals(0, queue.drainTo(batch));
+    }
+
+    @Test
+    void testDrainReturnsTimestampOrder() {
+        var queue = new PoseObservationQueue(8);
+        queue.offer(observationAt(3.0));
+        queue.offer(observationAt(1.0));
+        queue.offer(observationAt(2.0));
+
+        assertEquals(3, queue.drainTo(batch));
+        assertEquals(1.0, batch[0].getTimestampSeconds());
+        assertEquals(2.0, batch[1].getTimestampSeconds());
+        assertEquals(3.0, batch[2].getTimestampSeconds());
+
+        // Queue is empty after draining
+        assertEquals(0, queue.drainTo(batch));
+    }
+
+    @Test
+    void testOfferCopiesObservation() {
+        var queue = new PoseObservationQueue(4);
+        var observation = observationAt(1.0);
+        queue.offer(observation);
+
+        // Reusing the caller's observation must not change the queued copy
+        observation.set(9.0, 0.0, 0.0, 0.0, 0, 0.0, 0.0);
+
+        assertEquals(1, queue.drainTo(batch));
+        assertEquals(1.0, batch[0].getTimestampSeconds());
+        assertEquals(1.0, batch[0].getX());
+        assertEquals(2.0, batch[0].getY());
+    }
+
+    @Test
+    void testFullQueueDropsOldest() {
+        var queue = new PoseObservationQueue(2);
+        queue.offer(observationAt(1.0));
+        queue.offer(observationAt(2.0));
+        queue.offer(observationAt(3.0));
+
+        assertEquals(1, queue.getDroppedObservations());
+        assertEquals(2, queue.drainTo(batch));
+        assertEquals(2.0, batch[0].getTimestampSeconds());
+        assertEquals(3.0, batch[1].getTimestampSeconds());
+    }
+
+    @Test
+    void testBatchRoundTripsThroughLog() {
+        var queue = new PoseObservationQueue(4);
+        queue.offer(observationAt(2.0));
+        queue.offer(observationAt(1.0));
+        var logged = new PoseObservationBatch(4);
+        logged.drainFrom(queue);
+
+        var table = new LogTable(0);
+        logged.toLog(table);
+        var replayed = new PoseObservationBatch(4);
+        replayed.fromLog(table);
+
+        // Replay fuses the same observations, in the same order
+        assertEquals(2, replayed.getCount());
+        assertEquals(1.0, replayed.getObservations()[0].getTimestampSeconds());
+        assertEquals(2.0, replayed.getObservations()[1].getTimestampSeconds());
+        assertEquals(2.0, replayed.getObservations()[1].getY());
+        assertEquals(1, replayed.getObservations()[1].getTagCount());
+        assertEquals(0.1, replayed.getObservations()[1].getAmbiguity());
+    }
+}
@@ -0,0 +1,79 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+import frc.robot.util.PublisherRegistry;
+
+class PublisherRegistryTest {
+    private PublisherRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        // Initialize HAL for NetworkTables
+        assert HAL.initialize(500, 0);
+
+        registry = new PublisherRegistry("RegistryTest");
+    }
+
+    @AfterEach
+    void teardown() {
+        registry.close();
+    }
+
+    @Test
+    void testPublishesOnlyOnFlush() {
+        var entry = registry.addDouble("Yaw");
+        var sub = NetworkTableInstance.getDefault()
+            .getTable("SmartDashboard/RegistryTest")
+            .getDoubleTopic("Yaw")
+            .subscribe(Double.NaN);
+
+        entry.set(12.5);
+        assertEquals(Double.NaN, sub.get());
+
+        PublisherRegistry.flushAll();
+        assertEquals(12.5, sub.get(), 1e-9);
+        sub.close();
+    }
+
+    @Test
+    void testUnchangedValuesAreNotRepublished() {
+        var entry = registry.addBoolean("Connected");
+        var sub = NetworkTableInstance.getDefault()
+            .getTable("SmartDashboard/RegistryTest")
+            .getBooleanTopic("Connected")
+            .subscribe(false);
+
+        entry.set(true);
+        registry.flush();
+        assertEquals(1, sub.readQueue().length);
+
+        entry.set(true);
+        registry.flush();
+        assertEquals(0, sub.readQueue().length);
+
+        entry.set(false);
+        registry.flush();
+        assertEquals(1, sub.readQueue().length);
+        sub.close();
+    }
+
+    @Test
+    void testClosedRegistryIsNotFlushed() {
+        var entry = registry.addInteger("TargetID");
+        entry.set(7);
+        registry.close();
+
+        // Setting a closed entry must not throw, and flushing skips the closed registry
+        entry.set(8);
+        assertDoesNotThrow(PublisherRegistry::flushAll);
+        assertEquals(8, entry.get());
+    }
+}
@@ -0,0 +1,94 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Translation2d;
+
+import frc.robot.swerve.SwerveSetpointGenerator;
+
+class SwerveSetpointGeneratorTest {
+    private static final double MAX_SPEED = 4.5;
+    private static final double MAX_ACCELERATION = 9.0;
+    private static final double MAX_STEER = 30.0;
+    private static final double DT = 0.004;
+
+    private static SwerveSetpointGenerator createGenerator() {
+        return new SwerveSetpointGenerator(
+            new Translation2d[] {
+                new Translation2d(0.3, 0.3), new Translation2d(0.3, -0.3),
+                new Translation2d(-0.3, 0.3), new Translation2d(-0.3, -0.3),
+            },
+            MAX_SPEED, MAX_ACCELERATION, MAX_STEER);
+    }
+
+    @Test
+    void testAccelerationIsLimitedByTraction() {
+        var generator = createGenerator();
+
+        generator.generate(MAX_SPEED, 0.0, 0.0, DT);
+        assertEquals(MAX_ACCELERATION * DT, generator.getVx(), 1e-9);
+        for (int i = 0; i < generator.getModuleCount(); i++) {
+            assertEquals(MAX_ACCELERATION * DT, generator.getModuleSpeed(i), 1e-9);
+        }
+
+        // 4.5 m/s at 0.036 m/s per cycle takes 125 cycles
+        for (int i = 1; i < 124; i++) {
+            generator.generate(MAX_SPEED, 0.0, 0.0, DT);
+        }
+        assertEquals(124 * MAX_ACCELERATION * DT, generator.getVx(), 1e-6);
+        generator.generate(MAX_SPEED, 0.0, 0.0, DT);
+        generator.generate(MAX_SPEED, 0.0, 0.0, DT);
+        assertEquals(MAX_SPEED, generator.getVx(), 1e-9);
+    }
+
+    @Test
+    void testRequestIsScaledToMaxModuleSpeed() {
+        var generator = createGenerator();
+        for (int i = 0; i < 1000; i++) {
+            generator.generate(MAX_SPEED, 0.0, 10.0, DT);
+        }
+        for (int i = 0; i < generator.getModuleCount(); i++) {
+            assertTrue(Math.abs(generator.getModuleSpeed(i)) <= MAX_SPEED + 1e-9);
+        }
+        // Direction of the request is kept: rotation to translation ratio unchanged
+        assertEquals(10.0 / MAX_SPEED, generator.getOmega() / generator.getVx(), 1e-6);
+    }
+
+    @Test
+    void testSteeringIsRateLimited() {
+        var generator = createGenerator();
+        for (int i = 0; i < 200; i++) {
+            generator.generate(2.0, 0.0, 0.0, DT);
+        }
+
+        // Swing the request sideways; modules may only turn so far per cycle
+        double[] before = new double[generator.getModuleCount()];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = generator.getModuleAngle(i);
+        }
+        generator.generate(0.0, 2.0, 0.0, DT);
+        for (int i = 0; i < before.length; i++) {
+            double turned = Math.abs(MathUtil.angleModulus(generator.getModuleAngle(i) - before[i]));
+            assertTrue(turned <= MAX_STEER * DT + 1e-9);
+        }
+    }
+
+    @Test
+    void testStoppedModulesKeepTheirAngle() {
+        var generator = createGenerator();
+        for (int i = 0; i < 200; i++) {
+            generator.generate(0.0, 1.0, 0.0, DT);
+        }
+        double angle = generator.getModuleAngle(0);
+        assertEquals(Math.PI / 2, angle, 1e-6);
+
+        for (int i = 0; i < 200; i++) {
+            generator.generate(0.0, 0.0, 0.0, DT);
+        }
+        assertEquals(0.0, generator.getModuleSpeed(0), 1e-9);
+        assertEquals(angle, generator.getModuleAngle(0), 1e-9);
+    }
+}
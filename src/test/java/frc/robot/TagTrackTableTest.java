@@ -0,0 +1,90 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation3d;
+import frc.robot.Constants.VisionConstants;
+import frc.robot.vision.TagTrackTable;
+
+class TagTrackTableTest {
+    private static final Transform3d CAMERA_TO_TAG = new Transform3d(
+        new Translation3d(2.0, 0.0, 0.0),
+        new Rotation3d(0.0, 0.0, Math.PI)
+    );
+
+    private TagTrackTable table;
+
+    @BeforeEach
+    void setup() {
+        table = new TagTrackTable();
+    }
+
+    @Test
+    void testUnseenTagNotTracked() {
+        assertFalse(table.isTracked(7, 0.0));
+        assertEquals(0.0, table.getConfidence(7, 0.0));
+        assertEquals(-1, table.getCameraIndex(7));
+    }
+
+    @Test
+    void testSightingStartsTrack() {
+        table.update(7, 1.0, 10.0, 2.0, 5.0, CAMERA_TO_TAG, 0);
+
+        assertTrue(table.isTracked(7, 1.0));
+        assertEquals(10.0, table.getYaw(7));
+        assertEquals(5.0, table.getArea(7));
+        assertEquals(2.0, table.getDistance(7), 1e-9);
+        assertEquals(0, table.getCameraIndex(7));
+        assertTrue(table.getConfidence(7, 1.0) > 0.0);
+
+        // Other tags are unaffected
+        assertFalse(table.isTracked(8, 1.0));
+    }
+
+    @Test
+    void testTrackExpires() {
+        table.update(7, 1.0, 10.0, 2.0, 5.0, CAMERA_TO_TAG, 0);
+        assertFalse(table.isTracked(7, 1.0 + VisionConstants.TRACK_TIMEOUT + 0.01));
+    }
+
+    @Test
+    void testYawIsFiltered() {
+        table.update(7, 1.00, 10.0, 0.0, 5.0, CAMERA_TO_TAG, 0);
+        table.update(7, 1.02, 0.0, 0.0, 5.0, CAMERA_TO_TAG, 0);
+
+        // One noisy sample only moves the filtered value part of the way
+        double yaw = table.getYaw(7);
+        assertTrue(yaw > 0.0 && yaw < 10.0);
+    }
+
+    @Test
+    void testConfidenceGrowsAndDecays() {
+        table.update(7, 1.00, 0.0, 0.0, 5.0, CAMERA_TO_TAG, 0);
+        double first = table.getConfidence(7, 1.00);
+        table.update(7, 1.02, 0.0, 0.0, 5.0, CAMERA_TO_TAG, 0);
+        double second = table.getConfidence(7, 1.02);
+
+        assertTrue(second > first);
+        assertTrue(table.getConfidence(7, 3.0) < second);
+    }
+
+    @Test
+    void testIgnoresOutOfRangeIds() {
+        assertDoesNotThrow(() -> table.update(-1, 1.0, 0.0, 0.0, 5.0, CAMERA_TO_TAG, 0));
+        assertDoesNotThrow(() -> table.update(VisionConstants.MAX_FIDUCIAL_ID + 1, 1.0, 0.0, 0.0, 5.0, CAMERA_TO_TAG, 0));
+        assertFalse(table.isTracked(-1, 1.0));
+    }
+
+    @Test
+    void testTransformRoundTrip() {
+        table.update(7, 1.0, 0.0, 0.0, 5.0, CAMERA_TO_TAG, 0);
+        var transform = table.getCameraToTarget(7);
+        assertEquals(2.0, transform.getX(), 1e-9);
+        assertEquals(Math.PI, Math.abs(transform.getRotation().getZ()), 1e-9);
+    }
+}
@@ -0,0 +1,52 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import frc.robot.telemetry.TelemetryChannel;
+
+class TelemetryChannelTest {
+
+    @Test
+    void testFirstValueAlwaysPublishes() {
+        var channel = new TelemetryChannel("test", 0.1, 1.0, 1, 8);
+        assertTrue(channel.shouldPublish(0.0, new double[] { 0.0 }));
+        assertEquals(1, channel.getPublishCount());
+        assertEquals(8, channel.getByteCount());
+    }
+
+    @Test
+    void testRateLimit() {
+        var channel = new TelemetryChannel("test", 0.1, 0.0, 1, 8);
+        assertTrue(channel.shouldPublish(0.00, new double[] { 1.0 }));
+        assertFalse(channel.shouldPublish(0.05, new double[] { 2.0 }));
+        assertTrue(channel.shouldPublish(0.10, new double[] { 3.0 }));
+        assertEquals(2, channel.getPublishCount());
+        assertEquals(16, channel.getByteCount());
+    }
+
+    @Test
+    void testUnchangedAndSubDeadbandValuesAreSkipped() {
+        var channel = new TelemetryChannel("test", 0.0, 0.5, 2, 16);
+        assertTrue(channel.shouldPublish(0.0, new double[] { 1.0, 1.0 }));
+
+        // Same values, and a change inside the deadband
+        assertFalse(channel.shouldPublish(1.0, new double[] { 1.0, 1.0 }));
+        assertFalse(channel.shouldPublish(2.0, new double[] { 1.4, 0.6 }));
+        assertEquals(2, channel.getSkippedCount());
+
+        // Any one value leaving the deadband publishes the whole channel
+        assertTrue(channel.shouldPublish(3.0, new double[] { 1.0, 1.6 }));
+        assertEquals(2, channel.getPublishCount());
+        assertEquals(32, channel.getByteCount());
+    }
+
+    @Test
+    void testZeroDeadbandPublishesAnyChange() {
+        var channel = new TelemetryChannel("test", 0.0, 0.0, 1, 8);
+        assertTrue(channel.shouldPublish(0.0, new double[] { 1.0 }));
+        assertFalse(channel.shouldPublish(1.0, new double[] { 1.0 }));
+        assertTrue(channel.shouldPublish(2.0, new double[] { 1.0 + 1e-9 }));
+    }
+}
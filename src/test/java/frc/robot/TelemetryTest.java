@@ -30,13 +30,13 @@ class TelemetryTest {
 
     @AfterEach
     void teardown() {
+        telemetry.close();
         NetworkTableInstance.getDefault().close();
     }
 
-    @Test
-    void testTelemetryPublishesData() {
+    private static SwerveDriveState createState(double x, double y, double timestamp) {
         SwerveDriveState state = new SwerveDriveState();
-        state.Pose = new Pose2d(3.0, 4.0, new Rotation2d(1.0));
+        state.Pose = new Pose2d(x, y, new Rotation2d(1.0));
         state.Speeds = new ChassisSpeeds();
         state.ModuleStates = new SwerveModuleState[4];
         state.ModuleTargets = new SwerveModuleState[4];
@@ -48,9 +48,37 @@ class TelemetryTest {
             state.ModulePositions[i] = new SwerveModulePosition();
         }
 
-        state.Timestamp = 2.0;
+        state.RawHeading = new Rotation2d(1.0);
+        state.Timestamp = timestamp;
         state.OdometryPeriod = 0.02;
+        return state;
+    }
+
+    @Test
+    void testTelemetryPublishesData() {
+        SwerveDriveState state = createState(3.0, 4.0, 2.0);
 
         assertDoesNotThrow(() -> telemetry.telemeterize(state));
+        assertDoesNotThrow(() -> telemetry.publishPending());
+    }
+
+    @Test
+    void testPublishesLatestSampleAfterQueueing() {
+        var poseSub = NetworkTableInstance.getDefault()
+            .getTable("DriveState")
+            .getStructTopic("Pose", Pose2d.struct)
+            .subscribe(new Pose2d());
+
+        // Queue a burst of odometry updates; only the newest one needs to reach NetworkTables
+        for (int i = 0; i < 10; i++) {
+            telemetry.telemeterize(createState(i, 2.0 * i, 10.0 + i * 0.05));
+        }
+        telemetry.publishPending();
+
+        Pose2d published = poseSub.get();
+        assertEquals(9.0, published.getX(), 1e-9);
+        assertEquals(18.0, published.getY(), 1e-9);
+        assertEquals(0, telemetry.getDroppedSamples());
+        poseSub.close();
     }
 }
@@ -0,0 +1,44 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.hal.HAL;
+
+import frc.robot.Constants.ThreadConstants;
+import frc.robot.util.ThreadPlacement;
+
+class ThreadPlacementTest {
+    @BeforeEach
+    void setup() {
+        // Initialize HAL for NetworkTables
+        assert HAL.initialize(500, 0);
+    }
+
+    @Test
+    void testDisabledPlacementIsReportedAsSkipped() {
+        var placement = new ThreadPlacement(false);
+        placement.placeControlThread("Odometry", ThreadConstants.ODOMETRY_PRIORITY);
+
+        ThreadPlacement.Result result = placement.getResult("Odometry");
+        assertNotNull(result);
+        assertTrue(result.skipped);
+        assertEquals(ThreadConstants.CONTROL_CORE, result.requestedCore);
+        assertEquals(ThreadConstants.ODOMETRY_PRIORITY, result.requestedPriority);
+        assertFalse(result.priorityApplied);
+        assertFalse(result.affinityApplied);
+        assertNull(placement.getResult("Main"));
+    }
+
+    @Test
+    void testBackgroundThreadsGoToBackgroundCore() {
+        var placement = new ThreadPlacement(false);
+        placement.placeBackgroundThread("Telemetry", ThreadConstants.BACKGROUND_NICE);
+
+        ThreadPlacement.Result result = placement.getResult("Telemetry");
+        assertEquals(ThreadConstants.BACKGROUND_CORE, result.requestedCore);
+        assertEquals(0, result.requestedPriority);
+    }
+}
@@ -0,0 +1,164 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+import frc.robot.Constants.DriveConstants;
+import frc.robot.swerve.TractionMonitor;
+import frc.robot.swerve.TractionMonitor.Event;
+
+class TractionMonitorTest {
+    private static final double SLIP_CURRENT = 120.0;
+    private static final double DT = 0.004;
+    private static final double[] LOW_CURRENTS = {20.0, 20.0, 20.0, 20.0};
+    private static final Translation2d[] MODULE_LOCATIONS = {
+        new Translation2d(0.3, 0.3), new Translation2d(0.3, -0.3),
+        new Translation2d(-0.3, 0.3), new Translation2d(-0.3, -0.3),
+    };
+
+    private TractionMonitor monitor;
+
+    @BeforeEach
+    void setup() {
+        monitor = new TractionMonitor(MODULE_LOCATIONS, SLIP_CURRENT);
+    }
+
+    /* Robot driving straight forward with every wheel agreeing */
+    private static SwerveDriveState createState(double timestamp, double speed) {
+        return createState(timestamp, speed, 0.0, 0.0);
+    }
+
+    /* Robot moving with the given robot-relative speeds, every wheel on the rigid-body fit */
+    private static SwerveDriveState createState(double timestamp, double vx, double vy, double omega) {
+        SwerveDriveState state = new SwerveDriveState();
+        state.Timestamp = timestamp;
+        state.Speeds = new ChassisSpeeds(vx, vy, omega);
+        state.ModuleStates = new SwerveModuleState[4];
+        for (int i = 0; i < 4; i++) {
+            double moduleVx = vx - omega * MODULE_LOCATIONS[i].getY();
+            double moduleVy = vy + omega * MODULE_LOCATIONS[i].getX();
+            state.ModuleStates[i] = new SwerveModuleState(
+                Math.hypot(moduleVx, moduleVy), new Rotation2d(moduleVx, moduleVy));
+        }
+        return state;
+    }
+
+    @Test
+    void testConsistentOdometryIsTrusted() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Event.NONE, monitor.update(createState(i * DT, 2.0), LOW_CURRENTS, 0.0, 0.0));
+        }
+        assertEquals(1.0, monitor.getOdometryStdDevScale(100 * DT));
+        assertEquals(0, monitor.getSlipCount());
+        assertEquals(0, monitor.getCollisionCount());
+    }
+
+    @Test
+    void testWheelOffRigidBodyFitIsSlip() {
+        monitor.update(createState(0.0, 2.0), LOW_CURRENTS, 0.0, 0.0);
+
+        SwerveDriveState state = createState(DT, 2.0);
+        state.ModuleStates[2] = new SwerveModuleState(3.5, Rotation2d.kZero);
+        assertEquals(Event.SLIP, monitor.update(state, LOW_CURRENTS, 0.0, 0.0));
+        assertEquals(1, monitor.getSlipCount());
+        assertTrue(monitor.isSlipping(DT));
+        assertEquals(DriveConstants.SLIP_STD_DEV_SCALE, monitor.getOdometryStdDevScale(DT));
+
+        // Trust returns once the hold time has passed
+        assertEquals(1.0, monitor.getOdometryStdDevScale(DT + DriveConstants.TRACTION_EVENT_HOLD_TIME + 0.01));
+    }
+
+    @Test
+    void testCurrentAtLimitWithConsistentWheelsIsTrusted() {
+        // A current-limited launch or pushing match: every motor at the limit, wheels on the fit
+        double[] currents = {SLIP_CURRENT, SLIP_CURRENT, SLIP_CURRENT, SLIP_CURRENT};
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Event.NONE, monitor.update(createState(i * DT, 2.0), currents, 0.0, 0.0));
+        }
+        assertEquals(0, monitor.getSlipCount());
+        assertEquals(1.0, monitor.getOdometryStdDevScale(100 * DT));
+    }
+
+    @Test
+    void testCurrentAtLimitConfirmsSmallerSlip() {
+        monitor.update(createState(0.0, 2.0), LOW_CURRENTS, 0.0, 0.0);
+
+        // A wheel slightly off the fit is within tolerance on its own
+        double offset = 0.75 * DriveConstants.SLIP_VELOCITY_THRESHOLD;
+        SwerveDriveState state = createState(DT, 2.0);
+        state.ModuleStates[1] = new SwerveModuleState(2.0 + offset, Rotation2d.kZero);
+        assertEquals(Event.NONE, monitor.update(state, LOW_CURRENTS, 0.0, 0.0));
+
+        // The same error on a motor at its slip current is slip
+        double[] currents = {20.0, SLIP_CURRENT, 20.0, 20.0};
+        state = createState(2 * DT, 2.0);
+        state.ModuleStates[1] = new SwerveModuleState(2.0 + offset, Rotation2d.kZero);
+        assertEquals(Event.SLIP, monitor.update(state, currents, 0.0, 0.0));
+        state = createState(3 * DT, 2.0);
+        state.ModuleStates[1] = new SwerveModuleState(2.0 + offset, Rotation2d.kZero);
+        assertEquals(Event.SLIP, monitor.update(state, currents, 0.0, 0.0));
+
+        // One continuous event, counted once
+        assertEquals(1, monitor.getSlipCount());
+    }
+
+    @Test
+    void testGyroAccelerationWithoutWheelsIsCollision() {
+        for (int i = 0; i < 10; i++) {
+            monitor.update(createState(i * DT, 2.0), LOW_CURRENTS, 0.0, 0.0);
+        }
+
+        // A 3 g hit from the side while the wheels keep rolling
+        assertEquals(Event.COLLISION, monitor.update(createState(10 * DT, 2.0), LOW_CURRENTS, 0.0, 30.0));
+        assertEquals(1, monitor.getCollisionCount());
+        assertTrue(monitor.isColliding(10 * DT));
+        assertEquals(DriveConstants.COLLISION_STD_DEV_SCALE, monitor.getOdometryStdDevScale(10 * DT));
+    }
+
+    @Test
+    void testWheelsAcceleratingWithoutRobotIsSlip() {
+        for (int i = 0; i < 10; i++) {
+            monitor.update(createState(i * DT, 0.0), LOW_CURRENTS, 0.0, 0.0);
+        }
+
+        // All wheels spin up together at 50 m/s^2 but the gyro feels nothing
+        Event event = Event.NONE;
+        for (int i = 10; i < 20; i++) {
+            event = monitor.update(createState(i * DT, (i - 9) * 50.0 * DT), LOW_CURRENTS, 0.0, 0.0);
+        }
+        assertEquals(Event.SLIP, event);
+        assertEquals(0, monitor.getCollisionCount());
+    }
+
+    @Test
+    void testDrivingAnArcIsNotACollision() {
+        // 2 m/s forward while turning at 3 rad/s: the accelerometer feels omega x v = 6 m/s^2 sideways
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Event.NONE, monitor.update(createState(i * DT, 2.0, 0.0, 3.0), LOW_CURRENTS, 0.0, 6.0));
+        }
+        assertEquals(0, monitor.getSlipCount());
+        assertEquals(0, monitor.getCollisionCount());
+    }
+
+    @Test
+    void testSpinningWhileTranslatingIsTrusted() {
+        // Straight line on the field while spinning: robot-relative speeds rotate, the accelerometer feels nothing
+        double omega = 3.0;
+        for (int i = 0; i < 100; i++) {
+            double heading = omega * i * DT;
+            var state = createState(i * DT, 2.0 * Math.cos(-heading), 2.0 * Math.sin(-heading), omega);
+            assertEquals(Event.NONE, monitor.update(state, LOW_CURRENTS, 0.0, 0.0));
+        }
+        assertEquals(0, monitor.getSlipCount());
+        assertEquals(0, monitor.getCollisionCount());
+    }
+}
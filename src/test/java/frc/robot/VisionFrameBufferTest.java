@@ -0,0 +1,117 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.photonvision.targeting.PhotonPipelineResult;
+
+import frc.robot.vision.MultiCameraFrameReader;
+import frc.robot.vision.VisionFrameBuffer;
+
+class VisionFrameBufferTest {
+
+    private static PhotonPipelineResult frameAt(double timestampSeconds) {
+        var result = new PhotonPipelineResult();
+        result.setReceiveTimestampMicros((long) (timestampSeconds * 1e6));
+        return result;
+    }
+
+    @Test
+    void testRejectsNonPowerOfTwoCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new VisionFrameBuffer(12));
+    }
+
+    @Test
+    void testNewReaderStartsEmpty() {
+        var buffer = new VisionFrameBuffer(8);
+        buffer.publish(frameAt(1.0), 1.0);
+
+        // Readers only see frames published after they were created
+        var reader = buffer.newReader();
+        assertFalse(reader.next());
+        assertEquals(-1, reader.sequence());
+    }
+
+    @Test
+    void testReaderSeesEveryFrameInOrder() {
+        var buffer = new VisionFrameBuffer(8);
+        var reader = buffer.newReader();
+
+        var frames = new PhotonPipelineResult[5];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = frameAt(i);
+            buffer.publish(frames[i], i);
+        }
+
+        for (int i = 0; i < frames.length; i++) {
+            assertTrue(reader.next());
+            assertSame(frames[i], reader.result());
+            assertEquals(i, reader.sequence());
+        }
+        assertFalse(reader.next());
+        assertEquals(0, reader.getDroppedFrames());
+    }
+
+    @Test
+    void testReadersAreIndependent() {
+        var buffer = new VisionFrameBuffer(8);
+        var first = buffer.newReader();
+        var second = buffer.newReader();
+
+        buffer.publish(frameAt(1.0), 1.0);
+        buffer.publish(frameAt(2.0), 2.0);
+
+        // Draining one reader must not consume frames for the other
+        while (first.next()) {}
+        assertTrue(second.next());
+        assertEquals(0, second.sequence());
+    }
+
+    @Test
+    void testSlowReaderSkipsOverwrittenFrames() {
+        var buffer = new VisionFrameBuffer(4);
+        var reader = buffer.newReader();
+
+        var frames = new PhotonPipelineResult[10];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = frameAt(i);
+            buffer.publish(frames[i], i);
+        }
+
+        // Only the last 4 frames are still in the buffer
+        assertTrue(reader.next());
+        assertSame(frames[6], reader.result());
+        assertEquals(6, reader.getDroppedFrames());
+
+        int remaining = 0;
+        while (reader.next()) {
+            remaining++;
+        }
+        assertEquals(3, remaining);
+        assertSame(frames[9], reader.result());
+    }
+
+    @Test
+    void testMultiCameraReaderMergesByTimestamp() {
+        var left = new VisionFrameBuffer(8);
+        var right = new VisionFrameBuffer(8);
+        var reader = new MultiCameraFrameReader(
+            new VisionFrameBuffer.Reader[] { left.newReader(), right.newReader() }
+        );
+
+        left.publish(frameAt(1.0), 1.0);
+        left.publish(frameAt(3.0), 3.0);
+        right.publish(frameAt(2.0), 2.0);
+        right.publish(frameAt(4.0), 4.0);
+
+        double[] expectedTimes = { 1.0, 2.0, 3.0, 4.0 };
+        int[] expectedCameras = { 0, 1, 0, 1 };
+        for (int i = 0; i < expectedTimes.length; i++) {
+            assertTrue(reader.next());
+            assertEquals(expectedTimes[i], reader.timestampSeconds(), 1e-9);
+            assertEquals(expectedCameras[i], reader.cameraIndex());
+            assertEquals(i, reader.sequence());
+        }
+        assertFalse(reader.next());
+    }
+}
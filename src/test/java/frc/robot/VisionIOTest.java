@@ -0,0 +1,88 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.littletonrobotics.junction.LogTable;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+import org.photonvision.targeting.TargetCorner;
+
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation3d;
+
+import frc.robot.vision.VisionIO;
+
+class VisionIOTest {
+
+    private static PhotonPipelineResult tagFrame(long sequenceId, int tagId, double captureSeconds) {
+        var cameraToTarget = new Transform3d(new Translation3d(2.0, 0.1, 0.3), new Rotation3d(0.0, 0.0, Math.PI));
+        var corners = List.of(
+            new TargetCorner(100, 100), new TargetCorner(200, 100),
+            new TargetCorner(200, 200), new TargetCorner(100, 200)
+        );
+        var target = new PhotonTrackedTarget(
+            3.0, -2.0, 1.5, 0.0, tagId, -1, -1.0f,
+            cameraToTarget, cameraToTarget, 0.05, corners, corners
+        );
+        long captureMicros = (long) (captureSeconds * 1e6);
+        var result = new PhotonPipelineResult(sequenceId, captureMicros, captureMicros + 5000, 0, List.of(target));
+        result.setReceiveTimestampMicros(captureMicros + 5000);
+        return result;
+    }
+
+    @Test
+    void testInputsRoundTripThroughLog() {
+        var inputs = new VisionIO.VisionIOInputs();
+        var first = tagFrame(1, 7, 10.0);
+        var second = tagFrame(2, 8, 10.05);
+        inputs.addFrame(first, first.getTimestampSeconds(), 10.01);
+        inputs.addFrame(second, second.getTimestampSeconds(), 10.06);
+        inputs.setError(true);
+
+        var table = new LogTable(0);
+        inputs.toLog(table);
+        var replayed = new VisionIO.VisionIOInputs();
+        replayed.fromLog(table);
+
+        assertEquals(2, replayed.getFrameCount());
+        assertTrue(replayed.hasError());
+        assertEquals(7, replayed.getFrame(0).getBestTarget().getFiducialId());
+        assertEquals(8, replayed.getFrame(1).getBestTarget().getFiducialId());
+        assertEquals(10.06, replayed.getReceiveTimestampSeconds(1), 1e-9);
+
+        // Capture time seen by the pipeline matches the original frame
+        assertEquals(first.getTimestampSeconds(), replayed.getTimestampSeconds(0), 1e-9);
+        assertEquals(first.getTimestampSeconds(), replayed.getFrame(0).getTimestampSeconds(), 1e-6);
+    }
+
+    @Test
+    void testClearRemovesFrames() {
+        var inputs = new VisionIO.VisionIOInputs();
+        inputs.addFrame(tagFrame(1, 7, 10.0), 10.0, 10.01);
+        inputs.setError(true);
+        inputs.clear();
+
+        assertEquals(0, inputs.getFrameCount());
+        assertFalse(inputs.hasError());
+
+        var table = new LogTable(0);
+        inputs.toLog(table);
+        var replayed = new VisionIO.VisionIOInputs();
+        replayed.fromLog(table);
+        assertEquals(0, replayed.getFrameCount());
+    }
+
+    @Test
+    void testGrowsPastBufferCapacity() {
+        var inputs = new VisionIO.VisionIOInputs();
+        for (int i = 0; i < 100; i++) {
+            inputs.addFrame(tagFrame(i, 1, 10.0 + i * 0.01), 10.0 + i * 0.01, 10.0 + i * 0.01);
+        }
+        assertEquals(100, inputs.getFrameCount());
+        assertEquals(10.99, inputs.getTimestampSeconds(99), 1e-9);
+    }
+}
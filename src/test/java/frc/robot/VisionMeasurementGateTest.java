@@ -0,0 +1,108 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import frc.robot.vision.PoseObservation;
+import frc.robot.vision.VisionMeasurementGate;
+import frc.robot.vision.VisionMeasurementGate.RejectReason;
+
+class VisionMeasurementGateTest {
+    private static final Pose2d CURRENT_POSE = new Pose2d(5.0, 4.0, Rotation2d.kZero);
+    private static final ChassisSpeeds STOPPED = new ChassisSpeeds();
+
+    private VisionMeasurementGate gate;
+    private Matrix<N3, N1> stdDevs;
+
+    @BeforeEach
+    void setup() {
+        // Initialize HAL for NetworkTables
+        assert HAL.initialize(500, 0);
+
+        gate = new VisionMeasurementGate();
+        stdDevs = VecBuilder.fill(0.0, 0.0, 0.0);
+    }
+
+    private static PoseObservation observation(double x, double y, int tagCount, double distance, double ambiguity) {
+        var observation = new PoseObservation();
+        observation.set(1.0, x, y, 0.0, tagCount, distance, ambiguity);
+        return observation;
+    }
+
+    @Test
+    void testAcceptsCloseMultiTagEstimate() {
+        assertTrue(gate.evaluate(observation(5.1, 4.0, 2, 1.5, 0.0), CURRENT_POSE, STOPPED, 1.0, stdDevs));
+        assertEquals(1, gate.getAcceptedCount());
+        assertTrue(stdDevs.get(0, 0) > 0.0);
+        assertEquals(stdDevs.get(0, 0), stdDevs.get(1, 0));
+    }
+
+    @Test
+    void testRejectsAmbiguousSingleTag() {
+        assertFalse(gate.evaluate(observation(5.0, 4.0, 1, 1.5, 0.9), CURRENT_POSE, STOPPED, 1.0, stdDevs));
+        assertEquals(1, gate.getRejectedCount(RejectReason.AMBIGUITY));
+    }
+
+    @Test
+    void testRejectsPoseOffField() {
+        assertFalse(gate.evaluate(observation(-3.0, 4.0, 2, 1.5, 0.0), CURRENT_POSE, STOPPED, 1.0, stdDevs));
+        assertEquals(1, gate.getRejectedCount(RejectReason.OUT_OF_FIELD));
+    }
+
+    @Test
+    void testRejectsSingleTagJump() {
+        assertFalse(gate.evaluate(observation(8.0, 4.0, 1, 1.5, 0.05), CURRENT_POSE, STOPPED, 1.0, stdDevs));
+        assertEquals(1, gate.getRejectedCount(RejectReason.INNOVATION));
+    }
+
+    @Test
+    void testMultiTagCanCorrectLargeDrift() {
+        // Multi-tag estimates are not innovation-gated, so a drifted pose can recover
+        assertTrue(gate.evaluate(observation(8.0, 4.0, 3, 2.0, 0.0), CURRENT_POSE, STOPPED, 1.0, stdDevs));
+    }
+
+    @Test
+    void testRejectsWhileSpinningFast() {
+        var spinning = new ChassisSpeeds(0.0, 0.0, 10.0);
+        assertFalse(gate.evaluate(observation(5.0, 4.0, 2, 1.5, 0.0), CURRENT_POSE, spinning, 1.0, stdDevs));
+        assertEquals(1, gate.getRejectedCount(RejectReason.ROTATION_SPEED));
+    }
+
+    @Test
+    void testStdDevsGrowWithDistanceAndSpeed() {
+        gate.evaluate(observation(5.0, 4.0, 2, 1.5, 0.0), CURRENT_POSE, STOPPED, 1.0, stdDevs);
+        double close = stdDevs.get(0, 0);
+
+        gate.evaluate(observation(5.0, 4.0, 2, 3.0, 0.0), CURRENT_POSE, STOPPED, 1.0, stdDevs);
+        double far = stdDevs.get(0, 0);
+
+        gate.evaluate(observation(5.0, 4.0, 2, 3.0, 0.0), CURRENT_POSE, new ChassisSpeeds(3.0, 0.0, 0.0), 1.0, stdDevs);
+        double farAndFast = stdDevs.get(0, 0);
+
+        assertTrue(far > close);
+        assertTrue(farAndFast > far);
+    }
+
+    @Test
+    void testSingleTagHeadingNotTrusted() {
+        assertTrue(gate.evaluate(observation(5.0, 4.0, 1, 1.5, 0.05), CURRENT_POSE, STOPPED, 1.0, stdDevs));
+        assertTrue(stdDevs.get(2, 0) > 1000.0);
+    }
+
+    @Test
+    void testPublishStatisticsDoesNotThrow() {
+        gate.evaluate(observation(5.0, 4.0, 2, 1.5, 0.0), CURRENT_POSE, STOPPED, 1.0, stdDevs);
+        gate.evaluate(observation(-3.0, 4.0, 2, 1.5, 0.0), CURRENT_POSE, STOPPED, 1.0, stdDevs);
+        assertDoesNotThrow(() -> gate.publishStatistics());
+    }
+}
@@ -0,0 +1,109 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import frc.robot.vision.VisionFrameBuffer;
+import frc.robot.vision.VisionFrameRecorder;
+import frc.robot.vision.VisionReplaySource;
+
+class VisionReplayTest {
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setup() {
+        assert HAL.initialize(500, 0);
+        SimHooks.pauseTiming();
+    }
+
+    @AfterEach
+    void teardown() {
+        SimHooks.resumeTiming();
+    }
+
+    /** Frame captured at the given time with 5 ms of pipeline latency */
+    private static PhotonPipelineResult frameAt(long sequenceId, double captureSeconds) {
+        long captureMicros = (long) (captureSeconds * 1e6);
+        var result = new PhotonPipelineResult(
+            sequenceId, captureMicros, captureMicros + 5000, 0, List.<PhotonTrackedTarget>of()
+        );
+        result.setReceiveTimestampMicros(captureMicros + 5000);
+        return result;
+    }
+
+    private Path record(int frameCount) throws IOException {
+        Path file = tempDir.resolve("camera.pvlog");
+        var buffer = new VisionFrameBuffer(8);
+        var recorder = new VisionFrameRecorder("testcamera", buffer.newReader(), file);
+        for (int i = 0; i < frameCount; i++) {
+            buffer.publish(frameAt(i, 10.0 + 0.1 * i), 10.0 + 0.1 * i);
+        }
+        recorder.close();
+        assertEquals(frameCount, recorder.getRecordedFrames());
+        return file;
+    }
+
+    @Test
+    void testRoundTripUnthrottled() throws IOException {
+        Path file = record(5);
+
+        try (var replay = new VisionReplaySource(file, VisionReplaySource.Pacing.UNTHROTTLED)) {
+            assertEquals("testcamera", replay.getName());
+
+            // Every pending frame in one poll, in recorded order, without waiting for the clock
+            List<PhotonPipelineResult> results = replay.getAllUnreadResults();
+            assertEquals(5, results.size());
+            for (int i = 0; i < 5; i++) {
+                assertEquals(i, results.get(i).metadata.getSequenceID());
+            }
+            assertTrue(replay.isFinished());
+            assertTrue(replay.getAllUnreadResults().isEmpty());
+            assertEquals(5, replay.getReplayedFrames());
+        }
+    }
+
+    @Test
+    void testRobotTimePacingFollowsSimClock() throws IOException {
+        Path file = record(4);
+
+        try (var replay = new VisionReplaySource(file, VisionReplaySource.Pacing.ROBOT_TIME)) {
+            // First poll starts playback with the first frame, rebased onto the robot clock
+            double start = Timer.getFPGATimestamp();
+            var results = replay.getAllUnreadResults();
+            assertEquals(1, results.size());
+            assertEquals(start, results.get(0).getTimestampSeconds(), 1e-5);
+
+            // Nothing new until the clock moves
+            assertTrue(replay.getAllUnreadResults().isEmpty());
+
+            // Stepping simulated time releases frames faster than real time
+            SimHooks.stepTiming(0.15);
+            assertEquals(1, replay.getAllUnreadResults().size());
+            SimHooks.stepTiming(1.0);
+            assertEquals(2, replay.getAllUnreadResults().size());
+            assertTrue(replay.isFinished());
+        }
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = tempDir.resolve("not-a-log.bin");
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        assertThrows(IOException.class, () -> new VisionReplaySource(file, VisionReplaySource.Pacing.UNTHROTTLED));
+    }
+}